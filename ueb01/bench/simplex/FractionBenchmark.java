@@ -0,0 +1,132 @@
+package simplex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks der Grundrechenarten von Fraction auf einem festen Satz zufälliger Brüche mit
+ * kleinen Zählern und Nennern, wie sie in Simplex-Tableaus typisch sind.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FractionBenchmark {
+
+    /**
+     * Anzahl der Operanden je Aufruf
+     */
+    private static final int SIZE = 1024;
+
+    /**
+     * linke Operanden
+     */
+    private Fraction[] left;
+
+    /**
+     * rechte Operanden, alle ungleich 0
+     */
+    private Fraction[] right;
+
+    /**
+     * Erzeugt die Operanden.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        this.left = new Fraction[SIZE];
+        this.right = new Fraction[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.left[i] = new Fraction(random.nextInt(2001) - 1000, 1 + random.nextInt(1000));
+            this.right[i] = new Fraction(1 + random.nextInt(1000), 1 + random.nextInt(1000));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    public void add(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(this.left[i].add(this.right[i]));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    public void subtract(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(this.left[i].subtract(this.right[i]));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    public void multiplyBy(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(this.left[i].multiplyBy(this.right[i]));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    public void divideBy(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(this.left[i].divideBy(this.right[i]));
+        }
+    }
+
+    /**
+     * Vergleichswert zu {@link #subtractProduct(Blackhole)}: drei Kürzungen je Ergebnis.
+     *
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    public void subtractMultiplied(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(this.left[i].subtract(this.right[i].multiplyBy(this.left[SIZE - 1 - i])));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    public void subtractProduct(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(this.left[i].subtractProduct(this.right[i], this.left[SIZE - 1 - i]));
+        }
+    }
+
+    /**
+     * @param bh Senke für die Ergebnisse
+     */
+    @Benchmark
+    public void compareTo(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(this.left[i].compareTo(this.right[i]));
+        }
+    }
+}
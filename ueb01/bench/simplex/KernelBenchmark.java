@@ -0,0 +1,143 @@
+package simplex;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vergleicht die SIMD- mit der skalaren Ausführung von {@link DoubleKernel} auf einem dichten
+ * double-Tableau: die Reduktion aller Zeilen gegen eine Pivotzeile (AXPY) und das Einsetzen
+ * einer LU-Zerlegung (Skalarprodukte). Die skalaren Varianten laufen in einer JVM mit
+ * -XX:-UseSuperWord, die den JIT-Compiler an der Vektorisierung hindert.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KernelBenchmark {
+
+    /**
+     * Größe des Tableaus als Restriktionen x Spalten
+     */
+    @Param({"64x32", "256x128", "1024x512"})
+    public String shape;
+
+    /**
+     * Tableau, dessen Zeilen reduziert werden
+     */
+    private double[][] table;
+
+    /**
+     * Pivotzeile
+     */
+    private double[] pivotRow;
+
+    /**
+     * zerlegte quadratische Matrix für den Einsetz-Benchmark
+     */
+    private LUDecomposition lu;
+
+    /**
+     * rechte Seite für den Einsetz-Benchmark
+     */
+    private double[] rightSide;
+
+    /**
+     * Erzeugt zufällige Werte.
+     */
+    @Setup
+    public void setup() {
+        String[] dims = this.shape.split("x");
+        int rows = Integer.parseInt(dims[0]);
+        int cols = Integer.parseInt(dims[1]);
+        Random random = new Random(42);
+        this.table = new double[rows][cols];
+        for (double[] row : this.table) {
+            for (int col = 0; col < cols; col++) {
+                row[col] = random.nextDouble();
+            }
+        }
+        this.pivotRow = this.table[0].clone();
+        //diagonaldominant, damit die Zerlegung ohne Zeilentausch gelingt
+        double[][] square = new double[cols][cols];
+        for (int i = 0; i < cols; i++) {
+            for (int j = 0; j < cols; j++) {
+                square[i][j] = i == j ? cols : random.nextDouble();
+            }
+        }
+        this.lu = new LUDecomposition(square, 1e-12);
+        this.rightSide = new double[cols];
+    }
+
+    /**
+     * Reduziert alle Zeilen gegen die Pivotzeile. Die Faktoren sind so klein, dass die Werte
+     * über viele Aufrufe stabil bleiben.
+     *
+     * @return Tableau
+     */
+    private double[][] eliminate() {
+        for (double[] row : this.table) {
+            DoubleKernel.axpy(-1e-12 * row[0], this.pivotRow, row);
+        }
+        return this.table;
+    }
+
+    /**
+     * @return Lösung des Gleichungssystems
+     */
+    private double[] substitute() {
+        Arrays.fill(this.rightSide, 1);
+        this.lu.solve(this.rightSide);
+        return this.rightSide;
+    }
+
+    /**
+     * @return Tableau nach der Reduktion
+     */
+    @Benchmark
+    public double[][] eliminateSimd() {
+        return eliminate();
+    }
+
+    /**
+     * @return Tableau nach der Reduktion
+     */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-UseSuperWord")
+    public double[][] eliminateScalar() {
+        return eliminate();
+    }
+
+    /**
+     * @return Lösung des Gleichungssystems
+     */
+    @Benchmark
+    public double[] substituteSimd() {
+        return substitute();
+    }
+
+    /**
+     * @return Lösung des Gleichungssystems
+     */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:-UseSuperWord")
+    public double[] substituteScalar() {
+        return substitute();
+    }
+}
@@ -0,0 +1,131 @@
+package simplex;
+
+import java.util.Random;
+
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+
+/**
+ * Familien reproduzierbar erzeugter linearer Optimierungsprobleme für die Benchmarks. Jedes
+ * Problem hat m Restriktionen und m / 2 Unbekannte; die erste Restriktion beschränkt alle
+ * Unbekannten, sodass die Probleme lösbar und beschränkt sind.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public enum ProgramFamily {
+
+    /**
+     * vollbesetzte Koeffizienten, gemischte LE- und GE-Restriktionen
+     */
+    DENSE {
+        @Override
+        Fraction coefficient(Random random) {
+            return Fraction.valueOf(1 + random.nextInt(9), 1);
+        }
+
+        @Override
+        Fraction rightSide(Random random, Type type) {
+            return Fraction.valueOf(type == Type.GE ? random.nextInt(10) : 50 + random.nextInt(50),
+                    1);
+        }
+    },
+
+    /**
+     * etwa 10 % besetzte Koeffizienten, nur LE-Restriktionen
+     */
+    SPARSE {
+        @Override
+        Fraction coefficient(Random random) {
+            return random.nextInt(10) == 0 ? Fraction.valueOf(1 + random.nextInt(9), 1)
+                    : Fraction.ZERO;
+        }
+
+        @Override
+        Type type(Random random) {
+            return Type.LE;
+        }
+
+        @Override
+        Fraction rightSide(Random random, Type type) {
+            return DENSE.rightSide(random, type);
+        }
+    },
+
+    /**
+     * nur LE-Restriktionen, fast alle mit rechter Seite 0, sodass viele Pivotschritte entartet
+     * sind
+     */
+    DEGENERATE {
+        @Override
+        Fraction coefficient(Random random) {
+            return Fraction.valueOf(random.nextInt(5) - 2, 1);
+        }
+
+        @Override
+        Type type(Random random) {
+            return Type.LE;
+        }
+
+        @Override
+        Fraction rightSide(Random random, Type type) {
+            return Fraction.ZERO;
+        }
+    };
+
+    /**
+     * @param random Zufallsgenerator
+     * @return Koeffizient einer Restriktion außer der ersten
+     */
+    abstract Fraction coefficient(Random random);
+
+    /**
+     * @param random Zufallsgenerator
+     * @param type   Typ der Restriktion
+     * @return rechte Seite einer Restriktion außer der ersten
+     */
+    abstract Fraction rightSide(Random random, Type type);
+
+    /**
+     * @param random Zufallsgenerator
+     * @return Typ einer Restriktion außer der ersten
+     */
+    Type type(Random random) {
+        return random.nextInt(4) == 0 ? Type.GE : Type.LE;
+    }
+
+    /**
+     * Erzeugt ein Problem dieser Familie.
+     *
+     * @param numConstraints Anzahl der Restriktionen
+     * @param type           Speicherform des Tableaus
+     * @param seed           Startwert des Zufallsgenerators
+     * @return erzeugtes Problem
+     * @pre numConstraints &ge; 2
+     */
+    LinearProgram create(int numConstraints, TableauType type, long seed) {
+        assert numConstraints >= 2;
+        Random random = new Random(seed);
+        int numUnknowns = numConstraints / 2;
+        Restriction[] restrictions = new Restriction[numConstraints];
+        Fraction[] bound = new Fraction[numUnknowns];
+        for (int j = 0; j < numUnknowns; j++) {
+            bound[j] = Fraction.valueOf(1 + random.nextInt(9), 1);
+        }
+        restrictions[0] = new Restriction(bound, Type.LE, Fraction.valueOf(100 * numUnknowns, 1));
+        for (int i = 1; i < numConstraints; i++) {
+            Fraction[] term = new Fraction[numUnknowns];
+            for (int j = 0; j < numUnknowns; j++) {
+                term[j] = coefficient(random);
+            }
+            Type restrictionType = type(random);
+            restrictions[i] = new Restriction(term, restrictionType,
+                    rightSide(random, restrictionType));
+        }
+        Fraction[] objective = new Fraction[numUnknowns];
+        for (int j = 0; j < numUnknowns; j++) {
+            objective[j] = Fraction.valueOf(1 + random.nextInt(20), 1);
+        }
+        return new LinearProgram(restrictions, SolveType.MAX, type, objective);
+    }
+}
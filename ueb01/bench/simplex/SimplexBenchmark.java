@@ -0,0 +1,111 @@
+package simplex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks des SimplexSolvers über den Problemfamilien aus {@link ProgramFamily} mit
+ * wachsender Anzahl an Restriktionen: Aufbau des Tableaus, ein einzelner Pivotschritt und das
+ * vollständige Lösen.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimplexBenchmark {
+
+    /**
+     * Problemfamilie
+     */
+    @Param({"DENSE", "SPARSE", "DEGENERATE"})
+    public ProgramFamily family;
+
+    /**
+     * Anzahl der Restriktionen, die Anzahl der Unbekannten ist halb so groß
+     */
+    @Param({"8", "16", "32"})
+    public int size;
+
+    /**
+     * Speicherform des Tableaus
+     */
+    @Param({"FRACTION", "LONG", "HYBRID", "SPARSE", "BAREISS"})
+    public TableauType type;
+
+    /**
+     * zu lösendes Problem
+     */
+    private LinearProgram lp;
+
+    /**
+     * Automat zum Problem, legt für den Pivot-Benchmark die Ausgangstableaus an
+     */
+    private SimplexSolver solver;
+
+    /**
+     * frisches Tableau für jeden Aufruf des Pivot-Benchmarks
+     */
+    private Tableau tableau;
+
+    /**
+     * Erzeugt das Problem.
+     */
+    @Setup(Level.Trial)
+    public void setupProgram() {
+        this.lp = this.family.create(this.size, this.type, 42);
+        this.solver = new SimplexSolver(this.lp);
+    }
+
+    /**
+     * Legt vor jedem Aufruf ein unverändertes Ausgangstableau an, für alle Speicherformen
+     * einschließlich der Zeile der ersten Phase.
+     */
+    @Setup(Level.Invocation)
+    public void setupTableau() {
+        this.tableau = this.solver.createTableau(this.lp, this.type);
+    }
+
+    /**
+     * @return Automat im Ausgangstableau
+     */
+    @Benchmark
+    public SimplexSolver construct() {
+        return new SimplexSolver(this.lp);
+    }
+
+    /**
+     * Pivotschritt auf der ersten Unbekannten in der ersten Restriktion, die alle Unbekannten
+     * mit positiven Koeffizienten beschränkt.
+     *
+     * @return Tableau nach dem Pivotschritt
+     */
+    @Benchmark
+    public Tableau pivot() {
+        this.tableau.pivot(0, 0);
+        return this.tableau;
+    }
+
+    /**
+     * @return optimale Koeffizienten und Wert der Zielfunktion
+     */
+    @Benchmark
+    public Fraction[] solve() {
+        return new SimplexSolver(this.lp).solve();
+    }
+}
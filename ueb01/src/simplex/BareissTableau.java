@@ -0,0 +1,207 @@
+package simplex;
+
+import java.math.BigInteger;
+
+/**
+ * Bruchfreies Tableau nach Bareiss: Jede Zeile speichert ganzzahlige Zähler über einem
+ * gemeinsamen positiven Nenner. Beim Normalisieren wird nur der Nenner der Pivotzeile auf das
+ * Pivotelement gesetzt, beim Reduzieren werden die Zähler kreuzweise multipliziert und exakt
+ * durch den bisherigen Nenner der Zeile geteilt. Auch Zeilen mit 0 in der Pivotspalte werden
+ * auf den neuen Nenner gebracht, sodass alle Zeilen dieselbe Determinante als Nenner teilen. Bei
+ * ganzzahligen Eingaben sind alle Zähler Unterdeterminanten der Ausgangsmatrix, sodass die
+ * Division immer aufgeht und weder ein GgT je Zelle berechnet wird noch die Zahlen schneller als
+ * die Determinanten wachsen. Gekürzt wird erst, wenn ein Wert als Bruch ausgelesen wird.
+ * <p>
+ * Geht die Division nicht auf (z.B. nach nicht ganzzahligen Schranken), wird die Zeile einmal
+ * durch den GgT aller Zähler und des Nenners gekürzt. Die Ergebnisse sind in jedem Fall exakt.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+class BareissTableau extends Tableau {
+
+    /**
+     * Zähler der Zellen, zeilenweise
+     */
+    private final BigInteger[][] num;
+
+    /**
+     * gemeinsamer positiver Nenner je Zeile
+     */
+    private final BigInteger[] den;
+
+    /**
+     * Erstellt ein Tableau mit dem Inhalt der übergebenen Matrix. Der Nenner jeder Zeile ist das
+     * kgV der Nenner ihrer Zellen, bei ganzzahligen Eingaben also 1.
+     *
+     * @param table Ausgangstableau
+     * @pre table != null und rechteckig
+     */
+    BareissTableau(Fraction[][] table) {
+        super(table.length, table[0].length);
+        this.num = new BigInteger[table.length][table[0].length];
+        this.den = new BigInteger[table.length];
+        for (int row = 0; row < table.length; row++) {
+            BigInteger lcm = BigInteger.ONE;
+            for (Fraction cell : table[row]) {
+                BigInteger d = BigInteger.valueOf(cell.getDenominator());
+                lcm = lcm.divide(lcm.gcd(d)).multiply(d);
+            }
+            this.den[row] = lcm;
+            for (int col = 0; col < table[0].length; col++) {
+                Fraction cell = table[row][col];
+                this.num[row][col] = BigInteger.valueOf(cell.getNumerator())
+                        .multiply(lcm.divide(BigInteger.valueOf(cell.getDenominator())));
+            }
+        }
+    }
+
+    /**
+     * Vergleicht die Brüche a / b und c / d.
+     *
+     * @param a Zähler des ersten Bruchs
+     * @param b Nenner des ersten Bruchs (ungleich 0)
+     * @param c Zähler des zweiten Bruchs
+     * @param d Nenner des zweiten Bruchs (ungleich 0)
+     * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
+     */
+    private static int compare(BigInteger a, BigInteger b, BigInteger c, BigInteger d) {
+        return a.multiply(d).compareTo(c.multiply(b)) * b.signum() * d.signum();
+    }
+
+    @Override
+    Fraction get(int row, int col) {
+        return getBig(row, col).toFraction();
+    }
+
+    @Override
+    BigFraction getBig(int row, int col) {
+        return new BigFraction(this.num[row][col], this.den[row]);
+    }
+
+    @Override
+    int signum(int row, int col) {
+        return this.num[row][col].signum();
+    }
+
+    @Override
+    int compare(int row1, int col1, int row2, int col2) {
+        if (row1 == row2) {
+            return this.num[row1][col1].compareTo(this.num[row2][col2]);
+        }
+        return compare(this.num[row1][col1], this.den[row1], this.num[row2][col2], this.den[row2]);
+    }
+
+    @Override
+    int compareRatios(int row1, int row2, int col) {
+        //der Nenner der Zeile kuerzt sich im Quotienten heraus
+        int rhs = getColCount() - 1;
+        return compare(this.num[row1][rhs], this.num[row1][col],
+                this.num[row2][rhs], this.num[row2][col]);
+    }
+
+    @Override
+    int compareDualRatios(int row, int col1, int col2) {
+        //die Nenner von Zeile und Zielfunktion sind fuer beide Spalten gleich und positiv
+        int objective = getRowCount() - 2;
+        return compare(this.num[objective][col1], this.num[row][col1],
+                this.num[objective][col2], this.num[row][col2]);
+    }
+
+    @Override
+    void normalizeRow(int row, int col) {
+        BigInteger[] n = this.num[row];
+        BigInteger pivot = n[col];
+        if (pivot.signum() < 0) {
+            for (int i = 0; i < n.length; i++) {
+                n[i] = n[i].negate();
+            }
+            pivot = pivot.negate();
+        }
+        this.den[row] = pivot;
+    }
+
+    @Override
+    void eliminateRow(int row, int pivotRow, int pivotCol) {
+        BigInteger[] n = this.num[row];
+        BigInteger a = n[pivotCol];
+        BigInteger[] p = this.num[pivotRow];
+        BigInteger pivot = this.den[pivotRow];
+        BigInteger divisor = this.den[row];
+        boolean zero = a.signum() == 0;
+        if (zero && divisor.equals(pivot)) {
+            return;
+        }
+        //n * pivot - a * p, geteilt durch den alten Nenner, ergibt die Zaehler zum Nenner pivot;
+        //auch Zeilen mit 0 in der Pivotspalte wechseln auf den neuen Nenner, damit alle Zeilen
+        //die gemeinsame Determinante behalten und die naechste Division aufgeht
+        boolean exact = true;
+        for (int col = 0; col < n.length; col++) {
+            if (n[col].signum() != 0 || (!zero && p[col].signum() != 0)) {
+                n[col] = zero ? n[col].multiply(pivot)
+                        : n[col].multiply(pivot).subtract(a.multiply(p[col]));
+                if (exact && !divisor.equals(BigInteger.ONE)) {
+                    BigInteger[] qr = n[col].divideAndRemainder(divisor);
+                    if (qr[1].signum() == 0) {
+                        n[col] = qr[0];
+                    } else {
+                        exact = false;
+                        //bereits geteilte Zellen wieder auf den gemeinsamen Nenner bringen
+                        for (int i = 0; i < col; i++) {
+                            n[i] = n[i].multiply(divisor);
+                        }
+                    }
+                }
+            }
+        }
+        if (exact) {
+            this.den[row] = pivot;
+        } else {
+            this.den[row] = divisor.multiply(pivot);
+            reduce(row);
+        }
+    }
+
+    @Override
+    void complementColumn(int col, Fraction bound) {
+        int rhs = getColCount() - 1;
+        BigInteger u = BigInteger.valueOf(bound.getNumerator());
+        BigInteger q = BigInteger.valueOf(bound.getDenominator());
+        for (int row = 0; row < this.num.length; row++) {
+            BigInteger[] n = this.num[row];
+            if (n[col].signum() == 0) {
+                continue;
+            }
+            if (!q.equals(BigInteger.ONE)) {
+                //Zeile auf den Nenner der Schranke erweitern
+                for (int i = 0; i < n.length; i++) {
+                    n[i] = n[i].multiply(q);
+                }
+                this.den[row] = this.den[row].multiply(q);
+                n[rhs] = n[rhs].subtract(n[col].divide(q).multiply(u));
+                reduce(row);
+            } else {
+                n[rhs] = n[rhs].subtract(n[col].multiply(u));
+            }
+            n[col] = n[col].negate();
+        }
+    }
+
+    /**
+     * Kürzt eine Zeile durch den GgT aller Zähler und ihres Nenners.
+     *
+     * @param row Index der Zeile
+     */
+    private void reduce(int row) {
+        BigInteger[] n = this.num[row];
+        BigInteger gcd = this.den[row];
+        for (int col = 0; col < n.length && !gcd.equals(BigInteger.ONE); col++) {
+            gcd = gcd.gcd(n[col]);
+        }
+        if (!gcd.equals(BigInteger.ONE)) {
+            for (int col = 0; col < n.length; col++) {
+                n[col] = n[col].divide(gcd);
+            }
+            this.den[row] = this.den[row].divide(gcd);
+        }
+    }
+}
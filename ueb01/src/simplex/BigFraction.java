@@ -0,0 +1,255 @@
+package simplex;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Ein vollständig gekürzter Bruch beliebiger Genauigkeit, dessen Zähler und Nenner als BigInteger
+ * gespeichert werden. BigFraction-Instanzen sind wie Fraction-Instanzen unveränderlich, können aber
+ * nicht überlaufen.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class BigFraction implements Comparable<BigFraction> {
+
+    /**
+     * Bruch mit Zähler -1 und Nenner 1
+     */
+    public static final BigFraction MINUS_ONE = new BigFraction(BigInteger.ONE.negate());
+
+    /**
+     * Bruch mit Zähler 0 und Nenner 1
+     */
+    public static final BigFraction ZERO = new BigFraction(BigInteger.ZERO);
+
+    /**
+     * Bruch mit Zähler 1 und Nenner 1
+     */
+    public static final BigFraction ONE = new BigFraction(BigInteger.ONE);
+
+
+    /**
+     * Der Zähler des Bruchs
+     */
+    private final BigInteger numerator;
+
+    /**
+     * Der Nenner des Bruchs
+     */
+    private final BigInteger denominator;
+
+
+    /**
+     * Erstellt einen vollständig gekürzten Bruch aus dem übergebenen Zähler und Nenner. Die interne
+     * Repräsentation des Nenners ist positiv. Die Zahl 0 wird durch den Zähler 0 und den Nenner 1
+     * dargestellt.
+     *
+     * @param numerator   Zu verwendender Zähler
+     * @param denominator Zu verwendender Nenner (außer 0)
+     * @pre numerator != null
+     * @pre denominator != null und denominator != 0
+     */
+    public BigFraction(BigInteger numerator, BigInteger denominator) {
+        assert numerator != null;
+        assert denominator != null && denominator.signum() != 0;
+        //Bruch kuerzen
+        BigInteger gcd = numerator.gcd(denominator);
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        //einheitliche darstellung negativer Brueche
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Erstellt einen Bruch aus dem übergebenen Zähler und dem Nenner 1.
+     *
+     * @param numerator Zu verwendender Zähler
+     * @pre numerator != null
+     */
+    public BigFraction(BigInteger numerator) {
+        this(numerator, BigInteger.ONE);
+    }
+
+    /**
+     * Erstellt einen vollständig gekürzten Bruch aus long-Zähler und -Nenner.
+     *
+     * @param numerator   Zu verwendender Zähler
+     * @param denominator Zu verwendender Nenner (außer 0)
+     * @return neuer Bruch
+     * @pre denominator != 0
+     */
+    public static BigFraction valueOf(long numerator, long denominator) {
+        return new BigFraction(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * Wandelt einen Fraction-Bruch verlustfrei in einen BigFraction-Bruch um.
+     *
+     * @param fraction umzuwandelnder Bruch
+     * @return gleichwertiger Bruch beliebiger Genauigkeit
+     * @pre fraction != null
+     */
+    public static BigFraction valueOf(Fraction fraction) {
+        assert fraction != null;
+        return valueOf(fraction.getNumerator(), fraction.getDenominator());
+    }
+
+    /**
+     * Gibt einen neuen Bruch zurück, der aus der Addition des übergebenen Bruchs entsteht.
+     *
+     * @param other zu addierender Bruch (Summand)
+     * @return neuer Bruch (Summe)
+     * @pre other != null
+     */
+    public BigFraction add(BigFraction other) {
+        assert other != null;
+        return new BigFraction(
+                this.numerator.multiply(other.denominator)
+                        .add(other.numerator.multiply(this.denominator)),
+                this.denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Gibt einen neuen Bruch zurück, der aus der Subtraktion des übergebenen Bruchs entsteht.
+     *
+     * @param other zu subtrahierender Bruch (Subtrahend)
+     * @return neuer Bruch (Differenz)
+     * @pre other != null
+     */
+    public BigFraction subtract(BigFraction other) {
+        assert other != null;
+        return new BigFraction(
+                this.numerator.multiply(other.denominator)
+                        .subtract(other.numerator.multiply(this.denominator)),
+                this.denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Gibt einen neuen Bruch zurück, der aus der Multiplikation mit dem übergebenen Bruch entsteht.
+     *
+     * @param other zu multiplizierenden Bruch (Faktor)
+     * @return neuer Bruch (Produkt)
+     * @pre other != null
+     */
+    public BigFraction multiplyBy(BigFraction other) {
+        assert other != null;
+        return new BigFraction(this.numerator.multiply(other.numerator),
+                this.denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Gibt einen neuen Bruch zurück, der aus der Division des übergebenen Bruchs entsteht.
+     *
+     * @param other Bruch, durch den geteilt wird (Divisor)
+     * @return neuer Bruch (Quotient)
+     * @pre other != null
+     * @pre other.getNumerator != 0
+     */
+    public BigFraction divideBy(BigFraction other) {
+        assert other != null;
+        assert other.numerator.signum() != 0;
+        return new BigFraction(this.numerator.multiply(other.denominator),
+                this.denominator.multiply(other.numerator));
+    }
+
+    /**
+     * @return der Zähler des Bruchs
+     */
+    public BigInteger getNumerator() {
+        return this.numerator;
+    }
+
+    /**
+     * @return der Nenner des Bruchs
+     */
+    public BigInteger getDenominator() {
+        return this.denominator;
+    }
+
+    /**
+     * @return -1, 0 oder 1 je nach Vorzeichen des Bruchs
+     */
+    public int signum() {
+        return this.numerator.signum();
+    }
+
+    /**
+     * @return true, wenn Zähler und Nenner als long darstellbar sind
+     */
+    public boolean fitsInLong() {
+        return this.numerator.bitLength() < Long.SIZE && this.denominator.bitLength() < Long.SIZE;
+    }
+
+    /**
+     * Wandelt diesen Bruch in einen Fraction-Bruch um.
+     *
+     * @return gleichwertiger Fraction-Bruch
+     * @throws ArithmeticException wenn Zähler oder Nenner nicht als long darstellbar sind
+     */
+    public Fraction toFraction() {
+        return Fraction.valueOf(this.numerator.longValueExact(), this.denominator.longValueExact());
+    }
+
+    /**
+     * @return der Wert des Bruchs als Gleitkommazahl (floating-point number)
+     */
+    public double getAsFPN() {
+        if (fitsInLong()) {
+            return (double) this.numerator.longValue() / this.denominator.longValue();
+        }
+        return new BigDecimal(this.numerator)
+                .divide(new BigDecimal(this.denominator), MathContext.DECIMAL64).doubleValue();
+    }
+
+    /**
+     * @return Stringrepräsentation des Bruchs
+     */
+    @Override
+    public String toString() {
+        return this.numerator
+                + (this.denominator.equals(BigInteger.ONE) ? "" : "/" + this.denominator);
+    }
+
+    /**
+     * Vergleicht diesen Bruch mit dem übergebenen Bruch.
+     *
+     * @param other Bruch, mit dem dieser Bruch verglichen wird
+     * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
+     * @pre other != null
+     */
+    @Override
+    public int compareTo(BigFraction other) {
+        assert other != null;
+        return this.numerator.multiply(other.denominator)
+                .compareTo(other.numerator.multiply(this.denominator));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BigFraction)) {
+            return false;
+        }
+        BigFraction other = (BigFraction) obj;
+        return this.numerator.equals(other.numerator) && this.denominator.equals(other.denominator);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + this.numerator.hashCode();
+        result = prime * result + this.denominator.hashCode();
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package simplex;
+
+/**
+ * Tableau, das jede Zelle als BigFraction speichert und damit niemals überläuft.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+class BigTableau extends Tableau {
+
+    /**
+     * Zellen mit den Zeilen in der ersten und den Spalten in der zweiten Dimension
+     */
+    private final BigFraction[][] table;
+
+    /**
+     * Erstellt ein Tableau mit dem Inhalt der übergebenen Matrix.
+     *
+     * @param table Ausgangstableau
+     * @pre table != null und rechteckig
+     */
+    BigTableau(Fraction[][] table) {
+        super(table.length, table[0].length);
+        this.table = new BigFraction[table.length][table[0].length];
+        for (int row = 0; row < table.length; row++) {
+            for (int col = 0; col < table[0].length; col++) {
+                this.table[row][col] = BigFraction.valueOf(table[row][col]);
+            }
+        }
+    }
+
+    @Override
+    Fraction get(int row, int col) {
+        return this.table[row][col].toFraction();
+    }
+
+    @Override
+    BigFraction getBig(int row, int col) {
+        return this.table[row][col];
+    }
+
+    @Override
+    int signum(int row, int col) {
+        return this.table[row][col].signum();
+    }
+
+    @Override
+    int compare(int row1, int col1, int row2, int col2) {
+        return this.table[row1][col1].compareTo(this.table[row2][col2]);
+    }
+
+    @Override
+    int compareRatios(int row1, int row2, int col) {
+        int rhs = getColCount() - 1;
+        return this.table[row1][rhs].divideBy(this.table[row1][col])
+                .compareTo(this.table[row2][rhs].divideBy(this.table[row2][col]));
+    }
+
+    @Override
+    void normalizeRow(int row, int col) {
+        BigFraction pivotElem = this.table[row][col];
+        for (int i = 0; i < getColCount(); i++) {
+            if (this.table[row][i].signum() != 0) {
+                this.table[row][i] = this.table[row][i].divideBy(pivotElem);
+            }
+        }
+    }
+
+    @Override
+    void eliminateRow(int row, int pivotRow, int pivotCol) {
+        BigFraction a = this.table[row][pivotCol];
+        if (a.signum() == 0) {
+            return;
+        }
+        for (int col = 0; col < getColCount(); col++) {
+            if (this.table[pivotRow][col].signum() != 0) {
+                this.table[row][col] =
+                        this.table[row][col].subtract(a.multiplyBy(this.table[pivotRow][col]));
+            }
+        }
+    }
+
+    @Override
+    void complementColumn(int col, Fraction bound) {
+        int rhs = getColCount() - 1;
+        BigFraction u = BigFraction.valueOf(bound);
+        for (BigFraction[] row : this.table) {
+            if (row[col].signum() != 0) {
+                row[rhs] = row[rhs].subtract(row[col].multiplyBy(u));
+                row[col] = row[col].multiplyBy(BigFraction.MINUS_ONE);
+            }
+        }
+    }
+}
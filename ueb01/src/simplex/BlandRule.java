@@ -0,0 +1,36 @@
+package simplex;
+
+/**
+ * Pivotregel nach Bland: Pivotspalte ist die erste Spalte mit positiven reduzierten Kosten, bei
+ * gleichen Quotienten wird die Zeile mit dem kleinsten Index der Basisvariablen gewählt. Die Regel
+ * schließt Kreisen aus, benötigt aber oft mehr Schritte als andere Regeln.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class BlandRule implements PivotRule {
+
+    @Override
+    public int selectColumn(PivotContext context) {
+        for (int col = 0; col < context.getCandidateCount(); col++) {
+            if (context.reducedCostSignum(col) > 0) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int selectRow(PivotContext context, int pivotCol) {
+        int minIndex = -1;
+        for (int row = 0; row < context.getRowCount(); row++) {
+            if (context.signum(row, pivotCol) > 0 && context.rightSideSignum(row) >= 0) {
+                int cmp = minIndex < 0 ? -1 : context.compareRatios(row, minIndex, pivotCol);
+                if (cmp < 0 || (cmp == 0
+                        && context.getBaseVar(row) < context.getBaseVar(minIndex))) {
+                    minIndex = row;
+                }
+            }
+        }
+        return minIndex;
+    }
+}
@@ -0,0 +1,433 @@
+package simplex;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Löst lineare Optimierungsprobleme mit ganzzahligen Unbekannten (siehe
+ * {@link LinearProgram#withIntegerVariables(int...)}) durch Branch-and-Bound. Jeder Knoten löst
+ * die stetige Relaxation mit einem SimplexSolver. Hat eine ganzzahlige Unbekannte dort einen
+ * gebrochenen Wert v, entstehen zwei Kindknoten mit den Schranken x &le; &lfloor;v&rfloor; bzw.
+ * x &ge; &lfloor;v&rfloor; + 1. Kindknoten starten von der Basis ihres Elternknotens, die meist
+ * nach wenigen dualen Simplexschritten wieder zulässig ist.
+ * <p>
+ * Die Knoten werden als Tasks auf einem ForkJoinPool abgearbeitet, dessen Threads sich
+ * gegenseitig Arbeit stehlen. Alle Knoten teilen sich die beste bisher gefundene ganzzahlige
+ * Lösung; Knoten, deren Relaxation diese nicht mehr verbessern kann, werden verworfen.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class BranchAndBoundSolver {
+
+    /**
+     * größter Abstand eines Werts zur nächsten ganzen Zahl
+     */
+    private static final double MAX_FRACTIONALITY = 0.5;
+
+    /**
+     * zu lösendes Problem
+     */
+    private final LinearProgram lp;
+
+    /**
+     * Pool, auf dem die Knoten abgearbeitet werden
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * 1 bei Maximierung, -1 bei Minimierung
+     */
+    private final int sense;
+
+    /**
+     * beste bisher gefundene ganzzahlige Lösung oder null
+     */
+    private final AtomicReference<Fraction[]> incumbent = new AtomicReference<>();
+
+    /**
+     * Anzahl der gelösten Knoten
+     */
+    private final AtomicLong nodes = new AtomicLong();
+
+    /**
+     * Summe der Pivotschritte aller Knoten
+     */
+    private final AtomicLong iterations = new AtomicLong();
+
+    /**
+     * noch nicht abgeschlossene Knoten
+     */
+    private final Set<NodeTask> open = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Startzeitpunkt des laufenden bzw. letzten Lösungsvorgangs
+     */
+    private volatile long startNanos;
+
+    /**
+     * Empfänger der Zwischenstände oder null
+     */
+    private Consumer<Progress> listener;
+
+    /**
+     * Anzahl der Knoten zwischen zwei Zwischenständen
+     */
+    private int reportInterval;
+
+    /**
+     * Erstellt einen Löser, der auf dem gemeinsamen ForkJoinPool rechnet.
+     *
+     * @param lp zu lösendes Problem
+     * @pre lp != null
+     */
+    public BranchAndBoundSolver(LinearProgram lp) {
+        this(lp, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Erstellt einen Löser, der auf dem übergebenen Pool rechnet.
+     *
+     * @param lp   zu lösendes Problem
+     * @param pool zu nutzender Pool
+     * @pre lp != null
+     * @pre pool != null
+     */
+    public BranchAndBoundSolver(LinearProgram lp, ForkJoinPool pool) {
+        assert lp != null;
+        assert pool != null;
+        this.lp = lp;
+        this.pool = pool;
+        this.sense = lp.getSolveType() == LinearProgram.SolveType.MAX ? 1 : -1;
+    }
+
+    /**
+     * Meldet während des Lösens alle interval Knoten sowie am Ende den aktuellen Stand. Der
+     * Empfänger wird aus den Threads des Pools aufgerufen, ggf. auch gleichzeitig.
+     *
+     * @param listener Empfänger der Zwischenstände oder null, um nichts zu melden
+     * @param interval Anzahl der Knoten zwischen zwei Meldungen
+     * @pre interval &gt; 0
+     */
+    public void setProgressListener(Consumer<Progress> listener, int interval) {
+        assert interval > 0;
+        this.listener = listener;
+        this.reportInterval = interval;
+    }
+
+    /**
+     * Löst das Problem unter Beachtung der Ganzzahligkeit.
+     *
+     * @return optimale Koeffizienten und Wert der Zielfunktion (x1, x2, ..., xn, z) oder null,
+     * wenn es keine ganzzahlige Lösung gibt oder die Relaxation unbeschränkt ist
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
+     */
+    public Fraction[] solve() {
+        int n = this.lp.getObjectiveTerm().length;
+        Fraction[] lower = new Fraction[n];
+        Fraction[] upper = new Fraction[n];
+        for (int col = 0; col < n; col++) {
+            lower[col] = this.lp.getLowerBound(col);
+            upper[col] = this.lp.getUpperBound(col);
+        }
+        this.incumbent.set(null);
+        this.nodes.set(0);
+        this.iterations.set(0);
+        this.open.clear();
+        this.startNanos = System.nanoTime();
+        NodeTask root = new NodeTask(lower, upper, null, null);
+        this.open.add(root);
+        this.pool.invoke(root);
+        if (this.listener != null) {
+            this.listener.accept(getProgress());
+        }
+        return this.incumbent.get();
+    }
+
+    /**
+     * Gibt den aktuellen Stand zurück. Kann auch während des Lösens aus einem anderen Thread
+     * abgefragt werden.
+     *
+     * @return aktueller Stand
+     */
+    public Progress getProgress() {
+        Fraction[] best = this.incumbent.get();
+        Fraction value = best == null ? null : best[best.length - 1];
+        Fraction bound = value;
+        boolean unknown = false;
+        for (NodeTask node : this.open) {
+            if (node.parentValue == null) {
+                unknown = true;
+            } else if (bound == null || this.sense * node.parentValue.compareTo(bound) > 0) {
+                bound = node.parentValue;
+            }
+        }
+        return new Progress(this.nodes.get(), this.iterations.get(),
+                System.nanoTime() - this.startNanos, value, unknown ? null : bound);
+    }
+
+    /**
+     * @param value Wert der Zielfunktion
+     * @return true, wenn value besser als die bisher beste ganzzahlige Lösung ist
+     */
+    private boolean improves(Fraction value) {
+        Fraction[] best = this.incumbent.get();
+        return best == null || this.sense * value.compareTo(best[best.length - 1]) > 0;
+    }
+
+    /**
+     * Übernimmt eine ganzzahlige Lösung, wenn sie besser als die bisher beste ist.
+     *
+     * @param solution ganzzahlige Lösung
+     */
+    private void offer(Fraction[] solution) {
+        Fraction[] best = this.incumbent.get();
+        while ((best == null || this.sense
+                * solution[solution.length - 1].compareTo(best[best.length - 1]) > 0)
+                && !this.incumbent.compareAndSet(best, solution)) {
+            best = this.incumbent.get();
+        }
+    }
+
+    /**
+     * Wählt die ganzzahlige Unbekannte, deren Wert am weitesten von einer ganzen Zahl entfernt
+     * ist.
+     *
+     * @param solution Lösung der Relaxation
+     * @return Index der Unbekannten oder -1, wenn alle ganzzahligen Unbekannten ganzzahlig sind
+     */
+    private int branchingColumn(Fraction[] solution) {
+        int best = -1;
+        double bestDistance = 0;
+        for (int col = 0; col < solution.length - 1; col++) {
+            if (this.lp.isInteger(col) && solution[col].getDenominator() != 1) {
+                double value = solution[col].getAsFPN();
+                double distance = MAX_FRACTIONALITY
+                        - Math.abs(value - Math.floor(value) - MAX_FRACTIONALITY);
+                if (best < 0 || distance > bestDistance) {
+                    best = col;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Knoten des Suchbaums: die Relaxation mit den Schranken des Knotens
+     */
+    private final class NodeTask extends RecursiveAction {
+
+        /**
+         * untere Schranken der Unbekannten
+         */
+        private final Fraction[] lower;
+
+        /**
+         * obere Schranken der Unbekannten, null für unbeschränkt
+         */
+        private final Fraction[] upper;
+
+        /**
+         * Basis des Elternknotens oder null
+         */
+        private final int[] startBase;
+
+        /**
+         * Wert der Relaxation des Elternknotens als Schranke für diesen Knoten oder null
+         */
+        private final Fraction parentValue;
+
+        /**
+         * Konstruktor.
+         *
+         * @param lower       untere Schranken der Unbekannten
+         * @param upper       obere Schranken der Unbekannten
+         * @param startBase   Basis des Elternknotens oder null
+         * @param parentValue Wert der Relaxation des Elternknotens oder null
+         */
+        NodeTask(Fraction[] lower, Fraction[] upper, int[] startBase, Fraction parentValue) {
+            this.lower = lower;
+            this.upper = upper;
+            this.startBase = startBase;
+            this.parentValue = parentValue;
+        }
+
+        @Override
+        protected void compute() {
+            NodeTask[] children = null;
+            boolean solved = false;
+            try {
+                if (this.parentValue == null || improves(this.parentValue)) {
+                    solved = true;
+                    children = branch();
+                }
+            } finally {
+                //der Knoten ist abgeschlossen, sobald seine Relaxation geloest ist; seine Kinder
+                //stehen dann bereits mit deren Wert als Schranke in open
+                open.remove(this);
+            }
+            if (solved) {
+                long count = nodes.incrementAndGet();
+                if (listener != null && count % reportInterval == 0) {
+                    listener.accept(getProgress());
+                }
+            }
+            if (children != null) {
+                invokeAll(children[0], children[1]);
+            }
+        }
+
+        /**
+         * Löst die Relaxation und legt, falls nötig, die beiden Kindknoten an.
+         *
+         * @return die beiden in open eingetragenen Kindknoten oder null, wenn nicht verzweigt wird
+         */
+        private NodeTask[] branch() {
+            LinearProgram relaxation = lp.withBounds(this.lower, this.upper);
+            SimplexSolver solver = this.startBase == null ? new SimplexSolver(relaxation)
+                    : new SimplexSolver(relaxation, this.startBase);
+            Fraction[] solution = solver.solve();
+            iterations.addAndGet(solver.getIterationCount());
+            if (solution == null || !improves(solution[solution.length - 1])) {
+                return null;
+            }
+            int col = branchingColumn(solution);
+            if (col < 0) {
+                offer(solution);
+                return null;
+            }
+            long floor = Math.floorDiv(solution[col].getNumerator(),
+                    solution[col].getDenominator());
+            Fraction[] downUpper = this.upper.clone();
+            downUpper[col] = Fraction.valueOf(floor, 1);
+            Fraction[] upLower = this.lower.clone();
+            upLower[col] = Fraction.valueOf(floor + 1, 1);
+            int[] base = solver.getBaseVars().clone();
+            Fraction value = solution[solution.length - 1];
+            NodeTask down = new NodeTask(this.lower, downUpper, base, value);
+            NodeTask up = new NodeTask(upLower, this.upper, base, value);
+            open.add(down);
+            open.add(up);
+            return new NodeTask[] {down, up};
+        }
+    }
+
+    /**
+     * Zwischenstand eines Lösungsvorgangs
+     */
+    public static final class Progress {
+
+        /**
+         * Nanosekunden je Sekunde
+         */
+        private static final double NANOS_PER_SECOND = 1e9;
+
+        /**
+         * Faktor von einem Anteil zu Prozent
+         */
+        private static final int PERCENT = 100;
+
+        /**
+         * Anzahl der gelösten Knoten
+         */
+        private final long nodes;
+
+        /**
+         * Summe der Pivotschritte aller Knoten
+         */
+        private final long iterations;
+
+        /**
+         * bisherige Dauer in Nanosekunden
+         */
+        private final long nanos;
+
+        /**
+         * Wert der besten ganzzahligen Lösung oder null
+         */
+        private final Fraction incumbent;
+
+        /**
+         * beste Schranke über alle offenen Knoten oder null
+         */
+        private final Fraction bound;
+
+        /**
+         * Konstruktor.
+         *
+         * @param nodes      Anzahl der gelösten Knoten
+         * @param iterations Summe der Pivotschritte
+         * @param nanos      bisherige Dauer in Nanosekunden
+         * @param incumbent  Wert der besten ganzzahligen Lösung oder null
+         * @param bound      beste Schranke oder null
+         */
+        private Progress(long nodes, long iterations, long nanos, Fraction incumbent,
+                Fraction bound) {
+            this.nodes = nodes;
+            this.iterations = iterations;
+            this.nanos = nanos;
+            this.incumbent = incumbent;
+            this.bound = bound;
+        }
+
+        /**
+         * @return Anzahl der gelösten Knoten
+         */
+        public long getNodeCount() {
+            return this.nodes;
+        }
+
+        /**
+         * @return Summe der Pivotschritte aller Knoten
+         */
+        public long getIterationCount() {
+            return this.iterations;
+        }
+
+        /**
+         * @return gelöste Knoten je Sekunde
+         */
+        public double getNodesPerSecond() {
+            return this.nanos == 0 ? 0 : this.nodes * NANOS_PER_SECOND / this.nanos;
+        }
+
+        /**
+         * @return Wert der besten bisher gefundenen ganzzahligen Lösung oder null
+         */
+        public Fraction getIncumbent() {
+            return this.incumbent;
+        }
+
+        /**
+         * @return Schranke für den optimalen Wert, die keine ganzzahlige Lösung übertreffen kann,
+         * oder null, solange die Relaxation der Wurzel nicht gelöst ist
+         */
+        public Fraction getBound() {
+            return this.bound;
+        }
+
+        /**
+         * @return relativer Abstand |Schranke - Lösung| / max(1, |Lösung|) oder
+         * {@link Double#POSITIVE_INFINITY}, solange Lösung oder Schranke fehlen
+         */
+        public double getGap() {
+            if (this.incumbent == null || this.bound == null) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double value = this.incumbent.getAsFPN();
+            return Math.abs(this.bound.getAsFPN() - value) / Math.max(1, Math.abs(value));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d Knoten (%.0f/s), Lösung %s, Schranke %s, Abstand %.2f %%",
+                    this.nodes, getNodesPerSecond(), this.incumbent, this.bound,
+                    PERCENT * getGap());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package simplex;
+
+/**
+ * Kooperativer Abbruch eines Lösungsvorgangs. Ein anderer Thread ruft {@link #cancel()} auf,
+ * der SimplexSolver prüft das Token vor jedem Pivotschritt und beendet den Lösungsvorgang dann
+ * mit {@link SolverStatus#CANCELLED}. Ein Token kann für mehrere Lösungsvorgänge verwendet
+ * werden und bleibt nach dem Abbruch abgebrochen.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public final class CancellationToken {
+
+    /**
+     * true, sobald abgebrochen wurde
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Fordert den Abbruch aller Lösungsvorgänge an, die dieses Token verwenden.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return true, wenn der Abbruch angefordert wurde
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
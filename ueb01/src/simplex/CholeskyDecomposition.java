@@ -0,0 +1,168 @@
+package simplex;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cholesky-Zerlegung einer symmetrischen, positiv semidefiniten double-Matrix (A = L * L^T).
+ * L wird im unteren Dreieck der übergebenen Matrix gespeichert. Pivotelemente, die numerisch 0
+ * sind (z.B. bei linear abhängigen Restriktionen), werden durch einen sehr großen Wert ersetzt,
+ * sodass die zugehörige Komponente der Lösung 0 wird, statt die Zerlegung abzubrechen.
+ * <p>
+ * Die Zerlegung arbeitet spaltenweise von links nach rechts; die Aktualisierung der restlichen
+ * Zeilen nach jeder Spalte kann auf die Threads eines Pools verteilt werden. Da jede Zeile nur
+ * in sich selbst geschrieben wird, ist das Ergebnis identisch mit der sequentiellen Zerlegung.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+class CholeskyDecomposition {
+
+    /**
+     * Ersatzwert für Pivotelemente, die numerisch 0 sind
+     */
+    private static final double HUGE_PIVOT = 1e64;
+
+    /**
+     * Anzahl der Teilaufgaben je Thread bei paralleler Aktualisierung
+     */
+    private static final int GRAINS_PER_THREAD = 4;
+
+    /**
+     * L im unteren Dreieck einschließlich der Diagonalen
+     */
+    private final double[][] l;
+
+    /**
+     * Zerlegt die übergebene Matrix, bei mindestens threshold verbleibenden Zeilen parallel. Das
+     * untere Dreieck der Matrix wird dabei überschrieben, das obere nicht gelesen.
+     *
+     * @param matrix    zu zerlegende symmetrische Matrix
+     * @param epsilon   relativer Betrag, unterhalb dessen ein Pivotelement als 0 gilt
+     * @param pool      Pool für die parallele Zerlegung oder null für sequentielle Zerlegung
+     * @param threshold Mindestanzahl an verbleibenden Zeilen für die parallele Aktualisierung
+     * @pre matrix != null und quadratisch
+     */
+    CholeskyDecomposition(double[][] matrix, double epsilon, ForkJoinPool pool, int threshold) {
+        assert matrix != null;
+        int size = matrix.length;
+        this.l = matrix;
+        double maxDiagonal = 0;
+        for (int k = 0; k < size; k++) {
+            maxDiagonal = Math.max(maxDiagonal, matrix[k][k]);
+        }
+        for (int k = 0; k < size; k++) {
+            double pivot = this.l[k][k];
+            pivot = pivot <= epsilon * maxDiagonal ? HUGE_PIVOT : Math.sqrt(pivot);
+            this.l[k][k] = pivot;
+            for (int i = k + 1; i < size; i++) {
+                this.l[i][k] /= pivot;
+            }
+            if (pool == null || size - k - 1 < threshold) {
+                update(k, k + 1, size);
+            } else {
+                int grainSize = Math.max(1,
+                        (size - k - 1) / (GRAINS_PER_THREAD * pool.getParallelism()));
+                pool.invoke(new UpdateTask(k, k + 1, size, grainSize));
+            }
+        }
+    }
+
+    /**
+     * Zieht den Beitrag der Spalte k von den Zeilen im Bereich [from, to) ab.
+     *
+     * @param k    Index der fertig zerlegten Spalte
+     * @param from erste Zeile des Bereichs
+     * @param to   Zeile hinter dem Bereich
+     */
+    private void update(int k, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double[] row = this.l[i];
+            double factor = row[k];
+            if (factor != 0) {
+                for (int j = k + 1; j <= i; j++) {
+                    row[j] -= factor * this.l[j][k];
+                }
+            }
+        }
+    }
+
+    /**
+     * Löst A * x = b durch Vorwärts- und Rückwärtseinsetzen.
+     *
+     * @param b rechte Seite, wird mit der Lösung x überschrieben
+     * @pre b.length entspricht der Größe der Matrix
+     */
+    void solve(double[] b) {
+        int size = this.l.length;
+        //L * w = b
+        for (int i = 0; i < size; i++) {
+            double[] row = this.l[i];
+            b[i] = (b[i] - DoubleKernel.dot(row, 0, b, 0, i)) / row[i];
+        }
+        //L^T * x = w
+        for (int i = size - 1; i >= 0; i--) {
+            double sum = b[i];
+            for (int j = i + 1; j < size; j++) {
+                sum -= this.l[j][i] * b[j];
+            }
+            b[i] = sum / this.l[i][i];
+        }
+    }
+
+    /**
+     * Aktualisiert einen Bereich von Zeilen nach einer zerlegten Spalte. Der Bereich wird so
+     * lange halbiert, bis er höchstens grainSize Zeilen umfasst.
+     */
+    private final class UpdateTask extends RecursiveAction {
+
+        /**
+         * Index der fertig zerlegten Spalte
+         */
+        private final int k;
+
+        /**
+         * erste Zeile des Bereichs
+         */
+        private final int from;
+
+        /**
+         * Zeile hinter dem Bereich
+         */
+        private final int to;
+
+        /**
+         * maximale Anzahl an Zeilen, die ohne weitere Teilung bearbeitet wird
+         */
+        private final int grainSize;
+
+        /**
+         * Konstruktor.
+         *
+         * @param k         Index der fertig zerlegten Spalte
+         * @param from      erste Zeile des Bereichs
+         * @param to        Zeile hinter dem Bereich
+         * @param grainSize maximale Anzahl an Zeilen je Teilaufgabe
+         */
+        UpdateTask(int k, int from, int to, int grainSize) {
+            this.k = k;
+            this.from = from;
+            this.to = to;
+            this.grainSize = grainSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.grainSize) {
+                update(this.k, this.from, this.to);
+            } else {
+                //untere Zeilen sind laenger, daher nach Aufwand statt nach Zeilen teilen
+                long a = this.from - this.k;
+                long b = this.to - this.k;
+                int mid = this.k + (int) Math.sqrt((a * a + b * b) / 2);
+                mid = Math.min(Math.max(mid, this.from + 1), this.to - 1);
+                invokeAll(new UpdateTask(this.k, this.from, mid, this.grainSize),
+                        new UpdateTask(this.k, mid, this.to, this.grainSize));
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package simplex;
+
+/**
+ * Pivotregel nach Dantzig: Pivotspalte ist die Spalte mit den größten reduzierten Kosten, bei
+ * Gleichstand die erste. Schnell je Schritt, kann bei Entartung aber kreisen.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class DantzigRule implements PivotRule {
+
+    @Override
+    public int selectColumn(PivotContext context) {
+        int maxIndex = -1;
+        for (int col = 0; col < context.getCandidateCount(); col++) {
+            if (maxIndex < 0 ? context.reducedCostSignum(col) > 0
+                    : context.compareReducedCosts(col, maxIndex) > 0) {
+                maxIndex = col;
+            }
+        }
+        return maxIndex;
+    }
+}
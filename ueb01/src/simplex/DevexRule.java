@@ -0,0 +1,54 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Devex-Pivotregel nach Harris: Näherung der steilsten Kante über Referenzgewichte w_j, die nach
+ * jedem Pivotschritt aus der Pivotzeile aktualisiert werden, statt die Spaltennormen neu zu
+ * berechnen. Gewählt wird die Spalte mit dem größten Wert d_j^2 / w_j.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class DevexRule implements PivotRule {
+
+    /**
+     * Referenzgewichte je Spalte
+     */
+    private double[] weights;
+
+    @Override
+    public void start(PivotContext context) {
+        this.weights = new double[context.getCandidateCount()];
+        Arrays.fill(this.weights, 1);
+    }
+
+    @Override
+    public int selectColumn(PivotContext context) {
+        int bestIndex = -1;
+        double best = 0;
+        for (int col = 0; col < context.getCandidateCount(); col++) {
+            if (context.reducedCostSignum(col) > 0) {
+                double reduced = context.getReducedCost(col);
+                double score = reduced * reduced / this.weights[col];
+                if (bestIndex < 0 || score > best) {
+                    best = score;
+                    bestIndex = col;
+                }
+            }
+        }
+        return bestIndex;
+    }
+
+    @Override
+    public void beforePivot(PivotContext context, int pivotRow, int pivotCol) {
+        double pivot = context.getEntry(pivotRow, pivotCol);
+        double pivotWeight = this.weights[pivotCol];
+        for (int col = 0; col < this.weights.length; col++) {
+            if (col != pivotCol && context.signum(pivotRow, col) != 0) {
+                double ratio = context.getEntry(pivotRow, col) / pivot;
+                this.weights[col] = Math.max(this.weights[col], ratio * ratio * pivotWeight);
+            }
+        }
+        this.weights[pivotCol] = Math.max(pivotWeight / (pivot * pivot), 1);
+    }
+}
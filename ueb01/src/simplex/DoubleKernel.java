@@ -0,0 +1,74 @@
+package simplex;
+
+/**
+ * Gemeinsame Kernoperationen der Gleitkomma-Löser auf dichten double-Vektoren, z.B. das
+ * Reduzieren einer Zeile gegen die Pivotzeile (AXPY). Die Schleifen sind bewusst einfach
+ * gehalten (gezählte int-Schleife, keine Verzweigungen, Versatz vor der Schleife), damit der
+ * JIT-Compiler sie in SIMD-Befehle übersetzt. Die skalare Ausführung lässt sich zum Vergleich
+ * mit der JVM-Option -XX:-UseSuperWord erzwingen, siehe KernelBenchmark.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+final class DoubleKernel {
+
+    /**
+     * Nur statische Methoden.
+     */
+    private DoubleKernel() {
+    }
+
+    /**
+     * Berechnet y[yFrom + i] += a * x[xFrom + i] für 0 &le; i &lt; length.
+     *
+     * @param a      Faktor
+     * @param x      zu addierender Vektor
+     * @param xFrom  erster Index in x
+     * @param y      Zielvektor
+     * @param yFrom  erster Index in y
+     * @param length Anzahl der Einträge
+     * @pre die Bereiche liegen innerhalb von x und y
+     */
+    static void axpy(double a, double[] x, int xFrom, double[] y, int yFrom, int length) {
+        if (a == 0) {
+            return;
+        }
+        int shift = yFrom - xFrom;
+        int end = xFrom + length;
+        for (int i = xFrom; i < end; i++) {
+            y[i + shift] += a * x[i];
+        }
+    }
+
+    /**
+     * Berechnet y += a * x über die gesamte Länge von y.
+     *
+     * @param a Faktor
+     * @param x zu addierender Vektor
+     * @param y Zielvektor
+     * @pre x.length &ge; y.length
+     */
+    static void axpy(double a, double[] x, double[] y) {
+        axpy(a, x, 0, y, 0, y.length);
+    }
+
+    /**
+     * Berechnet die Summe von x[xFrom + i] * y[yFrom + i] für 0 &le; i &lt; length.
+     *
+     * @param x      erster Vektor
+     * @param xFrom  erster Index in x
+     * @param y      zweiter Vektor
+     * @param yFrom  erster Index in y
+     * @param length Anzahl der Einträge
+     * @return Skalarprodukt der Bereiche
+     * @pre die Bereiche liegen innerhalb von x und y
+     */
+    static double dot(double[] x, int xFrom, double[] y, int yFrom, int length) {
+        double sum = 0;
+        int shift = yFrom - xFrom;
+        int end = xFrom + length;
+        for (int i = xFrom; i < end; i++) {
+            sum += x[i] * y[i + shift];
+        }
+        return sum;
+    }
+}
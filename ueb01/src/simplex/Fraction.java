@@ -5,6 +5,9 @@ import java.util.Arrays; // darf nur in "toMatrix" verwendet werden
 /**
  * Ein vollständig gekürzter mathematischer Bruch, der aus einem Zähler und einem Nenner besteht.
  * Fraction-Instanzen sind unveränderlich, d.h. für Änderungen werden stets neue Instanzen angelegt.
+ * Alle Rechenoperationen sind gegen Überlauf abgesichert: passt ein Zwischenergebnis nicht in einen
+ * long, wird eine {@link ArithmeticException} ausgelöst. Für beliebig große Werte steht
+ * {@link BigFraction} zur Verfügung.
  *
  * @author kar, mhe, Mario da Graca, Leonhard Brandes
  */
@@ -13,18 +16,52 @@ public class Fraction implements Comparable<Fraction> {
     /**
      * Bruch mit Zähler -1 und Nenner 1
      */
-    public static final Fraction MINUS_ONE = new Fraction(-1);
+    public static final Fraction MINUS_ONE = new Fraction(-1, 1, false);
 
     /**
      * Bruch mit Zähler 0 und Nenner 1
      */
-    public static final Fraction ZERO = new Fraction(0);
+    public static final Fraction ZERO = new Fraction(0, 1, false);
 
     /**
      * Bruch mit Zähler 1 und Nenner 1
      */
-    public static final Fraction ONE = new Fraction(1);
+    public static final Fraction ONE = new Fraction(1, 1, false);
 
+    /**
+     * größter Betrag eines Zählers, dessen Bruch von {@link #valueOf(long, long)}
+     * zwischengespeichert wird
+     */
+    private static final int CACHE_MAX_NUMERATOR = 128;
+
+    /**
+     * größter Nenner eines Bruchs, der von {@link #valueOf(long, long)} zwischengespeichert wird
+     */
+    private static final int CACHE_MAX_DENOMINATOR = 16;
+
+    /**
+     * Anzahl der Bits einer Hälfte eines long-Werts, siehe {@link #multiplyHigh(long, long)}
+     */
+    private static final int HALF_BITS = 32;
+
+    /**
+     * Maske der unteren Hälfte eines long-Werts
+     */
+    private static final long LOW_MASK = 0xFFFFFFFFL;
+
+    /**
+     * kanonische Instanzen kleiner Brüche, nach Nenner und Zähler geordnet und bei Bedarf gefüllt
+     */
+    private static final Fraction[] CACHE =
+            new Fraction[CACHE_MAX_DENOMINATOR * (2 * CACHE_MAX_NUMERATOR + 1)];
+
+    static {
+        //die Konstanten sind vor dem Cache angelegt und werden hier als kanonische Instanzen
+        //eingetragen, damit valueOf z.B. für jedes Ergebnis 0 die Instanz ZERO liefert
+        for (Fraction constant : new Fraction[] {MINUS_ONE, ZERO, ONE}) {
+            CACHE[cacheIndex(constant.numerator, constant.denominator)] = constant;
+        }
+    }
 
     /**
      * Der Zähler des Bruchs
@@ -44,18 +81,35 @@ public class Fraction implements Comparable<Fraction> {
      *
      * @param numerator   Zu verwendender Zähler (beliebige ganze Zahl)
      * @param denominator Zu verwendender Nenner (beliebige ganze Zahl, außer 0)
+     * @throws ArithmeticException wenn der Bruch nicht mit positivem long-Nenner darstellbar ist
      * @pre denominator != 0
      */
     public Fraction(long numerator, long denominator) {
+        this(numerator, denominator, true);
+    }
+
+    /**
+     * Erstellt einen Bruch aus dem übergebenen Zähler und Nenner, der auf Wunsch gekürzt wird.
+     *
+     * @param numerator   Zu verwendender Zähler
+     * @param denominator Zu verwendender Nenner
+     * @param reduce      true, wenn der Bruch noch gekürzt werden muss
+     * @throws ArithmeticException wenn der Bruch nicht mit positivem long-Nenner darstellbar ist
+     * @pre denominator != 0
+     * @pre reduce oder der Bruch ist vollständig gekürzt und denominator &gt; 0
+     */
+    private Fraction(long numerator, long denominator, boolean reduce) {
         assert denominator != 0;
-        //Bruch kuerzen
-        long gcd = gcd(numerator, denominator);
-        numerator = numerator / gcd;
-        denominator = denominator / gcd;
-        //einheitliche darstellung negativer Brueche
-        if (denominator < 0) {
-            numerator *= -1;
-            denominator *= -1;
+        if (reduce) {
+            //Bruch kuerzen
+            long gcd = gcd(numerator, denominator);
+            numerator = numerator / gcd;
+            denominator = denominator / gcd;
+            //einheitliche darstellung negativer Brueche
+            if (denominator < 0) {
+                numerator = Math.negateExact(numerator);
+                denominator = Math.negateExact(denominator);
+            }
         }
         this.numerator = numerator;
         this.denominator = denominator;
@@ -71,20 +125,141 @@ public class Fraction implements Comparable<Fraction> {
     }
 
     /**
-     * Berechnet den GgT von a und b mit dem euklidischen Algorithmus
+     * Gibt den vollständig gekürzten Bruch aus dem übergebenen Zähler und Nenner zurück. Kleine
+     * Brüche werden dabei als kanonische Instanzen wiederverwendet, sodass z.B. jedes Ergebnis 0
+     * identisch mit {@link #ZERO} ist.
+     *
+     * @param numerator   Zu verwendender Zähler (beliebige ganze Zahl)
+     * @param denominator Zu verwendender Nenner (beliebige ganze Zahl, außer 0)
+     * @return gekürzter Bruch
+     * @throws ArithmeticException wenn der Bruch nicht mit positivem long-Nenner darstellbar ist
+     * @pre denominator != 0
+     */
+    public static Fraction valueOf(long numerator, long denominator) {
+        assert denominator != 0;
+        long gcd = gcd(numerator, denominator);
+        numerator = numerator / gcd;
+        denominator = denominator / gcd;
+        if (denominator < 0) {
+            numerator = Math.negateExact(numerator);
+            denominator = Math.negateExact(denominator);
+        }
+        return ofReduced(numerator, denominator);
+    }
+
+    /**
+     * Gibt den Bruch aus einem bereits vollständig gekürzten Zähler und Nenner zurück, für kleine
+     * Brüche als kanonische Instanz.
+     *
+     * @param numerator   Zähler
+     * @param denominator Nenner
+     * @return Bruch numerator / denominator
+     * @pre der Bruch ist vollständig gekürzt und denominator &gt; 0
+     */
+    private static Fraction ofReduced(long numerator, long denominator) {
+        if (denominator > CACHE_MAX_DENOMINATOR || numerator > CACHE_MAX_NUMERATOR
+                || numerator < -CACHE_MAX_NUMERATOR) {
+            return new Fraction(numerator, denominator, false);
+        }
+        int index = cacheIndex(numerator, denominator);
+        //Instanzen sind unveraenderlich, ein gleichzeitiges Fuellen erzeugt hoechstens Duplikate
+        Fraction cached = CACHE[index];
+        if (cached == null) {
+            cached = new Fraction(numerator, denominator, false);
+            CACHE[index] = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * @param numerator   Zähler
+     * @param denominator Nenner
+     * @return Index des Bruchs im Cache
+     * @pre 0 &lt; denominator &le; CACHE_MAX_DENOMINATOR und |numerator| &le; CACHE_MAX_NUMERATOR
+     */
+    private static int cacheIndex(long numerator, long denominator) {
+        return (int) ((denominator - 1) * (2 * CACHE_MAX_NUMERATOR + 1)
+                + numerator + CACHE_MAX_NUMERATOR);
+    }
+
+    /**
+     * Berechnet den GgT der Beträge von a und b mit dem binären Algorithmus nach Stein, der statt
+     * Divisionen nur Verschiebungen und Subtraktionen benötigt.
      *
      * @param a Erste Zahl
      * @param b Zweite Zahl
-     * @return GgT
-     */
-    private static long gcd(long a, long b) {
-        long gcd;
-        while (b != 0) {
-            gcd = a % b;
-            a = b;
-            b = gcd;
+     * @return GgT (nicht-negativ, außer für Long.MIN_VALUE als GgT)
+     */
+    static long gcd(long a, long b) {
+        if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+            //Betrag nicht darstellbar, euklidischer Algorithmus
+            long tmp;
+            while (b != 0) {
+                tmp = a % b;
+                a = b;
+                b = tmp;
+            }
+            return Math.abs(a);
+        }
+        a = Math.abs(a);
+        b = Math.abs(b);
+        if (a == 0 || b == 0) {
+            return a | b;
+        }
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long tmp = b;
+                b = a;
+                a = tmp;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
+    }
+
+    /**
+     * Berechnet die oberen 64 Bit des 128-Bit-Produkts zweier long-Werte (entspricht
+     * Math.multiplyHigh ab Java 9).
+     *
+     * @param x Erster Faktor
+     * @param y Zweiter Faktor
+     * @return obere 64 Bit von x * y
+     */
+    static long multiplyHigh(long x, long y) {
+        long x1 = x >> HALF_BITS;
+        long x2 = x & LOW_MASK;
+        long y1 = y >> HALF_BITS;
+        long y2 = y & LOW_MASK;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> HALF_BITS);
+        long z1 = (t & LOW_MASK) + x2 * y1;
+        long z0 = t >> HALF_BITS;
+        return x1 * y1 + z0 + (z1 >> HALF_BITS);
+    }
+
+    /**
+     * Vergleicht die Brüche n1/d1 und n2/d2 über Kreuzmultiplikation in 128 Bit, ohne Überlauf
+     * und ohne neue Objekte anzulegen.
+     *
+     * @param n1 Zähler des ersten Bruchs
+     * @param d1 Nenner des ersten Bruchs (positiv)
+     * @param n2 Zähler des zweiten Bruchs
+     * @param d2 Nenner des zweiten Bruchs (positiv)
+     * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
+     */
+    static int compare(long n1, long d1, long n2, long d2) {
+        if (d1 == d2) {
+            return Long.compare(n1, n2);
         }
-        return a;
+        long high1 = multiplyHigh(n1, d2);
+        long high2 = multiplyHigh(n2, d1);
+        if (high1 != high2) {
+            return Long.compare(high1, high2);
+        }
+        return Long.compareUnsigned(n1 * d2, n2 * d1);
     }
 
     /**
@@ -93,9 +268,10 @@ public class Fraction implements Comparable<Fraction> {
      * @param a Erste Zahl
      * @param b Zweite Zahl
      * @return KgV
+     * @throws ArithmeticException wenn das KgV nicht als long darstellbar ist
      */
     private static long lcm(long a, long b) {
-        return a * b / gcd(a, b);
+        return Math.multiplyExact(a / gcd(a, b), b);
     }
 
 
@@ -104,16 +280,17 @@ public class Fraction implements Comparable<Fraction> {
      *
      * @param other zu addierender Bruch (Summand)
      * @return neuer Bruch (Summe)
+     * @throws ArithmeticException bei Überlauf
      * @pre other != null
      */
     public Fraction add(Fraction other) {
         assert other != null;
         //Hauptnenner
         long cd = lcm(this.denominator, other.getDenominator());
-        long n1 = this.numerator * cd / this.denominator;
-        long n2 = other.numerator * cd / other.getDenominator();
-        long sum = n1 + n2;
-        return new Fraction(sum, cd);
+        long n1 = Math.multiplyExact(this.numerator, cd / this.denominator);
+        long n2 = Math.multiplyExact(other.numerator, cd / other.getDenominator());
+        long sum = Math.addExact(n1, n2);
+        return valueOf(sum, cd);
 
 
     }
@@ -123,26 +300,62 @@ public class Fraction implements Comparable<Fraction> {
      *
      * @param other zu subtrahierender Bruch (Subtrahend)
      * @return neuer Bruch (Differenz)
+     * @throws ArithmeticException bei Überlauf
      * @pre other != null
      */
     public Fraction subtract(Fraction other) {
         assert other != null;
         //Subtraktion durch Addition des negierten Bruchs
-        Fraction temp = new Fraction(-other.getNumerator(), other.getDenominator());
+        Fraction temp = new Fraction(Math.negateExact(other.getNumerator()),
+                other.getDenominator(), false);
         return this.add(temp);
     }
 
+    /**
+     * Gibt den Bruch this - factor1 * factor2 zurück. Das Produkt wird über Kreuz gekürzt und die
+     * Differenz nur einmal gekürzt, statt wie bei subtract(factor1.multiplyBy(factor2)) dreimal.
+     *
+     * @param factor1 erster Faktor des Subtrahenden
+     * @param factor2 zweiter Faktor des Subtrahenden
+     * @return neuer Bruch (Differenz)
+     * @throws ArithmeticException bei Überlauf
+     * @pre factor1 != null
+     * @pre factor2 != null
+     */
+    public Fraction subtractProduct(Fraction factor1, Fraction factor2) {
+        assert factor1 != null;
+        assert factor2 != null;
+        if (factor1.numerator == 0 || factor2.numerator == 0) {
+            return this;
+        }
+        //Produkt ueber Kreuz gekuerzt, damit selbst vollstaendig gekuerzt
+        long g1 = gcd(factor1.numerator, factor2.denominator);
+        long g2 = gcd(factor2.numerator, factor1.denominator);
+        long pn = Math.multiplyExact(factor1.numerator / g1, factor2.numerator / g2);
+        long pd = Math.multiplyExact(factor1.denominator / g2, factor2.denominator / g1);
+        //Differenz ueber den Hauptnenner, gemeinsame Teiler koennen nur in g stecken
+        long g = gcd(this.denominator, pd);
+        long num = Math.subtractExact(Math.multiplyExact(this.numerator, pd / g),
+                Math.multiplyExact(pn, this.denominator / g));
+        if (num == 0) {
+            return ZERO;
+        }
+        long r = gcd(num, g);
+        return ofReduced(num / r, Math.multiplyExact(this.denominator / g, pd / r));
+    }
+
     /**
      * Gibt einen neuen Bruch zurück, der aus der Multiplikation mit dem übergebenen Bruch entsteht.
      *
      * @param other zu multiplizierenden Bruch (Faktor)
      * @return neuer Bruch (Produkt)
+     * @throws ArithmeticException bei Überlauf
      * @pre other != null
      */
     public Fraction multiplyBy(Fraction other) {
         assert other != null;
-        return new Fraction(this.numerator * other.getNumerator(),
-                this.denominator * other.getDenominator());
+        return valueOf(Math.multiplyExact(this.numerator, other.getNumerator()),
+                Math.multiplyExact(this.denominator, other.getDenominator()));
     }
 
     /**
@@ -150,14 +363,15 @@ public class Fraction implements Comparable<Fraction> {
      *
      * @param other Bruch, durch den geteilt wird (Divisor)
      * @return neuer Bruch (Quotient)
+     * @throws ArithmeticException bei Überlauf
      * @pre other != null
      * @pre other.getNumerator != 0
      */
     public Fraction divideBy(Fraction other) {
         assert other != null;
         assert other.getNumerator() != 0;
-        return new Fraction(this.numerator * other.getDenominator(),
-                this.denominator * other.getNumerator());
+        return valueOf(Math.multiplyExact(this.numerator, other.getDenominator()),
+                Math.multiplyExact(this.denominator, other.getNumerator()));
     }
 
     /**
@@ -174,6 +388,13 @@ public class Fraction implements Comparable<Fraction> {
         return this.denominator;
     }
 
+    /**
+     * @return -1, 0 oder 1 je nach Vorzeichen des Bruchs
+     */
+    public int signum() {
+        return Long.signum(this.numerator);
+    }
+
     /**
      * @return der Wert des Bruchs als Gleitkommazahl (floating-point number)
      */
@@ -193,6 +414,7 @@ public class Fraction implements Comparable<Fraction> {
      * Vergleicht diesen Bruch mit dem übergebenen Bruch. Gibt eine Zahl kleiner bzw. größer als 0
      * zurück, wenn die von diesem Bruch repräsentierte Zahl kleiner bzw. größer als die des
      * übergebenen Bruchs ist. Wenn die repräsentierten Zahlen gleich sind, wird 0 zurückgegeben.
+     * Der Vergleich legt keine neuen Objekte an und kann nicht überlaufen.
      *
      * @param other Bruch, mit dem dieser Bruch verglichen wird
      * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
@@ -201,16 +423,10 @@ public class Fraction implements Comparable<Fraction> {
     @Override
     public int compareTo(Fraction other) {
         assert other != null;
-        Fraction temp = this.subtract(other);
-        long num = temp.getNumerator();
-        //return temp.getNumerator();
-        if (num == 0) {
+        if (this == other) {
             return 0;
-        } else if (num < 0) {
-            return -1;
-        } else {
-            return 1;
         }
+        return compare(this.numerator, this.denominator, other.numerator, other.denominator);
     }
 
 
@@ -0,0 +1,122 @@
+package simplex;
+
+/**
+ * Veränderliche Summe von Brüchen für Reduktionen über viele Zellen. Zähler und Nenner werden nur
+ * über das KgV der Nenner mitgeführt und erst gekürzt, wenn ein Zwischenergebnis sonst nicht mehr
+ * in einen long passt oder das Ergebnis abgefragt wird. Eine Instanz kann über {@link #reset()}
+ * für weitere Summen wiederverwendet werden.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class FractionAccumulator {
+
+    /**
+     * Zähler der bisherigen Summe, nicht notwendig gekürzt
+     */
+    private long numerator;
+
+    /**
+     * Nenner der bisherigen Summe (positiv)
+     */
+    private long denominator = 1;
+
+    /**
+     * Setzt die Summe auf 0 zurück.
+     *
+     * @return dieses Objekt
+     */
+    public FractionAccumulator reset() {
+        this.numerator = 0;
+        this.denominator = 1;
+        return this;
+    }
+
+    /**
+     * Addiert einen Bruch zur Summe.
+     *
+     * @param fraction zu addierender Bruch
+     * @return dieses Objekt
+     * @throws ArithmeticException wenn die gekürzte Summe nicht als Fraction darstellbar ist, die
+     *                             Summe bleibt dann unverändert
+     * @pre fraction != null
+     */
+    public FractionAccumulator add(Fraction fraction) {
+        assert fraction != null;
+        return add(fraction.getNumerator(), fraction.getDenominator());
+    }
+
+    /**
+     * Addiert den Bruch numerator / denominator zur Summe.
+     *
+     * @param numerator   Zähler des Summanden
+     * @param denominator Nenner des Summanden (positiv)
+     * @return dieses Objekt
+     * @throws ArithmeticException wenn die gekürzte Summe nicht als Fraction darstellbar ist, die
+     *                             Summe bleibt dann unverändert
+     * @pre denominator &gt; 0
+     */
+    public FractionAccumulator add(long numerator, long denominator) {
+        assert denominator > 0;
+        if (numerator == 0) {
+            return this;
+        }
+        try {
+            addUnreduced(numerator, denominator);
+        } catch (ArithmeticException e) {
+            //erst kuerzen, dann erneut versuchen
+            reduce();
+            addUnreduced(numerator, denominator);
+        }
+        return this;
+    }
+
+    /**
+     * Addiert einen Bruch über das KgV der Nenner, ohne zu kürzen.
+     *
+     * @param fn Zähler des Summanden
+     * @param fd Nenner des Summanden (positiv)
+     * @throws ArithmeticException bei Überlauf, die Summe bleibt dann unverändert
+     */
+    private void addUnreduced(long fn, long fd) {
+        if (this.denominator % fd == 0) {
+            //haeufigster Fall: Nenner ist bereits Teiler des Hauptnenners
+            this.numerator = Math.addExact(this.numerator,
+                    Math.multiplyExact(fn, this.denominator / fd));
+        } else {
+            long g = Fraction.gcd(this.denominator, fd);
+            long num = Math.addExact(Math.multiplyExact(this.numerator, fd / g),
+                    Math.multiplyExact(fn, this.denominator / g));
+            this.denominator = Math.multiplyExact(this.denominator, fd / g);
+            this.numerator = num;
+        }
+    }
+
+    /**
+     * Kürzt Zähler und Nenner der bisherigen Summe.
+     */
+    private void reduce() {
+        if (this.numerator == 0) {
+            this.denominator = 1;
+        } else {
+            long g = Fraction.gcd(this.numerator, this.denominator);
+            this.numerator /= g;
+            this.denominator /= g;
+        }
+    }
+
+    /**
+     * @return -1, 0 oder 1 je nach Vorzeichen der Summe
+     */
+    public int signum() {
+        return Long.signum(this.numerator);
+    }
+
+    /**
+     * Gibt die Summe als gekürzten Bruch zurück. Die Summe selbst bleibt erhalten.
+     *
+     * @return Summe aller addierten Brüche
+     */
+    public Fraction toFraction() {
+        return Fraction.valueOf(this.numerator, this.denominator);
+    }
+}
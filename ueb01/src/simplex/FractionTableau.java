@@ -0,0 +1,90 @@
+package simplex;
+
+/**
+ * Tableau, das jede Zelle als unveränderliche Fraction-Instanz speichert.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+class FractionTableau extends Tableau {
+
+    /**
+     * Zellen mit den Zeilen in der ersten und den Spalten in der zweiten Dimension
+     */
+    private final Fraction[][] table;
+
+    /**
+     * Erstellt ein Tableau, das direkt auf der übergebenen Matrix arbeitet.
+     *
+     * @param table Ausgangstableau
+     * @pre table != null und rechteckig
+     */
+    FractionTableau(Fraction[][] table) {
+        super(table.length, table[0].length);
+        this.table = table;
+    }
+
+    @Override
+    Fraction get(int row, int col) {
+        return this.table[row][col];
+    }
+
+    @Override
+    double getAsFPN(int row, int col) {
+        return this.table[row][col].getAsFPN();
+    }
+
+    @Override
+    int signum(int row, int col) {
+        return this.table[row][col].signum();
+    }
+
+    @Override
+    int compare(int row1, int col1, int row2, int col2) {
+        return this.table[row1][col1].compareTo(this.table[row2][col2]);
+    }
+
+    @Override
+    int compareRatios(int row1, int row2, int col) {
+        int rhs = getColCount() - 1;
+        return this.table[row1][rhs].divideBy(this.table[row1][col])
+                .compareTo(this.table[row2][rhs].divideBy(this.table[row2][col]));
+    }
+
+    @Override
+    void normalizeRow(int row, int col) {
+        Fraction pivotElem = this.table[row][col];
+        for (int i = 0; i < getColCount(); i++) {
+            this.table[row][i] = this.table[row][i].divideBy(pivotElem);
+        }
+    }
+
+    @Override
+    void eliminateRow(int row, int pivotRow, int pivotCol) {
+        //Pivotelement ist schon eins, braucht nicht extra dadurch teilen
+        Fraction a = this.table[row][pivotCol];
+        if (a.signum() == 0) {
+            return;
+        }
+        for (int col = 0; col < getColCount(); col++) {
+            this.table[row][col] =
+                    this.table[row][col].subtractProduct(a, this.table[pivotRow][col]);
+        }
+    }
+
+    @Override
+    void complementColumn(int col, Fraction bound) {
+        int rhs = getColCount() - 1;
+        for (Fraction[] row : this.table) {
+            row[rhs] = row[rhs].subtractProduct(row[col], bound);
+            row[col] = row[col].multiplyBy(Fraction.MINUS_ONE);
+        }
+    }
+
+    /**
+     * @return Referenz auf die Zellen dieses Tableaus
+     */
+    @Override
+    Fraction[][] toFractions() {
+        return this.table;
+    }
+}
@@ -0,0 +1,239 @@
+package simplex;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tableau, das wie LongTableau mit long-Paaren rechnet und nur die Zellen, deren Berechnung
+ * überlaufen würde, als BigFraction weiterführt. Passt ein solcher Wert später wieder in einen
+ * long, wird die Zelle auf die schnelle Darstellung zurückgestuft. So bleiben die Ergebnisse
+ * exakt, ohne dass jede Zelle die Kosten von BigInteger trägt.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+class HybridTableau extends Tableau {
+
+    /**
+     * Zähler der Zellen, zeilenweise; stammen die Zeilen aus einem {@link TableauBuffer}, können
+     * sie länger und zahlreicher sein als das Tableau
+     */
+    private final long[][] num;
+
+    /**
+     * Nenner der Zellen, zeilenweise
+     */
+    private final long[][] den;
+
+    /**
+     * Übergelaufene Zellen; eine Zeile wird erst beim ersten Überlauf in ihr angelegt
+     */
+    private final BigFraction[][] big;
+
+    /**
+     * Anzahl der Zellen, die bisher von long-Paaren zu BigFraction gewechselt sind; wird auch bei
+     * paralleler Reduktion gezählt
+     */
+    private final AtomicInteger promotions = new AtomicInteger();
+
+    /**
+     * Erstellt ein Tableau mit dem Inhalt der übergebenen Matrix.
+     *
+     * @param table Ausgangstableau
+     * @pre table != null und rechteckig
+     */
+    HybridTableau(Fraction[][] table) {
+        this(table, new TableauBuffer());
+    }
+
+    /**
+     * Erstellt ein Tableau mit dem Inhalt der übergebenen Matrix in den Zeilen eines Puffers,
+     * z.B. um beim Lösen vieler Probleme auf einem Thread nicht für jedes Problem neue Zeilen
+     * anzulegen.
+     *
+     * @param table  Ausgangstableau
+     * @param buffer Puffer, dessen Zeilen das Tableau nutzt; wird bei Bedarf vergrößert
+     * @pre table != null und rechteckig
+     * @pre buffer != null und wird von keinem anderen Tableau mehr genutzt
+     */
+    HybridTableau(Fraction[][] table, TableauBuffer buffer) {
+        super(table.length, table[0].length);
+        assert buffer != null;
+        buffer.ensureCapacity(table.length, table[0].length);
+        this.num = buffer.getNumerators();
+        this.den = buffer.getDenominators();
+        this.big = new BigFraction[table.length][];
+        for (int row = 0; row < table.length; row++) {
+            for (int col = 0; col < table[0].length; col++) {
+                this.num[row][col] = table[row][col].getNumerator();
+                this.den[row][col] = table[row][col].getDenominator();
+            }
+        }
+    }
+
+    /**
+     * @param row Zeilenindex
+     * @param col Spaltenindex
+     * @return true, wenn die Zelle als BigFraction geführt wird
+     */
+    private boolean isBig(int row, int col) {
+        return this.big[row] != null && this.big[row][col] != null;
+    }
+
+    /**
+     * Legt einen Wert in einer Zelle ab, wenn möglich als long-Paar.
+     *
+     * @param row   Zeilenindex
+     * @param col   Spaltenindex
+     * @param value abzulegender Wert
+     */
+    private void store(int row, int col, BigFraction value) {
+        if (value.fitsInLong()) {
+            this.num[row][col] = value.getNumerator().longValue();
+            this.den[row][col] = value.getDenominator().longValue();
+            if (this.big[row] != null) {
+                this.big[row][col] = null;
+            }
+        } else {
+            if (this.big[row] == null) {
+                this.big[row] = new BigFraction[getColCount()];
+            }
+            if (this.big[row][col] == null) {
+                this.promotions.incrementAndGet();
+            }
+            this.big[row][col] = value;
+        }
+    }
+
+    @Override
+    int getPromotionCount() {
+        return this.promotions.get();
+    }
+
+    @Override
+    Fraction get(int row, int col) {
+        if (isBig(row, col)) {
+            return this.big[row][col].toFraction();
+        }
+        return Fraction.valueOf(this.num[row][col], this.den[row][col]);
+    }
+
+    @Override
+    BigFraction getBig(int row, int col) {
+        if (isBig(row, col)) {
+            return this.big[row][col];
+        }
+        return BigFraction.valueOf(this.num[row][col], this.den[row][col]);
+    }
+
+    @Override
+    int signum(int row, int col) {
+        if (isBig(row, col)) {
+            return this.big[row][col].signum();
+        }
+        return Long.signum(this.num[row][col]);
+    }
+
+    @Override
+    int compare(int row1, int col1, int row2, int col2) {
+        if (!isBig(row1, col1) && !isBig(row2, col2)) {
+            return Fraction.compare(this.num[row1][col1], this.den[row1][col1],
+                    this.num[row2][col2], this.den[row2][col2]);
+        }
+        return getBig(row1, col1).compareTo(getBig(row2, col2));
+    }
+
+    @Override
+    int compareRatios(int row1, int row2, int col) {
+        int rhs = getColCount() - 1;
+        if (!isBig(row1, rhs) && !isBig(row1, col) && !isBig(row2, rhs) && !isBig(row2, col)) {
+            try {
+                return LongTableau.compareRatios(this.num[row1][rhs], this.den[row1][rhs],
+                        this.num[row1][col], this.den[row1][col],
+                        this.num[row2][rhs], this.den[row2][rhs],
+                        this.num[row2][col], this.den[row2][col]);
+            } catch (ArithmeticException e) {
+                //Vergleich ueber BigFraction
+            }
+        }
+        return getBig(row1, rhs).divideBy(getBig(row1, col))
+                .compareTo(getBig(row2, rhs).divideBy(getBig(row2, col)));
+    }
+
+    @Override
+    void normalizeRow(int row, int col) {
+        long[] n = this.num[row];
+        long[] d = this.den[row];
+        boolean pivotBig = isBig(row, col);
+        BigFraction pivot = pivotBig ? this.big[row][col] : null;
+        long pn = n[col];
+        long pd = d[col];
+        for (int i = 0; i < getColCount(); i++) {
+            if (!pivotBig && !isBig(row, i)) {
+                try {
+                    LongTableau.divideInto(n, d, i, pn, pd);
+                    continue;
+                } catch (ArithmeticException e) {
+                    //Zelle als BigFraction weiterfuehren
+                }
+            }
+            if (pivot == null) {
+                pivot = BigFraction.valueOf(pn, pd);
+            }
+            store(row, i, getBig(row, i).divideBy(pivot));
+        }
+    }
+
+    @Override
+    void eliminateRow(int row, int pivotRow, int pivotCol) {
+        if (signum(row, pivotCol) == 0) {
+            return;
+        }
+        long[] n = this.num[row];
+        long[] d = this.den[row];
+        boolean factorBig = isBig(row, pivotCol);
+        BigFraction factor = factorBig ? this.big[row][pivotCol] : null;
+        long an = n[pivotCol];
+        long ad = d[pivotCol];
+        long[] pn = this.num[pivotRow];
+        long[] pd = this.den[pivotRow];
+        for (int col = 0; col < getColCount(); col++) {
+            if (!factorBig && !isBig(row, col) && !isBig(pivotRow, col)) {
+                try {
+                    LongTableau.subtractProductInto(n, d, col, an, ad, pn[col], pd[col]);
+                    continue;
+                } catch (ArithmeticException e) {
+                    //Zelle als BigFraction weiterfuehren
+                }
+            }
+            if (factor == null) {
+                factor = BigFraction.valueOf(an, ad);
+            }
+            store(row, col, getBig(row, col).subtract(factor.multiplyBy(getBig(pivotRow, col))));
+        }
+    }
+
+    @Override
+    void complementColumn(int col, Fraction bound) {
+        int rhs = getColCount() - 1;
+        for (int row = 0; row < getRowCount(); row++) {
+            if (signum(row, col) == 0) {
+                continue;
+            }
+            long[] n = this.num[row];
+            long[] d = this.den[row];
+            if (!isBig(row, col) && !isBig(row, rhs)) {
+                try {
+                    long negated = Math.negateExact(n[col]);
+                    LongTableau.subtractProductInto(n, d, rhs, n[col], d[col],
+                            bound.getNumerator(), bound.getDenominator());
+                    n[col] = negated;
+                    continue;
+                } catch (ArithmeticException e) {
+                    //Zellen als BigFraction weiterfuehren
+                }
+            }
+            BigFraction a = getBig(row, col);
+            store(row, rhs, getBig(row, rhs).subtract(a.multiplyBy(BigFraction.valueOf(bound))));
+            store(row, col, a.multiplyBy(BigFraction.MINUS_ONE));
+        }
+    }
+}
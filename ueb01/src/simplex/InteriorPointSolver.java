@@ -0,0 +1,566 @@
+package simplex;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Primal-duales Innere-Punkte-Verfahren (Prädiktor-Korrektor nach Mehrotra) in
+ * Gleitkommaarithmetik für große Probleme, bei denen der Simplex viele Schritte braucht. Jeder
+ * Schritt löst die Normalgleichungen A * D * A^T * dy = r über eine Cholesky-Zerlegung, die auf
+ * die Threads eines Pools verteilt werden kann (siehe
+ * {@link #setParallelFactorization(ForkJoinPool, int)}).
+ * <p>
+ * Die innere Lösung wird anschließend per Crossover in eine Basislösung überführt: Aus den
+ * Unbekannten und Schlupfvariablen mit den größten Werten wird eine Basis gewählt, mit der ein
+ * {@link SimplexSolver} warm startet und die verbleibenden (meist wenigen) Pivotschritte exakt
+ * ausführt. Ergebnis und Basis entsprechen daher denen des SimplexSolvers. Konvergiert das
+ * Verfahren nicht oder lässt sich keine Basis herstellen, rechnet der SimplexSolver vom
+ * Ausgangstableau aus. Probleme mit Schranken werden direkt dem SimplexSolver übergeben.
+ * <p>
+ * Die Variablen sind wie im Tableau des SimplexSolvers angeordnet: Unbekannte, dann je
+ * Restriktion eine Schlupfvariable (bei EQ-Restriktionen ohne Wirkung).
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class InteriorPointSolver {
+
+    /**
+     * Toleranz für Zulässigkeit und Dualitätslücke (relativ)
+     */
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * relativer Betrag, unterhalb dessen ein Pivotelement oder Eintrag als 0 gilt
+     */
+    private static final double EPSILON = 1e-12;
+
+    /**
+     * relativer Betrag, unterhalb dessen eine Spalte beim Crossover als linear abhängig von den
+     * bereits gewählten Basisspalten gilt
+     */
+    private static final double INDEPENDENCE_TOLERANCE = 1e-9;
+
+    /**
+     * Norm, ab der Primal- oder Dualvariablen als divergiert gelten
+     */
+    private static final double DIVERGENCE = 1e12;
+
+    /**
+     * maximale Anzahl an Schritten des Innere-Punkte-Verfahrens
+     */
+    private static final int MAX_ITERATIONS = 200;
+
+    /**
+     * Anteil der maximalen Schrittweite, der tatsächlich gegangen wird
+     */
+    private static final double STEP_FACTOR = 0.995;
+
+    /**
+     * Exponent der Zentrierungsheuristik nach Mehrotra: (affine Lücke / Lücke)^3
+     */
+    private static final int CENTERING_EXPONENT = 3;
+
+    /**
+     * zu lösendes Problem
+     */
+    private final LinearProgram lp;
+
+    /**
+     * Beginn jeder Spalte der Restriktionskoeffizienten (CSC-Format)
+     */
+    private final int[] colPointers;
+
+    /**
+     * Zeilenindices der von 0 verschiedenen Restriktionskoeffizienten
+     */
+    private final int[] rowIndices;
+
+    /**
+     * Werte der von 0 verschiedenen Restriktionskoeffizienten
+     */
+    private final double[] values;
+
+    /**
+     * rechte Seiten der Restriktionen
+     */
+    private final double[] rightSide;
+
+    /**
+     * Koeffizient der Schlupfvariablen je Restriktion (1 bei LE, -1 bei GE, 0 bei EQ)
+     */
+    private final double[] slackSign;
+
+    /**
+     * zu minimierende Kosten der Unbekannten und Schlupfvariablen
+     */
+    private final double[] cost;
+
+    /**
+     * Anzahl der Restriktionen
+     */
+    private final int numConstraints;
+
+    /**
+     * Anzahl der Unbekannten
+     */
+    private final int numUnknowns;
+
+    /**
+     * Pool für die parallele Zerlegung oder null für sequentielle Zerlegung
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Mindestanzahl an verbleibenden Zeilen, ab der parallel zerlegt wird
+     */
+    private int parallelThreshold;
+
+    /**
+     * Werte der Unbekannten und Schlupfvariablen der inneren Lösung oder null
+     */
+    private double[] interiorSolution;
+
+    /**
+     * Anzahl der Schritte des Innere-Punkte-Verfahrens
+     */
+    private int iterations;
+
+    /**
+     * Automat, der den Crossover ausgeführt hat
+     */
+    private SimplexSolver crossover;
+
+    /**
+     * Erstellt einen Automaten aus dem übergebenen linearen Optimierungsproblem.
+     *
+     * @param lp lineares Problem, das optimiert werden soll
+     * @pre lp != null
+     */
+    public InteriorPointSolver(LinearProgram lp) {
+        assert lp != null;
+        LinearProgram.Restriction[] restrictions = lp.getRestrictions();
+        this.lp = lp;
+        this.numConstraints = restrictions.length;
+        this.numUnknowns = lp.getObjectiveTerm().length;
+        SparseMatrix columns = lp.getConstraintMatrix().transpose();
+        this.colPointers = new int[this.numUnknowns + 1];
+        this.rowIndices = new int[columns.getNonZeroCount()];
+        this.values = new double[columns.getNonZeroCount()];
+        for (int col = 0; col < this.numUnknowns; col++) {
+            this.colPointers[col + 1] = columns.getRowEnd(col);
+            for (int pos = columns.getRowStart(col); pos < columns.getRowEnd(col); pos++) {
+                this.rowIndices[pos] = columns.getColIndex(pos);
+                this.values[pos] = columns.getValue(pos).getAsFPN();
+            }
+        }
+        this.rightSide = new double[this.numConstraints];
+        this.slackSign = new double[this.numConstraints];
+        for (int row = 0; row < this.numConstraints; row++) {
+            this.rightSide[row] = restrictions[row].getRightSide().getAsFPN();
+            switch (restrictions[row].getType()) {
+                case LE:
+                    this.slackSign[row] = 1;
+                    break;
+                case GE:
+                    this.slackSign[row] = -1;
+                    break;
+                default:
+                    this.slackSign[row] = 0;
+                    break;
+            }
+        }
+        //intern wird stets minimiert
+        this.cost = new double[this.numUnknowns + this.numConstraints];
+        for (int col = 0; col < this.numUnknowns; col++) {
+            this.cost[col] = lp.getObjectiveTerm()[col].getAsFPN();
+            if (lp.getSolveType() == LinearProgram.SolveType.MAX) {
+                this.cost[col] = -this.cost[col];
+            }
+        }
+    }
+
+    /**
+     * Verteilt die Cholesky-Zerlegung der Normalgleichungen auf die Threads des übergebenen
+     * Pools, solange noch mindestens threshold Zeilen zu aktualisieren sind. Die Ergebnisse sind
+     * in beiden Fällen identisch.
+     *
+     * @param pool      zu nutzender Pool oder null, um wieder sequentiell zu zerlegen
+     * @param threshold Mindestanzahl an verbleibenden Zeilen für die parallele Zerlegung
+     * @pre threshold &ge; 0
+     */
+    public void setParallelFactorization(ForkJoinPool pool, int threshold) {
+        assert threshold >= 0;
+        this.pool = pool;
+        this.parallelThreshold = threshold;
+    }
+
+    /**
+     * Löst das Problem mit dem Innere-Punkte-Verfahren und anschließendem Crossover.
+     *
+     * @return optimale Koeffizienten und Wert der Zielfunktion (in gegebener Reihenfolge, also x1,
+     * x2, ..., xn, z) oder null, wenn unlösbar
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
+     */
+    public Fraction[] solve() {
+        return this.prepareCrossover().solve();
+    }
+
+    /**
+     * Löst das Problem wie {@link #solve()}, gibt das Ergebnis aber in beliebiger Genauigkeit
+     * zurück.
+     *
+     * @return optimale Koeffizienten und Wert der Zielfunktion (x1, x2, ..., xn, z) oder null,
+     * wenn unlösbar
+     */
+    public BigFraction[] solveBig() {
+        return this.prepareCrossover().solveBig();
+    }
+
+    /**
+     * Führt das Innere-Punkte-Verfahren aus und legt den Automaten für den Crossover an.
+     *
+     * @return Automat, der von der gewählten Basis oder vom Ausgangstableau aus startet
+     */
+    private SimplexSolver prepareCrossover() {
+        this.iterations = 0;
+        this.interiorSolution = null;
+        int[] startBase = null;
+        if (!this.lp.hasBounds() && this.numConstraints > 0 && this.interiorPoint()) {
+            startBase = this.selectBase();
+        }
+        this.crossover = startBase == null ? new SimplexSolver(this.lp)
+                : new SimplexSolver(this.lp, startBase);
+        return this.crossover;
+    }
+
+    /**
+     * Gibt eine Referenz auf die Indices der Basisvariablen der Lösung zurück, wie sie
+     * {@link SimplexSolver#getBaseVars()} liefert.
+     *
+     * @return Referenz auf die Indices der Basisvariablen
+     * @pre solve() wurde aufgerufen
+     */
+    public int[] getBaseVars() {
+        assert this.crossover != null;
+        return this.crossover.getBaseVars();
+    }
+
+    /**
+     * Gibt das Ergebnis des letzten Lösungsvorgangs zurück.
+     *
+     * @return Ergebnis des Crossovers, NOT_SOLVED vor dem ersten Lösungsvorgang
+     */
+    public SolverStatus getStatus() {
+        return this.crossover == null ? SolverStatus.NOT_SOLVED : this.crossover.getStatus();
+    }
+
+    /**
+     * @return Werte der Unbekannten und Schlupfvariablen der inneren Lösung (Länge n + m) oder
+     * null, wenn das Verfahren nicht konvergiert ist
+     */
+    public double[] getInteriorSolution() {
+        return this.interiorSolution;
+    }
+
+    /**
+     * @return Anzahl der Schritte des Innere-Punkte-Verfahrens im letzten Lösungsvorgang
+     */
+    public int getIterationCount() {
+        return this.iterations;
+    }
+
+    /**
+     * @return Anzahl der Pivotschritte des Crossovers im letzten Lösungsvorgang
+     * @pre solve() wurde aufgerufen
+     */
+    public int getCrossoverIterationCount() {
+        assert this.crossover != null;
+        return this.crossover.getIterationCount();
+    }
+
+    /**
+     * @return true, wenn der Crossover von der gewählten Basis aus gerechnet hat
+     * @pre solve() wurde aufgerufen
+     */
+    public boolean isCrossoverWarmStarted() {
+        assert this.crossover != null;
+        return this.crossover.isWarmStarted();
+    }
+
+    /**
+     * Führt Prädiktor-Korrektor-Schritte von einem unzulässigen Startpunkt aus, bis primale und
+     * duale Zulässigkeit sowie die Dualitätslücke innerhalb der Toleranz liegen.
+     *
+     * @return true, wenn das Verfahren konvergiert ist
+     */
+    private boolean interiorPoint() {
+        int size = this.numUnknowns + this.numConstraints;
+        double[] x = new double[size];
+        double[] z = new double[size];
+        double[] y = new double[this.numConstraints];
+        int active = 0;
+        for (int var = 0; var < size; var++) {
+            if (isActive(var)) {
+                x[var] = 1;
+                z[var] = 1;
+                active++;
+            }
+        }
+        double normB = 1 + norm(this.rightSide);
+        double normC = 1 + norm(this.cost);
+        double[] rp = new double[this.numConstraints];
+        double[] rd = new double[size];
+        double[] d = new double[size];
+        double[] rc = new double[size];
+        double[] dx = new double[size];
+        double[] dz = new double[size];
+        double[] dy = new double[this.numConstraints];
+        double[] dxAff = new double[size];
+        double[] dzAff = new double[size];
+        for (this.iterations = 0; this.iterations < MAX_ITERATIONS; this.iterations++) {
+            //Residuen rp = b - A x und rd = c - A^T y - z
+            System.arraycopy(this.rightSide, 0, rp, 0, this.numConstraints);
+            double gap = 0;
+            double cx = 0;
+            for (int var = 0; var < size; var++) {
+                if (isActive(var)) {
+                    addColumn(rp, var, -x[var]);
+                    rd[var] = this.cost[var] - dot(y, var) - z[var];
+                    gap += x[var] * z[var];
+                    cx += this.cost[var] * x[var];
+                }
+            }
+            if (norm(rp) <= TOLERANCE * normB && norm(rd) <= TOLERANCE * normC
+                    && gap <= TOLERANCE * (1 + Math.abs(cx))) {
+                this.interiorSolution = x;
+                return true;
+            }
+            if (norm(x) > DIVERGENCE || norm(y) > DIVERGENCE) {
+                return false;
+            }
+            double mu = gap / active;
+            for (int var = 0; var < size; var++) {
+                d[var] = isActive(var) ? x[var] / z[var] : 0;
+            }
+            CholeskyDecomposition normal = factorize(d);
+
+            //Praediktor: affine Richtung ohne Zentrierung
+            for (int var = 0; var < size; var++) {
+                rc[var] = -x[var] * z[var];
+            }
+            direction(normal, x, z, d, rp, rd, rc, dxAff, dy, dzAff);
+            double alphaP = Math.min(1, maxStep(x, dxAff));
+            double alphaD = Math.min(1, maxStep(z, dzAff));
+            double gapAff = 0;
+            for (int var = 0; var < size; var++) {
+                gapAff += (x[var] + alphaP * dxAff[var]) * (z[var] + alphaD * dzAff[var]);
+            }
+            double sigma = Math.pow(gapAff / gap, CENTERING_EXPONENT);
+
+            //Korrektor mit Zentrierung und Ausgleich des Terms zweiter Ordnung
+            for (int var = 0; var < size; var++) {
+                rc[var] = isActive(var)
+                        ? sigma * mu - x[var] * z[var] - dxAff[var] * dzAff[var] : 0;
+            }
+            direction(normal, x, z, d, rp, rd, rc, dx, dy, dz);
+            alphaP = Math.min(1, STEP_FACTOR * maxStep(x, dx));
+            alphaD = Math.min(1, STEP_FACTOR * maxStep(z, dz));
+            for (int var = 0; var < size; var++) {
+                x[var] += alphaP * dx[var];
+                z[var] += alphaD * dz[var];
+            }
+            for (int row = 0; row < this.numConstraints; row++) {
+                y[row] += alphaD * dy[row];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stellt die Normalgleichungsmatrix A * D * A^T auf und zerlegt sie.
+     *
+     * @param d Diagonale von D
+     * @return Zerlegung der Normalgleichungsmatrix
+     */
+    private CholeskyDecomposition factorize(double[] d) {
+        double[][] normal = new double[this.numConstraints][this.numConstraints];
+        //Summe der d-gewichteten aeusseren Produkte der Spalten, nur unteres Dreieck
+        for (int col = 0; col < this.numUnknowns; col++) {
+            if (d[col] != 0) {
+                for (int p = this.colPointers[col]; p < this.colPointers[col + 1]; p++) {
+                    double scaled = d[col] * this.values[p];
+                    double[] row = normal[this.rowIndices[p]];
+                    for (int q = this.colPointers[col]; q <= p; q++) {
+                        row[this.rowIndices[q]] += scaled * this.values[q];
+                    }
+                }
+            }
+        }
+        for (int row = 0; row < this.numConstraints; row++) {
+            normal[row][row] += d[this.numUnknowns + row];
+        }
+        return new CholeskyDecomposition(normal, EPSILON, this.pool, this.parallelThreshold);
+    }
+
+    /**
+     * Berechnet eine Suchrichtung aus A dx = rp, A^T dy + dz = rd und Z dx + X dz = rc über
+     * (A D A^T) dy = rp - A Z^-1 rc + A D rd mit D = X Z^-1.
+     *
+     * @param normal zerlegte Normalgleichungsmatrix
+     * @param x      Primalvariablen
+     * @param z      duale Schlupfvariablen
+     * @param d      Diagonale von D
+     * @param rp     primales Residuum
+     * @param rd     duales Residuum
+     * @param rc     Residuum der Komplementarität
+     * @param dx     Richtung der Primalvariablen (Ausgabe)
+     * @param dy     Richtung der Dualvariablen (Ausgabe)
+     * @param dz     Richtung der dualen Schlupfvariablen (Ausgabe)
+     */
+    private void direction(CholeskyDecomposition normal, double[] x, double[] z, double[] d,
+            double[] rp, double[] rd, double[] rc, double[] dx, double[] dy, double[] dz) {
+        System.arraycopy(rp, 0, dy, 0, this.numConstraints);
+        for (int var = 0; var < x.length; var++) {
+            if (isActive(var)) {
+                addColumn(dy, var, d[var] * rd[var] - rc[var] / z[var]);
+            }
+        }
+        normal.solve(dy);
+        for (int var = 0; var < x.length; var++) {
+            if (isActive(var)) {
+                dz[var] = rd[var] - dot(dy, var);
+                dx[var] = (rc[var] - x[var] * dz[var]) / z[var];
+            } else {
+                dz[var] = 0;
+                dx[var] = 0;
+            }
+        }
+    }
+
+    /**
+     * Wählt eine Basis für den Crossover: Die Variablen werden absteigend nach ihrem Wert in der
+     * inneren Lösung geordnet und der Reihe nach übernommen, solange ihre Spalten linear
+     * unabhängig von den bereits gewählten sind.
+     *
+     * @return Indices der Basisvariablen je Restriktion oder null, wenn keine vollständige Basis
+     * gefunden wurde
+     */
+    private int[] selectBase() {
+        double[] x = this.interiorSolution;
+        int size = x.length;
+        Integer[] order = new Integer[size];
+        for (int var = 0; var < size; var++) {
+            order[var] = var;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer var) -> -x[var]));
+        double[][] pivots = new double[this.numConstraints][];
+        int[] pivotRows = new int[this.numConstraints];
+        boolean[] usedRows = new boolean[this.numConstraints];
+        int[] base = new int[this.numConstraints];
+        int count = 0;
+        for (int k = 0; k < size && count < this.numConstraints; k++) {
+            int var = order[k];
+            if (!isActive(var)) {
+                continue;
+            }
+            double[] column = new double[this.numConstraints];
+            addColumn(column, var, 1);
+            double scale = norm(column);
+            for (int p = 0; p < count; p++) {
+                double factor = column[pivotRows[p]] / pivots[p][pivotRows[p]];
+                if (factor != 0) {
+                    for (int row = 0; row < this.numConstraints; row++) {
+                        column[row] -= factor * pivots[p][row];
+                    }
+                }
+            }
+            int pivotRow = -1;
+            for (int row = 0; row < this.numConstraints; row++) {
+                if (!usedRows[row] && (pivotRow < 0
+                        || Math.abs(column[row]) > Math.abs(column[pivotRow]))) {
+                    pivotRow = row;
+                }
+            }
+            if (pivotRow >= 0 && Math.abs(column[pivotRow]) > INDEPENDENCE_TOLERANCE * scale) {
+                pivots[count] = column;
+                pivotRows[count] = pivotRow;
+                usedRows[pivotRow] = true;
+                base[count] = var;
+                count++;
+            }
+        }
+        return count == this.numConstraints ? base : null;
+    }
+
+    /**
+     * @param var Index der Variablen
+     * @return true, wenn die Variable eine Unbekannte oder wirksame Schlupfvariable ist
+     */
+    private boolean isActive(int var) {
+        return var < this.numUnknowns || this.slackSign[var - this.numUnknowns] != 0;
+    }
+
+    /**
+     * Addiert das factor-fache der Spalte einer Variablen auf einen Vektor.
+     *
+     * @param v      Vektor der Länge numConstraints
+     * @param var    Index der Variablen
+     * @param factor Faktor
+     */
+    private void addColumn(double[] v, int var, double factor) {
+        if (var < this.numUnknowns) {
+            for (int p = this.colPointers[var]; p < this.colPointers[var + 1]; p++) {
+                v[this.rowIndices[p]] += factor * this.values[p];
+            }
+        } else {
+            v[var - this.numUnknowns] += factor * this.slackSign[var - this.numUnknowns];
+        }
+    }
+
+    /**
+     * Berechnet das Skalarprodukt eines Vektors mit der Spalte einer Variablen.
+     *
+     * @param v   Vektor der Länge numConstraints
+     * @param var Index der Variablen
+     * @return v * a_var
+     */
+    private double dot(double[] v, int var) {
+        if (var >= this.numUnknowns) {
+            return v[var - this.numUnknowns] * this.slackSign[var - this.numUnknowns];
+        }
+        double sum = 0;
+        for (int p = this.colPointers[var]; p < this.colPointers[var + 1]; p++) {
+            sum += v[this.rowIndices[p]] * this.values[p];
+        }
+        return sum;
+    }
+
+    /**
+     * @param v Vektor
+     * @return euklidische Norm des Vektors
+     */
+    private static double norm(double[] v) {
+        double sum = 0;
+        for (double value : v) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * @param v  positiver Vektor
+     * @param dv Richtung
+     * @return größte Schrittweite, bei der v + alpha * dv nicht-negativ bleibt, unendlich, wenn
+     * kein Eintrag von dv negativ ist
+     */
+    private static double maxStep(double[] v, double[] dv) {
+        double alpha = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < v.length; i++) {
+            if (dv[i] < 0) {
+                alpha = Math.min(alpha, -v[i] / dv[i]);
+            }
+        }
+        return alpha;
+    }
+}
@@ -0,0 +1,121 @@
+package simplex;
+
+/**
+ * LU-Zerlegung einer quadratischen double-Matrix mit Spaltenpivotisierung (P * A = L * U).
+ * L (mit Einsen auf der Diagonalen) und U werden gemeinsam in einer Matrix gespeichert.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+class LUDecomposition {
+
+    /**
+     * L unterhalb und U auf und oberhalb der Diagonalen
+     */
+    private final double[][] lu;
+
+    /**
+     * Zeilenvertauschungen: Zeile i von P * A ist Zeile perm[i] von A
+     */
+    private final int[] perm;
+
+    /**
+     * Zerlegt die übergebene Matrix. Die Matrix wird dabei überschrieben.
+     *
+     * @param matrix zu zerlegende quadratische Matrix
+     * @param epsilon Betrag, unterhalb dessen ein Pivotelement als 0 gilt
+     * @throws ArithmeticException wenn die Matrix (numerisch) singulär ist
+     * @pre matrix != null und quadratisch
+     */
+    LUDecomposition(double[][] matrix, double epsilon) {
+        assert matrix != null;
+        int size = matrix.length;
+        this.lu = matrix;
+        this.perm = new int[size];
+        for (int i = 0; i < size; i++) {
+            this.perm[i] = i;
+        }
+        for (int k = 0; k < size; k++) {
+            //betragsgroesstes Element der Spalte als Pivot
+            int pivot = k;
+            for (int i = k + 1; i < size; i++) {
+                if (Math.abs(this.lu[i][k]) > Math.abs(this.lu[pivot][k])) {
+                    pivot = i;
+                }
+            }
+            if (Math.abs(this.lu[pivot][k]) <= epsilon) {
+                throw new ArithmeticException("Basis ist singulaer");
+            }
+            if (pivot != k) {
+                double[] tmpRow = this.lu[k];
+                this.lu[k] = this.lu[pivot];
+                this.lu[pivot] = tmpRow;
+                int tmp = this.perm[k];
+                this.perm[k] = this.perm[pivot];
+                this.perm[pivot] = tmp;
+            }
+            double[] pivotRow = this.lu[k];
+            for (int i = k + 1; i < size; i++) {
+                double[] row = this.lu[i];
+                if (row[k] != 0) {
+                    row[k] /= pivotRow[k];
+                    DoubleKernel.axpy(-row[k], pivotRow, k + 1, row, k + 1, size - k - 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Löst A * x = b.
+     *
+     * @param b rechte Seite, wird mit der Lösung x überschrieben
+     * @pre b.length entspricht der Größe der Matrix
+     */
+    void solve(double[] b) {
+        int size = this.perm.length;
+        double[] x = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = b[this.perm[i]];
+        }
+        //Vorwaertseinsetzen mit L
+        for (int i = 0; i < size; i++) {
+            x[i] -= DoubleKernel.dot(this.lu[i], 0, x, 0, i);
+        }
+        //Rueckwaertseinsetzen mit U
+        for (int i = size - 1; i >= 0; i--) {
+            double[] row = this.lu[i];
+            x[i] = (x[i] - DoubleKernel.dot(row, i + 1, x, i + 1, size - i - 1)) / row[i];
+        }
+        System.arraycopy(x, 0, b, 0, size);
+    }
+
+    /**
+     * Löst A^T * y = c.
+     *
+     * @param c rechte Seite, wird mit der Lösung y überschrieben
+     * @pre c.length entspricht der Größe der Matrix
+     */
+    void solveTranspose(double[] c) {
+        int size = this.perm.length;
+        double[] z = c.clone();
+        //U^T * w = c
+        for (int i = 0; i < size; i++) {
+            double sum = z[i];
+            for (int j = 0; j < i; j++) {
+                sum -= this.lu[j][i] * z[j];
+            }
+            z[i] = sum / this.lu[i][i];
+        }
+        //L^T * v = w
+        for (int i = size - 1; i >= 0; i--) {
+            double sum = z[i];
+            for (int j = i + 1; j < size; j++) {
+                sum -= this.lu[j][i] * z[j];
+            }
+            z[i] = sum;
+        }
+        //y = P^T * v
+        for (int i = 0; i < size; i++) {
+            c[this.perm[i]] = z[i];
+        }
+    }
+}
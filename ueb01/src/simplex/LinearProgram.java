@@ -1,10 +1,10 @@
 package simplex;
 
+import java.util.Arrays;
+
 /**
  * Ein lineares Optimierungproblem
  * 
- * Diese Klasse ist komplett vorgegeben und darf nicht verändert werden.
- * 
  * @author kar, mhe
  *
  */
@@ -25,8 +25,22 @@ public class LinearProgram {
             GE
         };
 
-        /** Koeffizienten des Terms (der linken Seite der Restriktion) */
-        private final Fraction[] term;
+        /**
+         * Koeffizienten des Terms (der linken Seite der Restriktion); bei dünnbesetzt angelegten
+         * Restriktionen erst beim ersten Aufruf von getTerm erzeugt. volatile, da Restriktionen
+         * von Kopien des Problems geteilt und z.B. im BranchAndBoundSolver aus mehreren Threads
+         * gelesen werden; ein vollständig gefüllter Term wird so sicher veröffentlicht.
+         */
+        private volatile Fraction[] term;
+
+        /** Anzahl der Koeffizienten des Terms */
+        private final int length;
+
+        /** Indices der von 0 verschiedenen Koeffizienten oder null bei dichter Darstellung */
+        private final int[] indices;
+
+        /** Werte der von 0 verschiedenen Koeffizienten oder null bei dichter Darstellung */
+        private final Fraction[] values;
 
         /** Typ der Restriktion (&le;, = oder &ge;) */
         private final Type type;
@@ -51,9 +65,43 @@ public class LinearProgram {
             assert term.length >= 1;
             assert type != null;
             assert rightSide != null;
-            assert rightSide.compareTo(Fraction.ZERO) >= 0;
+            assert rightSide.signum() >= 0;
 
             this.term = term;
+            this.length = term.length;
+            this.indices = null;
+            this.values = null;
+            this.type = type;
+            this.rightSide = rightSide;
+        }
+
+        /**
+         * Konstruktor für dünnbesetzte Terme. Angegeben werden nur die von 0 verschiedenen
+         * Koeffizienten, der dichte Term wird erst bei Bedarf erzeugt.
+         * 
+         * @param length Anzahl der Koeffizienten des Terms
+         * @param indices Indices der angegebenen Koeffizienten, aufsteigend sortiert
+         * @param values Werte der angegebenen Koeffizienten
+         * @param type zu nutzender Restriktionstyp
+         * @param rightSide zu nutzender Wert der rechten Seite der Restriktion
+         * @pre length &ge; 1
+         * @pre indices != null und values != null und gleich lang
+         * @pre alle indices liegen aufsteigend sortiert in [0, length)
+         * @pre type != null
+         * @pre rightSide != null
+         * @pre rightSide ist nicht negativ
+         */
+        public Restriction(int length, int[] indices, Fraction[] values, Type type,
+                Fraction rightSide) {
+            assert length >= 1;
+            assert indices != null && values != null && indices.length == values.length;
+            assert type != null;
+            assert rightSide != null;
+            assert rightSide.signum() >= 0;
+
+            this.length = length;
+            this.indices = indices;
+            this.values = values;
             this.type = type;
             this.rightSide = rightSide;
         }
@@ -62,7 +110,41 @@ public class LinearProgram {
          * @return Koeffizienten des Restriktions-Terms
          */
         public Fraction[] getTerm() {
-            return term;
+            Fraction[] dense = term;
+            if (dense == null) {
+                //bei gleichzeitigem Aufruf entstehen allenfalls gleiche Terme mehrfach
+                dense = new Fraction[length];
+                Arrays.fill(dense, Fraction.ZERO);
+                for (int i = 0; i < indices.length; i++) {
+                    dense[indices[i]] = values[i];
+                }
+                term = dense;
+            }
+            return dense;
+        }
+
+        /**
+         * @return Anzahl der Koeffizienten des Restriktions-Terms
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * Fügt die von 0 verschiedenen Koeffizienten als Zeile row zu einer Matrix hinzu, ohne
+         * den dichten Term zu erzeugen.
+         * 
+         * @param builder Builder der Matrix
+         * @param row Index der Zeile
+         */
+        void addTo(SparseMatrix.Builder builder, int row) {
+            if (indices == null) {
+                builder.addRow(row, term);
+            } else {
+                for (int i = 0; i < indices.length; i++) {
+                    builder.add(row, indices[i], values[i]);
+                }
+            }
         }
 
         /**
@@ -100,6 +182,24 @@ public class LinearProgram {
     /** Optimierungsrichtung */
     private final SolveType solveType;
 
+    /** Speicherform des Tableaus, mit der das Problem gelöst werden soll */
+    private final TableauType tableauType;
+
+    /**
+     * Koeffizienten aller Restriktionen als dünnbesetzte Matrix, erst bei Bedarf erzeugt; volatile
+     * wie {@link Restriction#getTerm()}, da Kopien des Problems aus mehreren Threads gelöst werden
+     */
+    private volatile SparseMatrix constraintMatrix;
+
+    /** untere Schranken der Unbekannten oder null, wenn alle Unbekannten nur &ge; 0 sind */
+    private Fraction[] lowerBounds;
+
+    /** obere Schranken der Unbekannten (null für unbeschränkt) oder null, wenn es keine gibt */
+    private Fraction[] upperBounds;
+
+    /** true für jede ganzzahlige Unbekannte oder null, wenn alle Unbekannten stetig sind */
+    private boolean[] integer;
+
     /**
      * Konstruktor.
      * 
@@ -110,21 +210,153 @@ public class LinearProgram {
      * @pre objectiveTerm != null
      * @pre objectiveTerm hat mindestens einen Koeffizienten
      * @pre alle restrictions haben genau so viele Koeffizienten wie objectiveTerm
-     * @pre es gibt mindestens so viele restrictions wie objectiveTerm Koeffizienten hat
      */
     public LinearProgram(Restriction[] restrictions, SolveType solveType,
             Fraction... objectiveTerm) {
+        this(restrictions, solveType, TableauType.FRACTION, objectiveTerm);
+    }
+
+    /**
+     * Konstruktor mit Angabe der Speicherform des Tableaus, z.B. TableauType.HYBRID für Probleme,
+     * deren Brüche während des Lösens über den Wertebereich von long hinauswachsen.
+     * 
+     * @param restrictions zu nutzende Restriktionen
+     * @param solveType zu nutzende Optimierungsrichtung
+     * @param tableauType zu nutzende Speicherform des Tableaus
+     * @param objectiveTerm zu nutzende Koeffizienten der Zielfunktion
+     * @pre restrictions != null
+     * @pre tableauType != null
+     * @pre objectiveTerm != null
+     * @pre objectiveTerm hat mindestens einen Koeffizienten
+     * @pre alle restrictions haben genau so viele Koeffizienten wie objectiveTerm
+     */
+    public LinearProgram(Restriction[] restrictions, SolveType solveType,
+            TableauType tableauType, Fraction... objectiveTerm) {
         assert restrictions != null;
+        assert tableauType != null;
         assert objectiveTerm != null;
         assert objectiveTerm.length >= 1;
         assert correctLength(objectiveTerm.length, restrictions);
-        assert restrictions.length >= objectiveTerm.length;
         
         this.restrictions = restrictions;
         this.solveType = solveType;
+        this.tableauType = tableauType;
         this.objectiveTerm = objectiveTerm;
     }
 
+    /**
+     * Konstruktor für dünnbesetzte Probleme. Die Zeilen der Matrix bilden die Terme der
+     * Restriktionen; es wird keine dichte Darstellung angelegt.
+     * 
+     * @param constraintMatrix Koeffizienten der Restriktionen, eine Zeile je Restriktion
+     * @param types Restriktionstypen, einer je Zeile
+     * @param rightSides Werte der rechten Seiten, einer je Zeile
+     * @param solveType zu nutzende Optimierungsrichtung
+     * @param tableauType zu nutzende Speicherform des Tableaus
+     * @param objectiveTerm zu nutzende Koeffizienten der Zielfunktion
+     * @pre constraintMatrix != null
+     * @pre types und rightSides haben je eine Komponente pro Zeile von constraintMatrix
+     * @pre constraintMatrix hat genau so viele Spalten wie objectiveTerm Koeffizienten
+     * @pre tableauType != null
+     */
+    public LinearProgram(SparseMatrix constraintMatrix, Restriction.Type[] types,
+            Fraction[] rightSides, SolveType solveType, TableauType tableauType,
+            Fraction... objectiveTerm) {
+        this(toRestrictions(constraintMatrix, types, rightSides), solveType, tableauType,
+                objectiveTerm);
+        this.constraintMatrix = constraintMatrix;
+    }
+
+    /**
+     * Gibt eine Kopie dieses Problems zurück, deren Unbekannte zusätzlich durch Schranken
+     * l &le; x &le; u beschränkt sind. Anders als Restriktionen kosten Schranken im Tableau keine
+     * eigene Zeile, sondern werden vom SimplexSolver direkt beim Pivotisieren berücksichtigt.
+     *
+     * @param lower untere Schranken je Unbekannter oder null für 0
+     * @param upper obere Schranken je Unbekannter, null-Einträge für unbeschränkte Unbekannte,
+     *              oder null, wenn keine Unbekannte nach oben beschränkt ist
+     * @return Problem mit Schranken
+     * @pre lower == null oder lower hat je Unbekannter eine nicht negative Komponente
+     * @pre upper == null oder upper hat je Unbekannter eine Komponente
+     */
+    public LinearProgram withBounds(Fraction[] lower, Fraction[] upper) {
+        assert lower == null || lower.length == this.objectiveTerm.length;
+        assert upper == null || upper.length == this.objectiveTerm.length;
+        LinearProgram result = copy();
+        result.lowerBounds = null;
+        if (lower != null) {
+            for (Fraction bound : lower) {
+                assert bound != null && bound.signum() >= 0;
+            }
+            result.lowerBounds = lower.clone();
+        }
+        result.upperBounds = upper == null ? null : upper.clone();
+        return result;
+    }
+
+    /**
+     * Gibt eine Kopie dieses Problems zurück, in der die angegebenen Unbekannten nur ganzzahlige
+     * Werte annehmen dürfen. Der SimplexSolver löst weiterhin nur die stetige Relaxation, erst
+     * der {@link BranchAndBoundSolver} beachtet die Ganzzahligkeit.
+     *
+     * @param cols Indices der ganzzahligen Unbekannten
+     * @return Problem mit ganzzahligen Unbekannten
+     * @pre alle cols liegen in [0, Anzahl der Unbekannten)
+     */
+    public LinearProgram withIntegerVariables(int... cols) {
+        LinearProgram result = copy();
+        result.integer = new boolean[this.objectiveTerm.length];
+        for (int col : cols) {
+            assert col >= 0 && col < this.objectiveTerm.length;
+            result.integer[col] = true;
+        }
+        return result;
+    }
+
+    /**
+     * @return Kopie dieses Problems mit denselben Schranken und ganzzahligen Unbekannten
+     */
+    private LinearProgram copy() {
+        LinearProgram result = new LinearProgram(this.restrictions, this.solveType,
+                this.tableauType, this.objectiveTerm);
+        result.constraintMatrix = this.constraintMatrix;
+        result.lowerBounds = this.lowerBounds;
+        result.upperBounds = this.upperBounds;
+        result.integer = this.integer;
+        return result;
+    }
+
+    /**
+     * @param col Index der Unbekannten
+     * @return true, wenn die Unbekannte nur ganzzahlige Werte annehmen darf
+     */
+    public boolean isInteger(int col) {
+        return this.integer != null && this.integer[col];
+    }
+
+    /**
+     * @return true, wenn mindestens eine Unbekannte eine Schranke außer x &ge; 0 hat
+     */
+    public boolean hasBounds() {
+        return this.lowerBounds != null || this.upperBounds != null;
+    }
+
+    /**
+     * @param col Index der Unbekannten
+     * @return untere Schranke der Unbekannten
+     */
+    public Fraction getLowerBound(int col) {
+        return this.lowerBounds == null ? Fraction.ZERO : this.lowerBounds[col];
+    }
+
+    /**
+     * @param col Index der Unbekannten
+     * @return obere Schranke der Unbekannten oder null, wenn sie nach oben unbeschränkt ist
+     */
+    public Fraction getUpperBound(int col) {
+        return this.upperBounds == null ? null : this.upperBounds[col];
+    }
+
     /**
      * @return die Restriktionen
      */
@@ -132,6 +364,18 @@ public class LinearProgram {
         return restrictions;
     }
 
+    /**
+     * @return die Koeffizienten aller Restriktionen als dünnbesetzte Matrix
+     */
+    public SparseMatrix getConstraintMatrix() {
+        SparseMatrix matrix = constraintMatrix;
+        if (matrix == null) {
+            matrix = SparseMatrix.of(restrictions, objectiveTerm.length);
+            constraintMatrix = matrix;
+        }
+        return matrix;
+    }
+
     /**
      * @return die Optimierungsrichtung
      */
@@ -139,6 +383,13 @@ public class LinearProgram {
         return solveType;
     }
 
+    /**
+     * @return die Speicherform des Tableaus, mit der das Problem gelöst werden soll
+     */
+    public TableauType getTableauType() {
+        return tableauType;
+    }
+
     /**
      * @return die Koeffizienten der Zielfunktion
      */
@@ -155,11 +406,39 @@ public class LinearProgram {
      */
     private static boolean correctLength(int length, Restriction[] restrictions) {
         for (Restriction r : restrictions) {
-            if (r.term.length != length) {
+            if (r.length != length) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Erzeugt dünnbesetzte Restriktionen aus den Zeilen einer Matrix.
+     * 
+     * @param matrix Koeffizienten der Restriktionen
+     * @param types Restriktionstypen
+     * @param rightSides Werte der rechten Seiten
+     * @return eine Restriktion je Zeile
+     */
+    private static Restriction[] toRestrictions(SparseMatrix matrix, Restriction.Type[] types,
+            Fraction[] rightSides) {
+        assert matrix != null;
+        assert types != null && types.length == matrix.getRowCount();
+        assert rightSides != null && rightSides.length == matrix.getRowCount();
+        Restriction[] result = new Restriction[matrix.getRowCount()];
+        for (int row = 0; row < result.length; row++) {
+            int start = matrix.getRowStart(row);
+            int[] indices = new int[matrix.getRowEnd(row) - start];
+            Fraction[] values = new Fraction[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = matrix.getColIndex(start + i);
+                values[i] = matrix.getValue(start + i);
+            }
+            result[row] = new Restriction(matrix.getColCount(), indices, values, types[row],
+                    rightSides[row]);
+        }
+        return result;
+    }
+
 }
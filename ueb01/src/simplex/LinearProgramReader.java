@@ -0,0 +1,889 @@
+package simplex;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+
+/**
+ * Liest lineare Optimierungsprobleme aus Modelldateien im MPS- oder CPLEX-LP-Format. Die Datei
+ * wird zeilenweise in einem Durchgang gelesen; Koeffizienten gehen direkt in eine dünnbesetzte
+ * Matrix, sodass weder der Text noch dichte Terme im Speicher gehalten werden. Das Ergebnis ist
+ * ein dünnbesetzt angelegtes {@link LinearProgram}, ggf. mit Schranken und ganzzahligen
+ * Unbekannten.
+ * <p>
+ * Da alle Unbekannten nicht negativ sein müssen, werden freie Unbekannte und negative untere
+ * Schranken ebenso abgelehnt wie Bereichsrestriktionen (RANGES) und konstante Anteile der
+ * Zielfunktion. Zahlen werden exakt als Fraction übernommen.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public final class LinearProgramReader {
+
+    /**
+     * Anzahl der Tokens einer Zeile im Abschnitt COLUMNS mit einem Eintrag (Spalte Zeile Wert)
+     */
+    private static final int COLUMN_ENTRY_TOKENS = 3;
+
+    /**
+     * Anzahl der Tokens einer Zeile im Abschnitt COLUMNS mit zwei Einträgen
+     */
+    private static final int COLUMN_PAIR_TOKENS = 5;
+
+    /**
+     * Anzahl der Tokens einer Schranke mit Wert, aber ohne Namen des Vektors (Typ Spalte Wert)
+     */
+    private static final int BOUND_TOKENS = 3;
+
+    /**
+     * Anzahl der Tokens einer rechten Seite mit Vorzeichen (Operator Vorzeichen Zahl)
+     */
+    private static final int SIGNED_RIGHT_SIDE_TOKENS = 3;
+
+    /**
+     * Abschnitte einer LP-Datei
+     */
+    private enum LpSection {
+        /** vor dem ersten Abschnitt */
+        NONE,
+        /** Zielfunktion */
+        OBJECTIVE,
+        /** Restriktionen */
+        CONSTRAINTS,
+        /** Schranken */
+        BOUNDS,
+        /** ganzzahlige Unbekannte */
+        GENERAL,
+        /** binäre Unbekannte */
+        BINARY,
+        /** nach END */
+        END
+    }
+
+    /**
+     * Indices der Restriktionen nach Namen
+     */
+    private final Map<String, Integer> rowIndex = new HashMap<>();
+
+    /**
+     * Typen der Restriktionen
+     */
+    private final List<Type> types = new ArrayList<>();
+
+    /**
+     * rechte Seiten der Restriktionen
+     */
+    private final List<Fraction> rightSides = new ArrayList<>();
+
+    /**
+     * Indices der Unbekannten nach Namen, in der Reihenfolge ihres ersten Auftretens
+     */
+    private final Map<String, Integer> colIndex = new HashMap<>();
+
+    /**
+     * Koeffizienten der Zielfunktion
+     */
+    private final List<Fraction> objective = new ArrayList<>();
+
+    /**
+     * untere Schranken der Unbekannten
+     */
+    private final List<Fraction> lower = new ArrayList<>();
+
+    /**
+     * obere Schranken der Unbekannten, null für unbeschränkt
+     */
+    private final List<Fraction> upper = new ArrayList<>();
+
+    /**
+     * ganzzahlige Unbekannte
+     */
+    private final BitSet integer = new BitSet();
+
+    /**
+     * Koeffizienten der Restriktionen
+     */
+    private final SparseMatrix.Builder matrix = new SparseMatrix.Builder();
+
+    /**
+     * Optimierungsrichtung
+     */
+    private SolveType solveType = SolveType.MIN;
+
+    /**
+     * Nummer der zuletzt gelesenen Zeile
+     */
+    private int lineNumber;
+
+    /**
+     * Nur über die statischen Methoden nutzbar.
+     */
+    private LinearProgramReader() {
+    }
+
+    /**
+     * Liest ein Problem und wählt das Format anhand der Dateiendung (.lp für CPLEX-LP, sonst MPS).
+     *
+     * @param path        zu lesende Datei
+     * @param tableauType Speicherform des Tableaus für das Problem
+     * @return gelesenes Problem
+     * @throws IOException    wenn die Datei nicht gelesen werden kann
+     * @throws ParseException wenn die Datei nicht dem Format entspricht; der Offset ist die
+     *                        Zeilennummer
+     * @pre path != null und tableauType != null
+     */
+    public static LinearProgram read(Path path, TableauType tableauType)
+            throws IOException, ParseException {
+        assert path != null && tableauType != null;
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.ISO_8859_1)) {
+            return path.toString().toLowerCase(Locale.ROOT).endsWith(".lp")
+                    ? readLp(in, tableauType) : readMps(in, tableauType);
+        }
+    }
+
+    /**
+     * Liest ein Problem im MPS-Format (festes oder freies Format, Namen ohne Leerzeichen).
+     * Unterstützt werden die Abschnitte NAME, OBJSENSE, ROWS, COLUMNS mit INTORG/INTEND-Markern,
+     * RHS, BOUNDS (UP, LO, FX, PL, BV, LI, UI) und ENDATA.
+     *
+     * @param in          Quelle, wird zeilenweise gelesen, aber nicht geschlossen
+     * @param tableauType Speicherform des Tableaus für das Problem
+     * @return gelesenes Problem
+     * @throws IOException    wenn die Quelle nicht gelesen werden kann
+     * @throws ParseException wenn die Quelle nicht dem Format entspricht
+     * @pre in != null und tableauType != null
+     */
+    public static LinearProgram readMps(BufferedReader in, TableauType tableauType)
+            throws IOException, ParseException {
+        assert in != null && tableauType != null;
+        LinearProgramReader reader = new LinearProgramReader();
+        reader.parseMps(in);
+        return reader.build(tableauType);
+    }
+
+    /**
+     * Liest ein Problem im CPLEX-LP-Format. Unterstützt werden die Abschnitte Maximize/Minimize,
+     * Subject To, Bounds, General, Binary und End; Ausdrücke dürfen sich über mehrere Zeilen
+     * erstrecken.
+     *
+     * @param in          Quelle, wird zeilenweise gelesen, aber nicht geschlossen
+     * @param tableauType Speicherform des Tableaus für das Problem
+     * @return gelesenes Problem
+     * @throws IOException    wenn die Quelle nicht gelesen werden kann
+     * @throws ParseException wenn die Quelle nicht dem Format entspricht
+     * @pre in != null und tableauType != null
+     */
+    public static LinearProgram readLp(BufferedReader in, TableauType tableauType)
+            throws IOException, ParseException {
+        assert in != null && tableauType != null;
+        LinearProgramReader reader = new LinearProgramReader();
+        reader.parseLp(in);
+        return reader.build(tableauType);
+    }
+
+    /**
+     * Wandelt eine Dezimalzahl (auch mit Exponent) exakt in einen Bruch um.
+     *
+     * @param text Dezimalzahl
+     * @return Wert der Zahl
+     * @throws NumberFormatException wenn text keine Zahl ist
+     * @throws ArithmeticException   wenn der Wert nicht als Fraction darstellbar ist
+     */
+    static Fraction parseNumber(String text) {
+        BigDecimal value = new BigDecimal(text);
+        BigInteger num = value.unscaledValue();
+        BigInteger den = BigInteger.ONE;
+        if (value.scale() > 0) {
+            den = BigInteger.TEN.pow(value.scale());
+        } else {
+            num = num.multiply(BigInteger.TEN.pow(-value.scale()));
+        }
+        BigInteger gcd = num.gcd(den);
+        return Fraction.valueOf(num.divide(gcd).longValueExact(),
+                den.divide(gcd).longValueExact());
+    }
+
+    /**
+     * @param message Fehlerbeschreibung
+     * @return Ausnahme mit der aktuellen Zeilennummer
+     */
+    private ParseException error(String message) {
+        return new ParseException("Zeile " + this.lineNumber + ": " + message, this.lineNumber);
+    }
+
+    /**
+     * Wandelt eine Zahl um und meldet Fehler mit Zeilennummer.
+     *
+     * @param text Dezimalzahl
+     * @return Wert der Zahl
+     * @throws ParseException wenn text keine darstellbare Zahl ist
+     */
+    private Fraction number(String text) throws ParseException {
+        try {
+            return parseNumber(text);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw error("ungültige Zahl " + text);
+        }
+    }
+
+    /**
+     * Gibt den Index einer Unbekannten zurück und legt sie beim ersten Auftreten an.
+     *
+     * @param name Name der Unbekannten
+     * @return Index der Unbekannten
+     */
+    private int column(String name) {
+        Integer col = this.colIndex.get(name);
+        if (col == null) {
+            col = this.colIndex.size();
+            this.colIndex.put(name, col);
+            this.objective.add(Fraction.ZERO);
+            this.lower.add(Fraction.ZERO);
+            this.upper.add(null);
+        }
+        return col;
+    }
+
+    /**
+     * Legt eine Restriktion an.
+     *
+     * @param name Name der Restriktion
+     * @param type Typ der Restriktion
+     * @return Index der Restriktion
+     * @throws ParseException wenn der Name bereits vergeben ist
+     */
+    private int addRow(String name, Type type) throws ParseException {
+        if (this.rowIndex.containsKey(name)) {
+            throw error("Restriktion " + name + " doppelt definiert");
+        }
+        int row = this.types.size();
+        this.rowIndex.put(name, row);
+        this.types.add(type);
+        this.rightSides.add(Fraction.ZERO);
+        return row;
+    }
+
+    /**
+     * Setzt die untere Schranke einer Unbekannten.
+     *
+     * @param col   Index der Unbekannten
+     * @param value untere Schranke
+     * @throws ParseException wenn die Schranke negativ ist
+     */
+    private void setLower(int col, Fraction value) throws ParseException {
+        if (value.signum() < 0) {
+            throw error("negative untere Schranken werden nicht unterstützt");
+        }
+        this.lower.set(col, value);
+    }
+
+    /**
+     * Erzeugt das Problem aus den gelesenen Daten. Restriktionen mit negativer rechter Seite
+     * werden dabei negiert.
+     *
+     * @param tableauType Speicherform des Tableaus
+     * @return gelesenes Problem
+     * @throws ParseException wenn das Problem keine Unbekannten hat
+     */
+    private LinearProgram build(TableauType tableauType) throws ParseException {
+        int m = this.types.size();
+        int n = this.colIndex.size();
+        if (n == 0) {
+            throw error("keine Unbekannten");
+        }
+        boolean[] negate = new boolean[m];
+        Type[] rowTypes = new Type[m];
+        Fraction[] rhs = new Fraction[m];
+        for (int row = 0; row < m; row++) {
+            rowTypes[row] = this.types.get(row);
+            rhs[row] = this.rightSides.get(row);
+            if (rhs[row].signum() < 0) {
+                negate[row] = true;
+                rhs[row] = rhs[row].multiplyBy(Fraction.MINUS_ONE);
+                rowTypes[row] = rowTypes[row] == Type.LE ? Type.GE
+                        : rowTypes[row] == Type.GE ? Type.LE : Type.EQ;
+            }
+        }
+        this.matrix.negateRows(negate);
+        LinearProgram lp = new LinearProgram(this.matrix.build(m, n), rowTypes, rhs,
+                this.solveType, tableauType, this.objective.toArray(new Fraction[n]));
+        boolean bounded = false;
+        for (int col = 0; col < n; col++) {
+            bounded |= this.lower.get(col).signum() != 0 || this.upper.get(col) != null;
+        }
+        if (bounded) {
+            lp = lp.withBounds(this.lower.toArray(new Fraction[n]),
+                    this.upper.toArray(new Fraction[n]));
+        }
+        if (!this.integer.isEmpty()) {
+            lp = lp.withIntegerVariables(this.integer.stream().toArray());
+        }
+        return lp;
+    }
+
+    /**
+     * Liest eine MPS-Datei.
+     *
+     * @param in Quelle
+     * @throws IOException    wenn die Quelle nicht gelesen werden kann
+     * @throws ParseException wenn die Quelle nicht dem Format entspricht
+     */
+    private void parseMps(BufferedReader in) throws IOException, ParseException {
+        String section = null;
+        String objectiveRow = null;
+        Set<String> freeRows = new HashSet<>();
+        boolean inInteger = false;
+        String line;
+        while ((line = in.readLine()) != null) {
+            this.lineNumber++;
+            if (line.isEmpty() || line.charAt(0) == '*' || line.trim().isEmpty()) {
+                continue;
+            }
+            String[] tokens = line.trim().split("\\s+");
+            if (!Character.isWhitespace(line.charAt(0))) {
+                section = tokens[0].toUpperCase(Locale.ROOT);
+                if ("OBJSENSE".equals(section) && tokens.length > 1) {
+                    setMpsSense(tokens[1]);
+                } else if ("ENDATA".equals(section)) {
+                    return;
+                } else if ("RANGES".equals(section)) {
+                    throw error("RANGES werden nicht unterstützt");
+                } else if (!"NAME".equals(section) && !"OBJSENSE".equals(section)
+                        && !"ROWS".equals(section) && !"COLUMNS".equals(section)
+                        && !"RHS".equals(section) && !"BOUNDS".equals(section)) {
+                    throw error("unbekannter Abschnitt " + tokens[0]);
+                }
+                continue;
+            }
+            if (section == null) {
+                throw error("Daten vor dem ersten Abschnitt");
+            }
+            switch (section) {
+                case "OBJSENSE":
+                    setMpsSense(tokens[0]);
+                    break;
+                case "ROWS":
+                    if (tokens.length != 2) {
+                        throw error("erwartet: Typ Name");
+                    }
+                    switch (tokens[0].toUpperCase(Locale.ROOT)) {
+                        case "N":
+                            if (objectiveRow == null) {
+                                objectiveRow = tokens[1];
+                            } else {
+                                freeRows.add(tokens[1]);
+                            }
+                            break;
+                        case "L":
+                            addRow(tokens[1], Type.LE);
+                            break;
+                        case "G":
+                            addRow(tokens[1], Type.GE);
+                            break;
+                        case "E":
+                            addRow(tokens[1], Type.EQ);
+                            break;
+                        default:
+                            throw error("unbekannter Restriktionstyp " + tokens[0]);
+                    }
+                    break;
+                case "COLUMNS":
+                    if (tokens.length == COLUMN_ENTRY_TOKENS && "'MARKER'".equals(tokens[1])) {
+                        inInteger = "'INTORG'".equals(tokens[2]);
+                        break;
+                    }
+                    if (tokens.length != COLUMN_ENTRY_TOKENS
+                            && tokens.length != COLUMN_PAIR_TOKENS) {
+                        throw error("erwartet: Spalte Zeile Wert [Zeile Wert]");
+                    }
+                    int col = column(tokens[0]);
+                    if (inInteger) {
+                        this.integer.set(col);
+                    }
+                    for (int i = 1; i < tokens.length; i += 2) {
+                        Fraction value = number(tokens[i + 1]);
+                        if (tokens[i].equals(objectiveRow)) {
+                            this.objective.set(col, this.objective.get(col).add(value));
+                        } else if (!freeRows.contains(tokens[i])) {
+                            this.matrix.add(mpsRow(tokens[i]), col, value);
+                        }
+                    }
+                    break;
+                case "RHS":
+                    //der Name des Vektors darf im freien Format fehlen
+                    for (int i = tokens.length % 2; i + 1 < tokens.length; i += 2) {
+                        if (tokens[i].equals(objectiveRow)) {
+                            throw error(
+                                    "konstante Anteile der Zielfunktion werden nicht unterstützt");
+                        } else if (!freeRows.contains(tokens[i])) {
+                            this.rightSides.set(mpsRow(tokens[i]), number(tokens[i + 1]));
+                        }
+                    }
+                    break;
+                case "BOUNDS":
+                    parseMpsBound(tokens);
+                    break;
+                default:
+                    throw error("unerwartete Daten im Abschnitt " + section);
+            }
+        }
+    }
+
+    /**
+     * @param name Name einer Restriktion
+     * @return Index der Restriktion
+     * @throws ParseException wenn die Restriktion nicht im Abschnitt ROWS definiert ist
+     */
+    private int mpsRow(String name) throws ParseException {
+        Integer row = this.rowIndex.get(name);
+        if (row == null) {
+            throw error("unbekannte Restriktion " + name);
+        }
+        return row;
+    }
+
+    /**
+     * @param sense MAX oder MIN
+     * @throws ParseException bei einer anderen Angabe
+     */
+    private void setMpsSense(String sense) throws ParseException {
+        switch (sense.toUpperCase(Locale.ROOT)) {
+            case "MAX":
+            case "MAXIMIZE":
+                this.solveType = SolveType.MAX;
+                break;
+            case "MIN":
+            case "MINIMIZE":
+                this.solveType = SolveType.MIN;
+                break;
+            default:
+                throw error("unbekannte Optimierungsrichtung " + sense);
+        }
+    }
+
+    /**
+     * Liest eine Zeile des Abschnitts BOUNDS: Typ, optional Name des Vektors, Spalte und Wert.
+     *
+     * @param tokens Bestandteile der Zeile
+     * @throws ParseException bei ungültigen oder nicht unterstützten Schranken
+     */
+    private void parseMpsBound(String[] tokens) throws ParseException {
+        String type = tokens[0].toUpperCase(Locale.ROOT);
+        boolean valued = !"PL".equals(type) && !"BV".equals(type) && !"FR".equals(type)
+                && !"MI".equals(type);
+        int expected = valued ? BOUND_TOKENS : BOUND_TOKENS - 1;
+        if (tokens.length != expected && tokens.length != expected + 1) {
+            throw error("erwartet: Typ [Vektor] Spalte" + (valued ? " Wert" : ""));
+        }
+        int col = column(tokens[tokens.length == expected ? 1 : 2]);
+        Fraction value = valued ? number(tokens[tokens.length - 1]) : null;
+        if ("UI".equals(type) || "LI".equals(type)) {
+            this.integer.set(col);
+            type = "UI".equals(type) ? "UP" : "LO";
+        }
+        switch (type) {
+            case "UP":
+                if (value.signum() < 0) {
+                    throw error("negative obere Schranken werden nicht unterstützt");
+                }
+                this.upper.set(col, value);
+                break;
+            case "LO":
+                setLower(col, value);
+                break;
+            case "FX":
+                setLower(col, value);
+                this.upper.set(col, value);
+                break;
+            case "PL":
+                this.upper.set(col, null);
+                break;
+            case "BV":
+                this.integer.set(col);
+                this.lower.set(col, Fraction.ZERO);
+                this.upper.set(col, Fraction.ONE);
+                break;
+            default:
+                throw error("freie Unbekannte werden nicht unterstützt (" + type + ")");
+        }
+    }
+
+    /**
+     * Liest eine LP-Datei. Die Zeilen werden in Tokens zerlegt und abschnittsweise ausgewertet;
+     * eine Restriktion ist mit der Zahl hinter ihrem Vergleichsoperator abgeschlossen.
+     *
+     * @param in Quelle
+     * @throws IOException    wenn die Quelle nicht gelesen werden kann
+     * @throws ParseException wenn die Quelle nicht dem Format entspricht
+     */
+    private void parseLp(BufferedReader in) throws IOException, ParseException {
+        LpSection section = LpSection.NONE;
+        List<String> statement = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null && section != LpSection.END) {
+            this.lineNumber++;
+            List<String> tokens = tokenize(line);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            LpSection next = lpSection(tokens);
+            if (next != null) {
+                finishLpStatement(section, statement);
+                section = next;
+                if (next == LpSection.OBJECTIVE) {
+                    this.solveType = tokens.get(0).toLowerCase(Locale.ROOT).startsWith("max")
+                            ? SolveType.MAX : SolveType.MIN;
+                }
+                //Schluesselwort aus zwei Woertern (subject to, such that)
+                tokens = tokens.subList(next == LpSection.CONSTRAINTS
+                        && tokens.size() > 1 && (tokens.get(1).equalsIgnoreCase("to")
+                                || tokens.get(1).equalsIgnoreCase("that")) ? 2 : 1,
+                        tokens.size());
+            }
+            switch (section) {
+                case OBJECTIVE:
+                    statement.addAll(tokens);
+                    break;
+                case CONSTRAINTS:
+                    for (String token : tokens) {
+                        statement.add(token);
+                        if (isLpConstraintComplete(statement)) {
+                            parseLpConstraint(statement);
+                            statement.clear();
+                        }
+                    }
+                    break;
+                case BOUNDS:
+                    if (!tokens.isEmpty()) {
+                        parseLpBound(tokens);
+                    }
+                    break;
+                case GENERAL:
+                case BINARY:
+                    for (String name : tokens) {
+                        int col = column(name);
+                        this.integer.set(col);
+                        if (section == LpSection.BINARY) {
+                            this.upper.set(col, Fraction.ONE);
+                        }
+                    }
+                    break;
+                default:
+                    if (!tokens.isEmpty()) {
+                        throw error("Daten außerhalb eines Abschnitts");
+                    }
+                    break;
+            }
+        }
+        finishLpStatement(section, statement);
+    }
+
+    /**
+     * Zerlegt eine Zeile einer LP-Datei in Namen, Zahlen, Vorzeichen, Vergleichsoperatoren und
+     * Doppelpunkte; Kommentare beginnen mit einem Backslash.
+     *
+     * @param line Zeile
+     * @return Tokens der Zeile
+     */
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            int start = i;
+            if (c == '\\') {
+                break;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            } else if (Character.isDigit(c) || c == '.') {
+                while (i < line.length()
+                        && (Character.isDigit(line.charAt(i)) || line.charAt(i) == '.')) {
+                    i++;
+                }
+                //Exponent nur, wenn Ziffern folgen, sonst beginnt ein Name
+                int exp = i;
+                if (exp < line.length() && (line.charAt(exp) == 'e' || line.charAt(exp) == 'E')) {
+                    exp++;
+                    if (exp < line.length() && (line.charAt(exp) == '+'
+                            || line.charAt(exp) == '-')) {
+                        exp++;
+                    }
+                    if (exp < line.length() && Character.isDigit(line.charAt(exp))) {
+                        i = exp;
+                        while (i < line.length() && Character.isDigit(line.charAt(i))) {
+                            i++;
+                        }
+                    }
+                }
+            } else if (c == '<' || c == '>' || c == '=') {
+                i++;
+                if (i < line.length() && (line.charAt(i) == '=' || line.charAt(i) == '<'
+                        || line.charAt(i) == '>')) {
+                    i++;
+                }
+            } else if (c == '+' || c == '-' || c == ':') {
+                i++;
+            } else {
+                while (i < line.length() && !Character.isWhitespace(line.charAt(i))
+                        && "+-<>=:\\".indexOf(line.charAt(i)) < 0) {
+                    i++;
+                }
+            }
+            tokens.add(line.substring(start, i));
+        }
+        return tokens;
+    }
+
+    /**
+     * @param tokens Tokens einer Zeile
+     * @return Abschnitt, den die Zeile einleitet, oder null
+     */
+    private static LpSection lpSection(List<String> tokens) {
+        String first = tokens.get(0).toLowerCase(Locale.ROOT);
+        String second = tokens.size() > 1 ? tokens.get(1).toLowerCase(Locale.ROOT) : "";
+        switch (first) {
+            case "maximize":
+            case "maximise":
+            case "maximum":
+            case "max":
+            case "minimize":
+            case "minimise":
+            case "minimum":
+            case "min":
+                return ":".equals(second) ? null : LpSection.OBJECTIVE;
+            case "subject":
+                return "to".equals(second) ? LpSection.CONSTRAINTS : null;
+            case "such":
+                return "that".equals(second) ? LpSection.CONSTRAINTS : null;
+            case "st":
+            case "s.t.":
+                return ":".equals(second) ? null : LpSection.CONSTRAINTS;
+            case "bounds":
+            case "bound":
+                return LpSection.BOUNDS;
+            case "general":
+            case "generals":
+            case "gen":
+            case "integer":
+            case "integers":
+                return LpSection.GENERAL;
+            case "binary":
+            case "binaries":
+            case "bin":
+                return LpSection.BINARY;
+            case "end":
+                return LpSection.END;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param token Token
+     * @return true, wenn das Token ein Vergleichsoperator ist
+     */
+    private static boolean isOperator(String token) {
+        char c = token.charAt(0);
+        return c == '<' || c == '>' || c == '=';
+    }
+
+    /**
+     * @param token Token
+     * @return true, wenn das Token eine Zahl ist
+     */
+    private static boolean isNumber(String token) {
+        return Character.isDigit(token.charAt(0)) || token.charAt(0) == '.';
+    }
+
+    /**
+     * @param operator Vergleichsoperator
+     * @return zugehöriger Restriktionstyp
+     */
+    private static Type operatorType(String operator) {
+        return operator.indexOf('<') >= 0 ? Type.LE
+                : operator.indexOf('>') >= 0 ? Type.GE : Type.EQ;
+    }
+
+    /**
+     * @param statement bisherige Tokens einer Restriktion
+     * @return true, wenn auf den Vergleichsoperator bereits die rechte Seite gefolgt ist
+     */
+    private static boolean isLpConstraintComplete(List<String> statement) {
+        String last = statement.get(statement.size() - 1);
+        return isNumber(last) && statement.size() >= 2
+                && (isOperator(statement.get(statement.size() - 2))
+                        || (statement.size() >= SIGNED_RIGHT_SIDE_TOKENS
+                                && isOperator(statement.get(statement.size()
+                                        - SIGNED_RIGHT_SIDE_TOKENS))
+                                && "+-".contains(statement.get(statement.size() - 2))));
+    }
+
+    /**
+     * Wertet die am Ende eines Abschnitts noch offenen Tokens aus.
+     *
+     * @param section   endender Abschnitt
+     * @param statement offene Tokens
+     * @throws ParseException wenn eine Restriktion unvollständig ist
+     */
+    private void finishLpStatement(LpSection section, List<String> statement)
+            throws ParseException {
+        if (section == LpSection.OBJECTIVE && !statement.isEmpty()) {
+            int end = parseLpTerms(statement, labelEnd(statement), true);
+            if (end != statement.size()) {
+                throw error("unerwartetes Token " + statement.get(end) + " in der Zielfunktion");
+            }
+        } else if (!statement.isEmpty()) {
+            throw error("unvollständige Restriktion");
+        }
+        statement.clear();
+    }
+
+    /**
+     * @param statement Tokens einer Zielfunktion oder Restriktion
+     * @return Index hinter einer Bezeichnung "name:" oder 0, wenn es keine gibt
+     */
+    private static int labelEnd(List<String> statement) {
+        return statement.size() >= 2 && statement.get(1).equals(":") ? 2 : 0;
+    }
+
+    /**
+     * Liest eine Summe von Termen "[+|-] [Zahl] Name" bis zum ersten Vergleichsoperator und
+     * addiert die Koeffizienten auf die Zielfunktion oder die zuletzt angelegte Restriktion.
+     *
+     * @param tokens    Tokens
+     * @param start     Index des ersten Terms
+     * @param objective true für die Zielfunktion
+     * @return Index hinter dem letzten Term
+     * @throws ParseException bei konstanten Termen oder fehlenden Namen
+     */
+    private int parseLpTerms(List<String> tokens, int start, boolean objective)
+            throws ParseException {
+        int i = start;
+        int row = this.types.size() - 1;
+        while (i < tokens.size() && !isOperator(tokens.get(i))) {
+            Fraction coefficient = Fraction.ONE;
+            while (i < tokens.size() && "+-".contains(tokens.get(i))) {
+                if (tokens.get(i).equals("-")) {
+                    coefficient = coefficient.multiplyBy(Fraction.MINUS_ONE);
+                }
+                i++;
+            }
+            if (i < tokens.size() && isNumber(tokens.get(i))) {
+                coefficient = coefficient.multiplyBy(number(tokens.get(i++)));
+            }
+            if (i >= tokens.size() || isOperator(tokens.get(i)) || "+-:".contains(tokens.get(i))) {
+                throw error("konstante Terme werden nicht unterstützt");
+            }
+            int col = column(tokens.get(i++));
+            if (objective) {
+                this.objective.set(col, this.objective.get(col).add(coefficient));
+            } else {
+                this.matrix.add(row, col, coefficient);
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Legt eine vollständig gelesene Restriktion "[Name:] Terme Operator [Vorzeichen] Zahl" an.
+     *
+     * @param statement Tokens der Restriktion
+     * @throws ParseException bei ungültigem Aufbau
+     */
+    private void parseLpConstraint(List<String> statement) throws ParseException {
+        int start = labelEnd(statement);
+        String name = start > 0 ? statement.get(0) : "R" + (this.types.size() + 1);
+        int opIndex = start;
+        while (!isOperator(statement.get(opIndex))) {
+            opIndex++;
+        }
+        addRow(name, operatorType(statement.get(opIndex)));
+        if (parseLpTerms(statement, start, false) != opIndex) {
+            throw error("ungültige Restriktion " + name);
+        }
+        Fraction rhs = number(statement.get(statement.size() - 1));
+        if (statement.get(statement.size() - 2).equals("-")) {
+            rhs = rhs.multiplyBy(Fraction.MINUS_ONE);
+        }
+        this.rightSides.set(this.types.size() - 1, rhs);
+    }
+
+    /**
+     * Liest eine Zeile des Abschnitts Bounds: "x &lt;= u", "x &gt;= l", "x = v",
+     * "l &lt;= x &lt;= u" (auch mit &gt;=), wobei inf bzw. infinity für unbeschränkt steht.
+     *
+     * @param tokens Tokens der Zeile
+     * @throws ParseException bei ungültigen oder nicht unterstützten Schranken
+     */
+    private void parseLpBound(List<String> tokens) throws ParseException {
+        List<Fraction> values = new ArrayList<>();
+        List<String> operators = new ArrayList<>();
+        String name = null;
+        boolean nameFirst = false;
+        boolean negative = false;
+        for (String token : tokens) {
+            String lowerCase = token.toLowerCase(Locale.ROOT);
+            if ("-".equals(token) || "+".equals(token)) {
+                negative = "-".equals(token);
+            } else if (isOperator(token)) {
+                operators.add(token);
+            } else if (isNumber(token) || "inf".equals(lowerCase)
+                    || "infinity".equals(lowerCase)) {
+                Fraction value = isNumber(token) ? number(token) : null;
+                if (value != null && negative) {
+                    value = value.multiplyBy(Fraction.MINUS_ONE);
+                } else if (value == null && negative) {
+                    throw error("freie Unbekannte werden nicht unterstützt");
+                }
+                values.add(value);
+                negative = false;
+            } else if ("free".equals(lowerCase)) {
+                throw error("freie Unbekannte werden nicht unterstützt");
+            } else if (name == null) {
+                name = token;
+                nameFirst = values.isEmpty();
+            } else {
+                throw error("ungültige Schranke");
+            }
+        }
+        if (name == null || operators.size() != values.size() || operators.isEmpty()
+                || operators.size() > 2) {
+            throw error("ungültige Schranke");
+        }
+        int col = column(name);
+        for (int k = 0; k < operators.size(); k++) {
+            Type type = operatorType(operators.get(k));
+            //steht die Zahl links vom Namen, kehrt sich der Vergleich um
+            boolean valueLeft = !nameFirst && k == 0;
+            if (type != Type.EQ && valueLeft) {
+                type = type == Type.LE ? Type.GE : Type.LE;
+            }
+            Fraction value = values.get(k);
+            if (type == Type.LE || type == Type.EQ) {
+                if (value != null && value.signum() < 0) {
+                    throw error("negative obere Schranken werden nicht unterstützt");
+                }
+                this.upper.set(col, value);
+            }
+            if (type == Type.GE || type == Type.EQ) {
+                setLower(col, value == null ? Fraction.ZERO : value);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package simplex;
+
+/**
+ * Tableau, das Zähler und Nenner jeder Zelle in parallelen long-Arrays speichert. Alle Werte
+ * sind wie bei Fraction vollständig gekürzt und haben einen positiven Nenner, ein Pivotschritt
+ * kommt jedoch ohne das Anlegen neuer Objekte aus. Wie bei Fraction führt ein Überlauf zu einer
+ * {@link ArithmeticException}; die betroffene Zelle bleibt dabei unverändert.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+class LongTableau extends Tableau {
+
+    /**
+     * Zähler der Zellen, zeilenweise; stammen die Zeilen aus einem {@link TableauBuffer}, können
+     * sie länger und zahlreicher sein als das Tableau
+     */
+    private final long[][] num;
+
+    /**
+     * Nenner der Zellen, zeilenweise
+     */
+    private final long[][] den;
+
+    /**
+     * Erstellt ein Tableau mit dem Inhalt der übergebenen Matrix.
+     *
+     * @param table Ausgangstableau
+     * @pre table != null und rechteckig
+     */
+    LongTableau(Fraction[][] table) {
+        this(table, new TableauBuffer());
+    }
+
+    /**
+     * Erstellt ein Tableau mit dem Inhalt der übergebenen Matrix in den Zeilen eines Puffers,
+     * z.B. um beim Lösen vieler Probleme auf einem Thread nicht für jedes Problem neue Zeilen
+     * anzulegen.
+     *
+     * @param table  Ausgangstableau
+     * @param buffer Puffer, dessen Zeilen das Tableau nutzt; wird bei Bedarf vergrößert
+     * @pre table != null und rechteckig
+     * @pre buffer != null und wird von keinem anderen Tableau mehr genutzt
+     */
+    LongTableau(Fraction[][] table, TableauBuffer buffer) {
+        super(table.length, table[0].length);
+        assert buffer != null;
+        buffer.ensureCapacity(table.length, table[0].length);
+        this.num = buffer.getNumerators();
+        this.den = buffer.getDenominators();
+        for (int row = 0; row < table.length; row++) {
+            for (int col = 0; col < table[0].length; col++) {
+                this.num[row][col] = table[row][col].getNumerator();
+                this.den[row][col] = table[row][col].getDenominator();
+            }
+        }
+    }
+
+    /**
+     * Berechnet den GgT der Beträge von a und b, siehe {@link Fraction#gcd(long, long)}.
+     *
+     * @param a Erste Zahl
+     * @param b Zweite Zahl
+     * @return GgT (nicht-negativ)
+     */
+    static long gcd(long a, long b) {
+        return Fraction.gcd(a, b);
+    }
+
+    /**
+     * Vergleicht die Quotienten (r1 / a1) und (r2 / a2) zweier Brüche.
+     *
+     * @param rn1 Zähler von r1
+     * @param rd1 Nenner von r1 (positiv)
+     * @param an1 Zähler von a1 (positiv)
+     * @param ad1 Nenner von a1 (positiv)
+     * @param rn2 Zähler von r2
+     * @param rd2 Nenner von r2 (positiv)
+     * @param an2 Zähler von a2 (positiv)
+     * @param ad2 Nenner von a2 (positiv)
+     * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
+     * @throws ArithmeticException bei Überlauf
+     */
+    static int compareRatios(long rn1, long rd1, long an1, long ad1,
+            long rn2, long rd2, long an2, long ad2) {
+        //beide a positiv und damit beide GgT positiv
+        long g1 = gcd(rn1, an1);
+        long g2 = gcd(rn2, an2);
+        return Fraction.compare(Math.multiplyExact(rn1 / g1, ad1),
+                Math.multiplyExact(rd1, an1 / g1), Math.multiplyExact(rn2 / g2, ad2),
+                Math.multiplyExact(rd2, an2 / g2));
+    }
+
+    /**
+     * Teilt die Zelle n[i]/d[i] durch den Bruch pn/pd und schreibt das gekürzte Ergebnis zurück.
+     *
+     * @param n  Zähler der Zeile
+     * @param d  Nenner der Zeile
+     * @param i  Index der Zelle
+     * @param pn Zähler des Divisors (ungleich 0)
+     * @param pd Nenner des Divisors (positiv)
+     * @throws ArithmeticException bei Überlauf, die Zelle bleibt dann unverändert
+     */
+    static void divideInto(long[] n, long[] d, int i, long pn, long pd) {
+        if (n[i] == 0) {
+            return;
+        }
+        //(n / d) / (pn / pd) = (n * pd) / (d * pn), vorher ueber Kreuz kuerzen
+        long g1 = gcd(n[i], pn);
+        long g2 = gcd(pd, d[i]);
+        long resNum = Math.multiplyExact(n[i] / g1, pd / g2);
+        long resDen = Math.multiplyExact(d[i] / g2, pn / g1);
+        if (resDen < 0) {
+            resNum = Math.negateExact(resNum);
+            resDen = Math.negateExact(resDen);
+        }
+        n[i] = resNum;
+        d[i] = resDen;
+    }
+
+    /**
+     * Berechnet n[i]/d[i] - (an/ad) * (bn/bd) und schreibt das gekürzte Ergebnis zurück.
+     *
+     * @param n  Zähler der Zeile
+     * @param d  Nenner der Zeile
+     * @param i  Index der Zelle
+     * @param an Zähler des ersten Faktors
+     * @param ad Nenner des ersten Faktors (positiv)
+     * @param bn Zähler des zweiten Faktors
+     * @param bd Nenner des zweiten Faktors (positiv)
+     * @throws ArithmeticException bei Überlauf, die Zelle bleibt dann unverändert
+     */
+    static void subtractProductInto(long[] n, long[] d, int i, long an, long ad, long bn,
+            long bd) {
+        if (an == 0 || bn == 0) {
+            return;
+        }
+        //Produkt a * b ueber Kreuz gekuerzt
+        long g1 = gcd(an, bd);
+        long g2 = gcd(bn, ad);
+        long mn = Math.multiplyExact(an / g1, bn / g2);
+        long md = Math.multiplyExact(ad / g2, bd / g1);
+        //Differenz x - m ueber den Hauptnenner, gemeinsame Teiler koennen nur in g stecken
+        long g = gcd(d[i], md);
+        long resNum = Math.subtractExact(Math.multiplyExact(n[i], md / g),
+                Math.multiplyExact(mn, d[i] / g));
+        if (resNum == 0) {
+            n[i] = 0;
+            d[i] = 1;
+            return;
+        }
+        long r = gcd(resNum, g);
+        long resDen = Math.multiplyExact(d[i] / g, md / r);
+        n[i] = resNum / r;
+        d[i] = resDen;
+    }
+
+    @Override
+    Fraction get(int row, int col) {
+        return Fraction.valueOf(this.num[row][col], this.den[row][col]);
+    }
+
+    @Override
+    double getAsFPN(int row, int col) {
+        return (double) this.num[row][col] / this.den[row][col];
+    }
+
+    @Override
+    void addRowTo(int row, FractionAccumulator[] sums) {
+        for (int col = 0; col < sums.length; col++) {
+            sums[col].add(this.num[row][col], this.den[row][col]);
+        }
+    }
+
+    @Override
+    int signum(int row, int col) {
+        return Long.signum(this.num[row][col]);
+    }
+
+    @Override
+    int compare(int row1, int col1, int row2, int col2) {
+        return Fraction.compare(this.num[row1][col1], this.den[row1][col1],
+                this.num[row2][col2], this.den[row2][col2]);
+    }
+
+    @Override
+    int compareRatios(int row1, int row2, int col) {
+        int rhs = getColCount() - 1;
+        return compareRatios(this.num[row1][rhs], this.den[row1][rhs],
+                this.num[row1][col], this.den[row1][col],
+                this.num[row2][rhs], this.den[row2][rhs],
+                this.num[row2][col], this.den[row2][col]);
+    }
+
+    @Override
+    void normalizeRow(int row, int col) {
+        long[] n = this.num[row];
+        long[] d = this.den[row];
+        long pn = n[col];
+        long pd = d[col];
+        for (int i = 0; i < getColCount(); i++) {
+            divideInto(n, d, i, pn, pd);
+        }
+    }
+
+    @Override
+    void eliminateRow(int row, int pivotRow, int pivotCol) {
+        long[] n = this.num[row];
+        long[] d = this.den[row];
+        long an = n[pivotCol];
+        long ad = d[pivotCol];
+        if (an == 0) {
+            return;
+        }
+        long[] pn = this.num[pivotRow];
+        long[] pd = this.den[pivotRow];
+        for (int col = 0; col < getColCount(); col++) {
+            subtractProductInto(n, d, col, an, ad, pn[col], pd[col]);
+        }
+    }
+
+    @Override
+    void complementColumn(int col, Fraction bound) {
+        int rhs = getColCount() - 1;
+        for (int row = 0; row < getRowCount(); row++) {
+            long[] n = this.num[row];
+            long[] d = this.den[row];
+            long negated = Math.negateExact(n[col]);
+            subtractProductInto(n, d, rhs, n[col], d[col], bound.getNumerator(),
+                    bound.getDenominator());
+            n[col] = negated;
+        }
+    }
+}
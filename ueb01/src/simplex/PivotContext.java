@@ -0,0 +1,85 @@
+package simplex;
+
+/**
+ * Sicht einer Pivotregel auf den aktuellen Zustand des Simplex-Tableaus. Die Spalten 0 bis
+ * getCandidateCount() - 1 sind die normalen und die Schlupfvariablen, die Zeilen 0 bis
+ * getRowCount() - 1 die Restriktionen. Reduzierte Kosten beziehen sich auf die Zielfunktion der
+ * aktuellen Phase; ein positiver Wert bedeutet, dass die Variable die Zielfunktion verbessert.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public interface PivotContext {
+
+    /**
+     * @return Anzahl der Restriktionszeilen
+     */
+    int getRowCount();
+
+    /**
+     * @return Anzahl der Spalten, die als Pivotspalte in Frage kommen
+     */
+    int getCandidateCount();
+
+    /**
+     * @return true, solange noch keine gültige Lösung vorliegt (erste Phase)
+     */
+    boolean isPhaseOne();
+
+    /**
+     * @param row Index einer Restriktionszeile
+     * @return Index der Basisvariablen dieser Zeile
+     */
+    int getBaseVar(int row);
+
+    /**
+     * @param col Spaltenindex
+     * @return Vorzeichen der reduzierten Kosten der Spalte
+     */
+    int reducedCostSignum(int col);
+
+    /**
+     * Vergleicht die reduzierten Kosten zweier Spalten exakt.
+     *
+     * @param col1 erste Spalte
+     * @param col2 zweite Spalte
+     * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
+     */
+    int compareReducedCosts(int col1, int col2);
+
+    /**
+     * @param col Spaltenindex
+     * @return reduzierte Kosten der Spalte als Gleitkommazahl
+     */
+    double getReducedCost(int col);
+
+    /**
+     * @param row Zeilenindex
+     * @param col Spaltenindex
+     * @return Vorzeichen des Eintrags
+     */
+    int signum(int row, int col);
+
+    /**
+     * @param row Zeilenindex
+     * @param col Spaltenindex
+     * @return Eintrag als Gleitkommazahl
+     */
+    double getEntry(int row, int col);
+
+    /**
+     * Vergleicht die Quotienten aus rechter Seite und Eintrag der Spalte col exakt.
+     *
+     * @param row1 erste Zeile
+     * @param row2 zweite Zeile
+     * @param col  Pivotspalte
+     * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
+     * @pre die Einträge (row1, col) und (row2, col) sind größer 0
+     */
+    int compareRatios(int row1, int row2, int col);
+
+    /**
+     * @param row Zeilenindex
+     * @return Vorzeichen der rechten Seite der Zeile
+     */
+    int rightSideSignum(int row);
+}
@@ -0,0 +1,58 @@
+package simplex;
+
+/**
+ * Strategie zur Wahl von Pivotspalte und Pivotzeile eines Simplexschritts. Regeln mit Zustand
+ * (z.B. Gewichte) werden zu Beginn jedes Lösungsvorgangs über {@link #start(PivotContext)}
+ * zurückgesetzt und dürfen nicht von mehreren Automaten gleichzeitig genutzt werden.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public interface PivotRule {
+
+    /**
+     * Wird zu Beginn eines Lösungsvorgangs aufgerufen.
+     *
+     * @param context Sicht auf das Ausgangstableau
+     */
+    default void start(PivotContext context) {
+    }
+
+    /**
+     * Wählt die Pivotspalte.
+     *
+     * @param context Sicht auf das aktuelle Tableau
+     * @return Index der Pivotspalte oder -1, wenn keine Spalte die Zielfunktion verbessert
+     */
+    int selectColumn(PivotContext context);
+
+    /**
+     * Wählt die Pivotzeile nach dem kleinsten Quotienten aus rechter Seite und positivem Eintrag
+     * der Pivotspalte. Bei Gleichstand gewinnt die erste Zeile.
+     *
+     * @param context  Sicht auf das aktuelle Tableau
+     * @param pivotCol Index der Pivotspalte
+     * @return Index der Pivotzeile oder -1, wenn die Spalte unbeschränkt ist
+     */
+    default int selectRow(PivotContext context, int pivotCol) {
+        int minIndex = -1;
+        for (int row = 0; row < context.getRowCount(); row++) {
+            //nur positive Pivotelemente mit nicht-negativem Quotienten kommen in Frage
+            if (context.signum(row, pivotCol) > 0 && context.rightSideSignum(row) >= 0
+                    && (minIndex < 0 || context.compareRatios(row, minIndex, pivotCol) < 0)) {
+                minIndex = row;
+            }
+        }
+        return minIndex;
+    }
+
+    /**
+     * Wird unmittelbar vor dem Pivotschritt aufgerufen, solange das Tableau noch den alten Stand
+     * zeigt.
+     *
+     * @param context  Sicht auf das aktuelle Tableau
+     * @param pivotRow Index der Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     */
+    default void beforePivot(PivotContext context, int pivotRow, int pivotCol) {
+    }
+}
@@ -0,0 +1,545 @@
+package simplex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import simplex.LinearProgram.Restriction;
+import simplex.LinearProgram.Restriction.Type;
+import simplex.LinearProgram.SolveType;
+
+/**
+ * Vorverarbeitung eines linearen Optimierungsproblems vor dem Aufbau des Tableaus. Bis sich
+ * nichts mehr ändert, werden
+ * <ul>
+ * <li>jede Restriktion auf ganzzahlige, teilerfremde Koeffizienten skaliert,</li>
+ * <li>leere Restriktionen entfernt,</li>
+ * <li>einelementige Restriktionen eingesetzt: Gleichungen fixieren die Unbekannte, untere
+ * Schranken verschieben sie, obere Schranken werden zu Schranken der Unbekannten (siehe
+ * {@link LinearProgram#withBounds}), redundante Schranken entfallen,</li>
+ * <li>doppelte Restriktionen auf die schärfste zusammengefasst und</li>
+ * <li>dominierte Unbekannte, deren Erhöhung keine Restriktion lockert und die Zielfunktion nicht
+ * verbessert, auf 0 fixiert, umgekehrt Unbekannte, deren Erhöhung keine Restriktion verschärft
+ * und die Zielfunktion verbessert, auf ihre obere Schranke.</li>
+ * </ul>
+ * Das reduzierte Problem wird mit {@link SimplexSolver} gelöst; {@link #postsolve(Fraction[])}
+ * bildet dessen Ergebnis wieder auf die Unbekannten des ursprünglichen Problems ab.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class Presolver {
+
+    /**
+     * ursprüngliches Problem
+     */
+    private final LinearProgram original;
+
+    /**
+     * Koeffizienten der verbleibenden Restriktionen über alle ursprünglichen Unbekannten;
+     * entfernte Unbekannte haben überall den Koeffizienten 0
+     */
+    private final List<Fraction[]> terms = new ArrayList<>();
+
+    /**
+     * Typen der verbleibenden Restriktionen
+     */
+    private final List<Type> types = new ArrayList<>();
+
+    /**
+     * rechte Seiten der verbleibenden Restriktionen, stets nicht negativ
+     */
+    private final List<Fraction> rightSides = new ArrayList<>();
+
+    /**
+     * true für jede aus dem Problem entfernte Unbekannte
+     */
+    private final boolean[] removed;
+
+    /**
+     * Wert jeder entfernten Unbekannten bzw. Verschiebung jeder verbleibenden Unbekannten
+     */
+    private final Fraction[] offsets;
+
+    /**
+     * obere Schranken der um offsets verschobenen Unbekannten, null für unbeschränkt
+     */
+    private final Fraction[] upperBounds;
+
+    /**
+     * konstanter Anteil der Zielfunktion aus fixierten und verschobenen Unbekannten
+     */
+    private Fraction constant = Fraction.ZERO;
+
+    /**
+     * true, wenn die Vorverarbeitung das Problem als unzulässig oder unbeschränkt erkannt hat
+     */
+    private boolean unsolvable;
+
+    /**
+     * Indices der verbleibenden Unbekannten im ursprünglichen Problem
+     */
+    private int[] columnMap;
+
+    /**
+     * reduziertes Problem oder null, wenn keine Unbekannte verbleibt oder das Problem unlösbar ist
+     */
+    private LinearProgram reduced;
+
+    /**
+     * Führt die Vorverarbeitung für das übergebene Problem aus.
+     *
+     * @param lp zu reduzierendes Problem
+     * @pre lp != null
+     */
+    public Presolver(LinearProgram lp) {
+        assert lp != null;
+        this.original = lp;
+        int numUnknowns = lp.getObjectiveTerm().length;
+        this.removed = new boolean[numUnknowns];
+        this.offsets = new Fraction[numUnknowns];
+        this.upperBounds = new Fraction[numUnknowns];
+        try {
+            load();
+            boolean changed = true;
+            while (changed && !this.unsolvable) {
+                for (int row = 0; row < this.terms.size(); row++) {
+                    normalizeRow(row);
+                }
+                changed = removeEmptyRows() | substituteSingletonRows();
+                changed |= !this.unsolvable && (removeDuplicateRows() | removeDominatedColumns());
+            }
+            if (!this.unsolvable) {
+                buildReducedProgram();
+            }
+        } catch (ArithmeticException e) {
+            //Reduktion kann mittendrin abgebrochen sein, daher das unveraenderte Problem loesen
+            keepOriginal();
+        }
+    }
+
+    /**
+     * Übernimmt Restriktionen und Schranken des ursprünglichen Problems und rechnet die unteren
+     * Schranken heraus.
+     */
+    private void load() {
+        for (Restriction restriction : this.original.getRestrictions()) {
+            this.terms.add(restriction.getTerm().clone());
+            this.types.add(restriction.getType());
+            this.rightSides.add(restriction.getRightSide());
+        }
+        Arrays.fill(this.offsets, Fraction.ZERO);
+        for (int col = 0; col < this.removed.length; col++) {
+            this.upperBounds[col] = this.original.getUpperBound(col);
+            if (this.original.getLowerBound(col).signum() != 0) {
+                shiftColumn(col, this.original.getLowerBound(col), false);
+            }
+        }
+    }
+
+    /**
+     * Verwirft alle Reduktionen; das reduzierte Problem ist dann das ursprüngliche.
+     */
+    private void keepOriginal() {
+        Arrays.fill(this.removed, false);
+        Arrays.fill(this.offsets, Fraction.ZERO);
+        this.constant = Fraction.ZERO;
+        this.unsolvable = false;
+        this.columnMap = new int[this.removed.length];
+        for (int col = 0; col < this.columnMap.length; col++) {
+            this.columnMap[col] = col;
+        }
+        this.reduced = this.original;
+    }
+
+    /**
+     * Löst das reduzierte Problem mit {@link SimplexSolver} und bildet das Ergebnis auf das
+     * ursprüngliche Problem ab.
+     *
+     * @return optimale Koeffizienten und Wert der Zielfunktion des ursprünglichen Problems (x1,
+     * x2, ..., xn, z) oder null, wenn unlösbar
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
+     */
+    public Fraction[] solve() {
+        if (this.unsolvable) {
+            return null;
+        }
+        if (this.reduced == null) {
+            return postsolve(new Fraction[] {Fraction.ZERO});
+        }
+        return postsolve(new SimplexSolver(this.reduced).solve());
+    }
+
+    /**
+     * Bildet ein Ergebnis des reduzierten Problems auf die Unbekannten des ursprünglichen
+     * Problems ab.
+     *
+     * @param result Ergebnis des reduzierten Problems (Unbekannte und Wert der Zielfunktion) oder
+     *               null
+     * @return Ergebnis des ursprünglichen Problems oder null, wenn result null ist
+     * @pre result == null oder result hat eine Komponente je verbleibender Unbekannter und eine
+     * für den Wert der Zielfunktion
+     */
+    public Fraction[] postsolve(Fraction[] result) {
+        if (result == null) {
+            return null;
+        }
+        assert result.length == this.columnMap.length + 1;
+        Fraction[] full = this.offsets.clone();
+        for (int k = 0; k < this.columnMap.length; k++) {
+            full[this.columnMap[k]] = full[this.columnMap[k]].add(result[k]);
+        }
+        full = Arrays.copyOf(full, full.length + 1);
+        full[full.length - 1] = result[result.length - 1].add(this.constant);
+        return full;
+    }
+
+    /**
+     * @return reduziertes Problem oder null, wenn keine Unbekannte verbleibt oder das Problem
+     * bereits als unlösbar erkannt wurde
+     */
+    public LinearProgram getReducedProgram() {
+        return this.reduced;
+    }
+
+    /**
+     * @return true, wenn die Vorverarbeitung das Problem als unzulässig oder unbeschränkt erkannt
+     * hat
+     */
+    public boolean isUnsolvable() {
+        return this.unsolvable;
+    }
+
+    /**
+     * Negiert eine Restriktion mit negativer rechter Seite (und kehrt dabei ihren Typ um) und
+     * skaliert sie auf ganzzahlige, teilerfremde Koeffizienten. Gelingt das nicht ohne Überlauf,
+     * bleibt die Skalierung aus.
+     *
+     * @param row Index der Restriktion
+     */
+    private void normalizeRow(int row) {
+        Fraction[] term = this.terms.get(row);
+        if (this.rightSides.get(row).signum() < 0) {
+            for (int col = 0; col < term.length; col++) {
+                term[col] = term[col].multiplyBy(Fraction.MINUS_ONE);
+            }
+            this.rightSides.set(row, this.rightSides.get(row).multiplyBy(Fraction.MINUS_ONE));
+            Type type = this.types.get(row);
+            this.types.set(row, type == Type.LE ? Type.GE : type == Type.GE ? Type.LE : type);
+        }
+        try {
+            long lcm = 1;
+            long gcd = 0;
+            for (Fraction value : term) {
+                long den = value.getDenominator();
+                lcm = Math.multiplyExact(lcm, den / Fraction.gcd(lcm, den));
+            }
+            for (Fraction value : term) {
+                gcd = Fraction.gcd(gcd, Math.multiplyExact(value.getNumerator(),
+                        lcm / value.getDenominator()));
+            }
+            if (gcd != 0) {
+                Fraction factor = Fraction.valueOf(lcm, gcd);
+                Fraction[] scaled = new Fraction[term.length];
+                for (int col = 0; col < term.length; col++) {
+                    scaled[col] = term[col].multiplyBy(factor);
+                }
+                Fraction rhs = this.rightSides.get(row).multiplyBy(factor);
+                System.arraycopy(scaled, 0, term, 0, term.length);
+                this.rightSides.set(row, rhs);
+            }
+        } catch (ArithmeticException e) {
+            //Restriktion unskaliert lassen
+        }
+    }
+
+    /**
+     * Entfernt Restriktionen ohne von 0 verschiedene Koeffizienten.
+     *
+     * @return true, wenn eine Restriktion entfernt wurde
+     */
+    private boolean removeEmptyRows() {
+        boolean changed = false;
+        for (int row = this.terms.size() - 1; row >= 0; row--) {
+            if (countNonZeros(this.terms.get(row)) == 0) {
+                //0 <= b gilt immer, 0 >= b und 0 = b nur fuer b = 0
+                if (this.types.get(row) != Type.LE && this.rightSides.get(row).signum() != 0) {
+                    this.unsolvable = true;
+                }
+                removeRow(row);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Setzt Restriktionen mit genau einem von 0 verschiedenen Koeffizienten a ein. Gleichungen
+     * fixieren die Unbekannte auf b / a, untere Schranken verschieben sie um b / a, obere
+     * Schranken verschärfen die Schranke der Unbekannten.
+     *
+     * @return true, wenn eine Restriktion eingesetzt oder entfernt wurde
+     */
+    private boolean substituteSingletonRows() {
+        boolean changed = false;
+        for (int row = this.terms.size() - 1; row >= 0 && !this.unsolvable; row--) {
+            if (row >= this.terms.size()) {
+                continue;
+            }
+            Fraction[] term = this.terms.get(row);
+            if (countNonZeros(term) != 1) {
+                continue;
+            }
+            int col = 0;
+            while (term[col].signum() == 0) {
+                col++;
+            }
+            Fraction bound = this.rightSides.get(row).divideBy(term[col]);
+            boolean positive = term[col].signum() > 0;
+            switch (this.types.get(row)) {
+                case EQ:
+                    if (bound.signum() < 0) {
+                        this.unsolvable = true;
+                    } else {
+                        removeRow(row);
+                        shiftColumn(col, bound, true);
+                    }
+                    changed = true;
+                    break;
+                case GE:
+                    if (positive) {
+                        //untere Schranke x >= b / a
+                        removeRow(row);
+                        if (bound.signum() > 0) {
+                            shiftColumn(col, bound, false);
+                        }
+                    } else if (bound.signum() < 0) {
+                        //x <= b / a < 0 widerspricht x >= 0
+                        this.unsolvable = true;
+                    } else {
+                        removeRow(row);
+                        shiftColumn(col, Fraction.ZERO, true);
+                    }
+                    changed = true;
+                    break;
+                default:
+                    //fuer a < 0 folgt x >= b / a aus x >= 0
+                    removeRow(row);
+                    if (positive && (this.upperBounds[col] == null
+                            || bound.compareTo(this.upperBounds[col]) < 0)) {
+                        this.upperBounds[col] = bound;
+                    }
+                    changed = true;
+                    break;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Fasst Restriktionen mit gleichen Koeffizienten zusammen. Da alle Restriktionen vorher
+     * skaliert werden, werden so auch Vielfache derselben Restriktion erkannt.
+     *
+     * @return true, wenn eine Restriktion entfernt wurde
+     */
+    private boolean removeDuplicateRows() {
+        Map<List<Fraction>, Integer> seen = new HashMap<>();
+        for (int row = 0; row < this.terms.size(); row++) {
+            List<Fraction> key = Arrays.asList(this.terms.get(row));
+            Integer other = seen.get(key);
+            if (other == null) {
+                seen.put(key, row);
+                continue;
+            }
+            int keep = mergeRows(other, row);
+            if (keep >= 0) {
+                removeRow(keep == other ? row : other);
+                //Indices hinter der entfernten Zeile haben sich verschoben
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vergleicht zwei Restriktionen mit gleichen Koeffizienten.
+     *
+     * @param first  Index der ersten Restriktion
+     * @param second Index der zweiten Restriktion
+     * @return Index der Restriktion, die die andere impliziert und daher erhalten bleibt, oder -1,
+     * wenn beide erhalten bleiben
+     */
+    private int mergeRows(int first, int second) {
+        Type t1 = this.types.get(first);
+        Type t2 = this.types.get(second);
+        int cmp = this.rightSides.get(first).compareTo(this.rightSides.get(second));
+        if (t1 == t2) {
+            if (t1 == Type.EQ && cmp != 0) {
+                this.unsolvable = true;
+                return -1;
+            }
+            //LE: kleinere rechte Seite ist schaerfer, GE: groessere
+            return (t1 == Type.GE) == (cmp >= 0) ? first : second;
+        }
+        if (t1 == Type.EQ || t2 == Type.EQ) {
+            int eq = t1 == Type.EQ ? first : second;
+            Type other = t1 == Type.EQ ? t2 : t1;
+            int sign = eq == first ? cmp : -cmp;
+            //Gleichung muss die Ungleichung erfuellen
+            if ((other == Type.LE && sign > 0) || (other == Type.GE && sign < 0)) {
+                this.unsolvable = true;
+                return -1;
+            }
+            return eq;
+        }
+        return -1;
+    }
+
+    /**
+     * Fixiert dominierte Unbekannte. Vergrößert eine Unbekannte in keiner Restriktion die linke
+     * Seite einer LE- oder verkleinert die einer GE-Restriktion und kommt in keiner Gleichung vor,
+     * wird sie auf ihre obere Schranke gesetzt, wenn sie die Zielfunktion verbessert; ohne obere
+     * Schranke ist das Problem dann unbeschränkt oder unzulässig. Gilt das Umgekehrte und
+     * verbessert sie die Zielfunktion nicht, wird sie auf 0 gesetzt.
+     *
+     * @return true, wenn eine Unbekannte fixiert wurde
+     */
+    private boolean removeDominatedColumns() {
+        boolean changed = false;
+        Fraction[] objective = this.original.getObjectiveTerm();
+        int improving = this.original.getSolveType() == SolveType.MAX ? 1 : -1;
+        for (int col = 0; col < this.removed.length; col++) {
+            if (this.removed[col]) {
+                continue;
+            }
+            //dominated: Erhoehen verschaerft nur, relaxing: Erhoehen lockert nur
+            boolean dominated = true;
+            boolean relaxing = true;
+            for (int row = 0; row < this.terms.size() && (dominated || relaxing); row++) {
+                int sign = this.terms.get(row)[col].signum();
+                Type type = this.types.get(row);
+                dominated &= sign == 0 || (type == Type.LE && sign > 0)
+                        || (type == Type.GE && sign < 0);
+                relaxing &= sign == 0 || (type == Type.LE && sign < 0)
+                        || (type == Type.GE && sign > 0);
+            }
+            Fraction upper = this.upperBounds[col];
+            if (objective[col].signum() == improving) {
+                if (relaxing && upper == null) {
+                    this.unsolvable = true;
+                    return true;
+                } else if (relaxing) {
+                    shiftColumn(col, upper, true);
+                    changed = true;
+                }
+            } else if (dominated || (upper != null && upper.signum() == 0)) {
+                shiftColumn(col, Fraction.ZERO, true);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Ersetzt die Unbekannte x durch x' + value, indem value in alle Restriktionen und die
+     * Zielfunktion eingesetzt wird.
+     *
+     * @param col    Index der Unbekannten
+     * @param value  einzusetzender Wert
+     * @param remove true, wenn die Unbekannte damit fixiert ist und entfernt wird
+     */
+    private void shiftColumn(int col, Fraction value, boolean remove) {
+        if (this.upperBounds[col] != null) {
+            this.upperBounds[col] = this.upperBounds[col].subtract(value);
+            //Schranken widersprechen sich
+            this.unsolvable |= this.upperBounds[col].signum() < 0;
+        }
+        if (value.signum() != 0) {
+            for (int row = 0; row < this.terms.size(); row++) {
+                Fraction[] term = this.terms.get(row);
+                if (term[col].signum() != 0) {
+                    this.rightSides.set(row, this.rightSides.get(row).subtractProduct(term[col],
+                            value));
+                }
+            }
+            this.constant = this.constant.add(this.original.getObjectiveTerm()[col]
+                    .multiplyBy(value));
+            this.offsets[col] = this.offsets[col].add(value);
+        }
+        if (remove) {
+            for (Fraction[] term : this.terms) {
+                term[col] = Fraction.ZERO;
+            }
+            this.removed[col] = true;
+        }
+        for (int row = 0; row < this.terms.size(); row++) {
+            normalizeRow(row);
+        }
+    }
+
+    /**
+     * @param row Index der zu entfernenden Restriktion
+     */
+    private void removeRow(int row) {
+        this.terms.remove(row);
+        this.types.remove(row);
+        this.rightSides.remove(row);
+    }
+
+    /**
+     * @param term Koeffizienten einer Restriktion
+     * @return Anzahl der von 0 verschiedenen Koeffizienten
+     */
+    private static int countNonZeros(Fraction[] term) {
+        int count = 0;
+        for (Fraction value : term) {
+            if (value.signum() != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Erzeugt das reduzierte Problem aus den verbleibenden Restriktionen, Unbekannten und oberen
+     * Schranken.
+     */
+    private void buildReducedProgram() {
+        int numUnknowns = 0;
+        for (boolean r : this.removed) {
+            numUnknowns += r ? 0 : 1;
+        }
+        this.columnMap = new int[numUnknowns];
+        for (int col = 0, k = 0; col < this.removed.length; col++) {
+            if (!this.removed[col]) {
+                this.columnMap[k++] = col;
+            }
+        }
+        if (numUnknowns == 0) {
+            return;
+        }
+        Restriction[] restrictions = new Restriction[this.terms.size()];
+        for (int row = 0; row < restrictions.length; row++) {
+            Fraction[] term = new Fraction[numUnknowns];
+            for (int k = 0; k < numUnknowns; k++) {
+                term[k] = this.terms.get(row)[this.columnMap[k]];
+            }
+            restrictions[row] = new Restriction(term, this.types.get(row),
+                    this.rightSides.get(row));
+        }
+        Fraction[] objective = new Fraction[numUnknowns];
+        Fraction[] upper = new Fraction[numUnknowns];
+        boolean bounded = false;
+        for (int k = 0; k < numUnknowns; k++) {
+            objective[k] = this.original.getObjectiveTerm()[this.columnMap[k]];
+            upper[k] = this.upperBounds[this.columnMap[k]];
+            bounded |= upper[k] != null;
+        }
+        this.reduced = new LinearProgram(restrictions, this.original.getSolveType(),
+                this.original.getTableauType(), objective);
+        if (bounded) {
+            this.reduced = this.reduced.withBounds(null, upper);
+        }
+    }
+}
@@ -0,0 +1,525 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Revidierter Simplex-Algorithmus in Gleitkommaarithmetik. Statt das vollständige Tableau in jedem
+ * Schritt umzuschreiben, wird nur die Basismatrix als LU-Zerlegung gehalten. Basiswechsel werden
+ * in Produktform (Eta-Matrizen) an die Zerlegung angehängt; nach einer festen Anzahl von Wechseln
+ * wird die Basis neu zerlegt.
+ * <p>
+ * Die Variablen sind wie im Tableau des SimplexSolvers angeordnet: Unbekannte, Schlupfvariablen,
+ * künstliche Variablen. Die Indices der Basisvariablen sind damit direkt vergleichbar. Die
+ * Restriktionskoeffizienten werden spaltenweise dünnbesetzt gehalten.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class RevisedSimplexSolver {
+
+    /**
+     * Betrag, unterhalb dessen ein Wert als 0 gilt
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Standardanzahl an Basiswechseln zwischen zwei Neuzerlegungen
+     */
+    private static final int DEFAULT_REFACTOR_INTERVAL = 64;
+
+    /**
+     * Beginn jeder Spalte der Restriktionskoeffizienten (CSC-Format)
+     */
+    private final int[] colPointers;
+
+    /**
+     * Zeilenindices der von 0 verschiedenen Restriktionskoeffizienten
+     */
+    private final int[] rowIndices;
+
+    /**
+     * Werte der von 0 verschiedenen Restriktionskoeffizienten
+     */
+    private final double[] values;
+
+    /**
+     * rechte Seiten der Restriktionen
+     */
+    private final double[] rightSide;
+
+    /**
+     * Koeffizient der Schlupfvariablen je Restriktion (1 bei LE, -1 bei GE, 0 bei EQ)
+     */
+    private final double[] slackSign;
+
+    /**
+     * Koeffizienten der Zielfunktion
+     */
+    private final double[] objective;
+
+    /**
+     * Typ der Zielfunktion
+     */
+    private final LinearProgram.SolveType solveType;
+
+    /**
+     * Anzahl der Restriktionen
+     */
+    private final int numConstraints;
+
+    /**
+     * Anzahl der Unbekannten
+     */
+    private final int numUnknowns;
+
+    /**
+     * Anzahl an Basiswechseln, nach denen die Basis neu zerlegt wird
+     */
+    private final int refactorInterval;
+
+    /**
+     * Indices der Basisvariablen
+     */
+    private final int[] baseVars;
+
+    /**
+     * Werte der Basisvariablen
+     */
+    private final double[] baseValues;
+
+    /**
+     * LU-Zerlegung der Basis zum Zeitpunkt der letzten Neuzerlegung
+     */
+    private LUDecomposition lu;
+
+    /**
+     * Pivotzeilen der Eta-Matrizen seit der letzten Neuzerlegung
+     */
+    private final int[] etaRows;
+
+    /**
+     * Pivotspalten (B^-1 * a_q) der Eta-Matrizen seit der letzten Neuzerlegung
+     */
+    private final double[][] etaCols;
+
+    /**
+     * Anzahl der Eta-Matrizen seit der letzten Neuzerlegung
+     */
+    private int etaCount;
+
+    /**
+     * Anzahl der Basiswechsel des letzten Lösungsvorgangs
+     */
+    private int iterations;
+
+    /**
+     * Erstellt einen Automaten aus dem übergebenen linearen Optimierungsproblem.
+     *
+     * @param lp lineares Problem, das optimiert werden soll
+     * @pre lp != null
+     */
+    public RevisedSimplexSolver(LinearProgram lp) {
+        this(lp, DEFAULT_REFACTOR_INTERVAL);
+    }
+
+    /**
+     * Erstellt einen Automaten aus dem übergebenen linearen Optimierungsproblem, der die Basis
+     * nach refactorInterval Basiswechseln neu zerlegt.
+     *
+     * @param lp               lineares Problem, das optimiert werden soll
+     * @param refactorInterval Anzahl an Basiswechseln zwischen zwei Neuzerlegungen
+     * @pre lp != null
+     * @pre refactorInterval &gt; 0
+     */
+    public RevisedSimplexSolver(LinearProgram lp, int refactorInterval) {
+        assert lp != null;
+        assert refactorInterval > 0;
+        LinearProgram.Restriction[] restrictions = lp.getRestrictions();
+        this.solveType = lp.getSolveType();
+        this.numConstraints = restrictions.length;
+        this.numUnknowns = lp.getObjectiveTerm().length;
+        this.refactorInterval = refactorInterval;
+        //spaltenweiser Zugriff ueber die transponierte CSR-Matrix
+        SparseMatrix columns = lp.getConstraintMatrix().transpose();
+        this.colPointers = new int[this.numUnknowns + 1];
+        this.rowIndices = new int[columns.getNonZeroCount()];
+        this.values = new double[columns.getNonZeroCount()];
+        for (int col = 0; col < this.numUnknowns; col++) {
+            this.colPointers[col + 1] = columns.getRowEnd(col);
+            for (int pos = columns.getRowStart(col); pos < columns.getRowEnd(col); pos++) {
+                this.rowIndices[pos] = columns.getColIndex(pos);
+                this.values[pos] = columns.getValue(pos).getAsFPN();
+            }
+        }
+        this.rightSide = new double[this.numConstraints];
+        this.slackSign = new double[this.numConstraints];
+        this.objective = new double[this.numUnknowns];
+        this.baseVars = new int[this.numConstraints];
+        this.baseValues = new double[this.numConstraints];
+        this.etaRows = new int[refactorInterval];
+        this.etaCols = new double[refactorInterval][];
+        for (int row = 0; row < this.numConstraints; row++) {
+            this.rightSide[row] = restrictions[row].getRightSide().getAsFPN();
+            switch (restrictions[row].getType()) {
+                case LE:
+                    this.slackSign[row] = 1;
+                    this.baseVars[row] = this.numUnknowns + row;
+                    break;
+                case GE:
+                    this.slackSign[row] = -1;
+                    this.baseVars[row] = this.numUnknowns + this.numConstraints + row;
+                    break;
+                default:
+                    this.slackSign[row] = 0;
+                    this.baseVars[row] = this.numUnknowns + this.numConstraints + row;
+                    break;
+            }
+        }
+        //intern wird stets maximiert
+        for (int col = 0; col < this.numUnknowns; col++) {
+            this.objective[col] = lp.getObjectiveTerm()[col].getAsFPN();
+            if (this.solveType == LinearProgram.SolveType.MIN) {
+                this.objective[col] = -this.objective[col];
+            }
+        }
+    }
+
+    /**
+     * Gibt eine Referenz auf die Indices der Basisvariablen zurück.
+     *
+     * @return Referenz auf die Indices der Basisvariablen
+     */
+    public int[] getBaseVars() {
+        return this.baseVars;
+    }
+
+    /**
+     * Gibt die Anzahl der Basiswechsel des letzten Lösungsvorgangs beider Phasen zurück.
+     *
+     * @return Anzahl der Basiswechsel
+     */
+    public int getIterationCount() {
+        return this.iterations;
+    }
+
+    /**
+     * Versucht, das lineare Optimierungsproblem mit dem zweiphasigen revidierten Simplex zu lösen.
+     *
+     * @return optimale Koeffizienten und Wert der Zielfunktion (in gegebener Reihenfolge, also x1,
+     * x2, ..., xn, z) oder null, wenn unlösbar
+     */
+    public double[] solve() {
+        this.iterations = 0;
+        refactor();
+        //Phase 1: Summe der kuenstlichen Variablen minimieren
+        if (!optimize(true) || artificialSum() > EPSILON * (1 + maxRightSide())) {
+            return null;
+        }
+        driveOutArtificials();
+        //Phase 2: eigentliche Zielfunktion
+        if (!optimize(false)) {
+            return null;
+        }
+        return getResult();
+    }
+
+    /**
+     * Führt Simplexschritte aus, bis keine Variable mehr die Zielfunktion verbessert.
+     *
+     * @param phaseOne true, wenn die Hilfszielfunktion der ersten Phase optimiert wird
+     * @return false, wenn die Zielfunktion unbeschränkt ist, ansonsten true
+     */
+    private boolean optimize(boolean phaseOne) {
+        double[] prices = new double[this.numConstraints];
+        double[] column = new double[this.numConstraints];
+        while (true) {
+            //Schattenpreise y = c_B * B^-1
+            for (int i = 0; i < this.numConstraints; i++) {
+                prices[i] = cost(this.baseVars[i], phaseOne);
+            }
+            btran(prices);
+            int pivotCol = findPivotCol(prices, phaseOne);
+            if (pivotCol < 0) {
+                return true;
+            }
+            loadColumn(pivotCol, column);
+            ftran(column);
+            int pivotRow = findPivotRow(column);
+            if (pivotRow < 0) {
+                return false;
+            }
+            pivot(pivotRow, pivotCol, column);
+        }
+    }
+
+    /**
+     * findet die Pivotspalte nach der Regel des größten reduzierten Zielfunktionskoeffizienten
+     *
+     * @param prices   Schattenpreise der Restriktionen
+     * @param phaseOne true in der ersten Phase
+     * @return Index der Pivotspalte, -1 wenn keine Variable die Zielfunktion verbessert
+     */
+    private int findPivotCol(double[] prices, boolean phaseOne) {
+        boolean[] basic = new boolean[this.numUnknowns + this.numConstraints];
+        for (int var : this.baseVars) {
+            if (var < basic.length) {
+                basic[var] = true;
+            }
+        }
+        int pivotCol = -1;
+        double max = EPSILON;
+        //kuenstliche Variablen werden nie wieder in die Basis aufgenommen
+        for (int col = 0; col < basic.length; col++) {
+            if (!basic[col]) {
+                double reduced = cost(col, phaseOne) - dot(prices, col);
+                if (reduced > max) {
+                    max = reduced;
+                    pivotCol = col;
+                }
+            }
+        }
+        return pivotCol;
+    }
+
+    /**
+     * findet die Pivotzeile über den kleinsten Quotienten
+     *
+     * @param column transformierte Pivotspalte B^-1 * a_q
+     * @return Index der Pivotzeile, -1 wenn die Spalte unbeschränkt ist
+     */
+    private int findPivotRow(double[] column) {
+        int pivotRow = -1;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < this.numConstraints; i++) {
+            if (column[i] > EPSILON) {
+                double ratio = Math.max(this.baseValues[i], 0) / column[i];
+                if (ratio < min) {
+                    min = ratio;
+                    pivotRow = i;
+                }
+            }
+        }
+        return pivotRow;
+    }
+
+    /**
+     * Führt einen Basiswechsel aus und hängt die zugehörige Eta-Matrix an die Zerlegung an.
+     *
+     * @param pivotRow Index der Pivotzeile (verlassende Basisvariable)
+     * @param pivotCol Index der Pivotspalte (neue Basisvariable)
+     * @param column   transformierte Pivotspalte B^-1 * a_q, wird von der Eta-Matrix übernommen
+     */
+    private void pivot(int pivotRow, int pivotCol, double[] column) {
+        double theta = this.baseValues[pivotRow] / column[pivotRow];
+        DoubleKernel.axpy(-theta, column, this.baseValues);
+        this.baseValues[pivotRow] = theta;
+        this.baseVars[pivotRow] = pivotCol;
+        this.iterations++;
+        if (this.etaCount == this.refactorInterval) {
+            refactor();
+        } else {
+            this.etaRows[this.etaCount] = pivotRow;
+            this.etaCols[this.etaCount] = column.clone();
+            this.etaCount++;
+        }
+    }
+
+    /**
+     * Zerlegt die aktuelle Basis neu, verwirft alle Eta-Matrizen und berechnet die Werte der
+     * Basisvariablen neu, um Rundungsfehler nicht zu verschleppen.
+     */
+    private void refactor() {
+        double[][] basis = new double[this.numConstraints][this.numConstraints];
+        double[] column = new double[this.numConstraints];
+        for (int j = 0; j < this.numConstraints; j++) {
+            loadColumn(this.baseVars[j], column);
+            for (int i = 0; i < this.numConstraints; i++) {
+                basis[i][j] = column[i];
+            }
+        }
+        this.lu = new LUDecomposition(basis, EPSILON);
+        this.etaCount = 0;
+        System.arraycopy(this.rightSide, 0, this.baseValues, 0, this.numConstraints);
+        this.lu.solve(this.baseValues);
+    }
+
+    /**
+     * Berechnet B^-1 * v (FTRAN).
+     *
+     * @param v Vektor, wird mit dem Ergebnis überschrieben
+     */
+    private void ftran(double[] v) {
+        this.lu.solve(v);
+        for (int k = 0; k < this.etaCount; k++) {
+            int r = this.etaRows[k];
+            double[] eta = this.etaCols[k];
+            double vr = v[r] / eta[r];
+            DoubleKernel.axpy(-vr, eta, v);
+            v[r] = vr;
+        }
+    }
+
+    /**
+     * Berechnet v * B^-1 (BTRAN).
+     *
+     * @param v Vektor, wird mit dem Ergebnis überschrieben
+     */
+    private void btran(double[] v) {
+        for (int k = this.etaCount - 1; k >= 0; k--) {
+            int r = this.etaRows[k];
+            double[] eta = this.etaCols[k];
+            //Skalarprodukt ohne den Eintrag der Pivotzeile
+            double sum = v[r] - DoubleKernel.dot(v, 0, eta, 0, r)
+                    - DoubleKernel.dot(v, r + 1, eta, r + 1, v.length - r - 1);
+            v[r] = sum / eta[r];
+        }
+        this.lu.solveTranspose(v);
+    }
+
+    /**
+     * Schreibt die Spalte einer Variablen in einen Vektor.
+     *
+     * @param var    Index der Variablen
+     * @param column Zielvektor der Länge numConstraints
+     */
+    private void loadColumn(int var, double[] column) {
+        Arrays.fill(column, 0);
+        if (var < this.numUnknowns) {
+            for (int pos = this.colPointers[var]; pos < this.colPointers[var + 1]; pos++) {
+                column[this.rowIndices[pos]] = this.values[pos];
+            }
+        } else {
+            if (var < this.numUnknowns + this.numConstraints) {
+                column[var - this.numUnknowns] = this.slackSign[var - this.numUnknowns];
+            } else {
+                column[var - this.numUnknowns - this.numConstraints] = 1;
+            }
+        }
+    }
+
+    /**
+     * Berechnet das Skalarprodukt eines Vektors mit der Spalte einer Variablen.
+     *
+     * @param v   Vektor der Länge numConstraints
+     * @param var Index der Variablen
+     * @return v * a_var
+     */
+    private double dot(double[] v, int var) {
+        if (var >= this.numUnknowns) {
+            int row = (var - this.numUnknowns) % this.numConstraints;
+            return var < this.numUnknowns + this.numConstraints ? v[row] * this.slackSign[row]
+                    : v[row];
+        }
+        double sum = 0;
+        for (int pos = this.colPointers[var]; pos < this.colPointers[var + 1]; pos++) {
+            sum += v[this.rowIndices[pos]] * this.values[pos];
+        }
+        return sum;
+    }
+
+    /**
+     * @param var      Index der Variablen
+     * @param phaseOne true in der ersten Phase
+     * @return Koeffizient der Variablen in der (Hilfs-)Zielfunktion
+     */
+    private double cost(int var, boolean phaseOne) {
+        if (phaseOne) {
+            return isArtificial(var) ? -1 : 0;
+        }
+        return var < this.numUnknowns ? this.objective[var] : 0;
+    }
+
+    /**
+     * @param var Index der Variablen
+     * @return true, wenn die Variable eine künstliche Variable ist
+     */
+    private boolean isArtificial(int var) {
+        return var >= this.numUnknowns + this.numConstraints;
+    }
+
+    /**
+     * @return Summe der Werte der künstlichen Basisvariablen
+     */
+    private double artificialSum() {
+        double sum = 0;
+        for (int i = 0; i < this.numConstraints; i++) {
+            if (isArtificial(this.baseVars[i])) {
+                sum += this.baseValues[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return größte rechte Seite, dient als Maßstab für die Toleranz der ersten Phase
+     */
+    private double maxRightSide() {
+        double max = 0;
+        for (double value : this.rightSide) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max;
+    }
+
+    /**
+     * Tauscht künstliche Variablen, die nach der ersten Phase mit dem Wert 0 in der Basis
+     * verblieben sind, gegen normale oder Schlupfvariablen. Gelingt das nicht, ist die
+     * Restriktion redundant und die künstliche Variable bleibt dauerhaft 0.
+     */
+    private void driveOutArtificials() {
+        double[] row = new double[this.numConstraints];
+        double[] column = new double[this.numConstraints];
+        for (int r = 0; r < this.numConstraints; r++) {
+            if (isArtificial(this.baseVars[r])) {
+                Arrays.fill(row, 0);
+                row[r] = 1;
+                btran(row);
+                int candidate = -1;
+                for (int var = 0; var < this.numUnknowns + this.numConstraints && candidate < 0;
+                        var++) {
+                    if (!isBasic(var) && Math.abs(dot(row, var)) > EPSILON) {
+                        candidate = var;
+                    }
+                }
+                if (candidate >= 0) {
+                    loadColumn(candidate, column);
+                    ftran(column);
+                    pivot(r, candidate, column);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param var Index der Variablen
+     * @return true, wenn die Variable in der Basis ist
+     */
+    private boolean isBasic(int var) {
+        for (int base : this.baseVars) {
+            if (base == var) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * liefert das Ergebnis der Optimierung zurueck
+     *
+     * @return Ergebnis der Optimierung in der Reihenfolge x1, x2, ..., xn, z)
+     */
+    private double[] getResult() {
+        double[] result = new double[this.numUnknowns + 1];
+        for (int i = 0; i < this.numConstraints; i++) {
+            if (this.baseVars[i] < this.numUnknowns) {
+                result[this.baseVars[i]] = Math.abs(this.baseValues[i]) <= EPSILON ? 0
+                        : this.baseValues[i];
+            }
+        }
+        double z = 0;
+        for (int col = 0; col < this.numUnknowns; col++) {
+            z += this.objective[col] * result[col];
+        }
+        result[this.numUnknowns] = this.solveType == LinearProgram.SolveType.MIN ? -z : z;
+        return result;
+    }
+}
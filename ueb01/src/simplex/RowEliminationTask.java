@@ -0,0 +1,79 @@
+package simplex;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reduziert einen Bereich von Tableauzeilen gegen die Pivotzeile. Der Bereich wird so lange
+ * halbiert, bis er höchstens grainSize Zeilen umfasst. Da jede Zeile nur gelesen und in sich selbst
+ * geschrieben wird und die Pivotzeile unverändert bleibt, ist das Ergebnis identisch mit der
+ * sequentiellen Reduktion.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+class RowEliminationTask extends RecursiveAction {
+
+    /**
+     * zu reduzierendes Tableau
+     */
+    private final Tableau tableau;
+
+    /**
+     * Index der Pivotzeile
+     */
+    private final int pivotRow;
+
+    /**
+     * Index der Pivotspalte
+     */
+    private final int pivotCol;
+
+    /**
+     * erste Zeile des Bereichs
+     */
+    private final int from;
+
+    /**
+     * Zeile hinter dem Bereich
+     */
+    private final int to;
+
+    /**
+     * maximale Anzahl an Zeilen, die ohne weitere Teilung bearbeitet wird
+     */
+    private final int grainSize;
+
+    /**
+     * Konstruktor.
+     *
+     * @param tableau   zu reduzierendes Tableau
+     * @param pivotRow  Index der (bereits normalisierten) Pivotzeile
+     * @param pivotCol  Index der Pivotspalte
+     * @param from      erste Zeile des Bereichs
+     * @param to        Zeile hinter dem Bereich
+     * @param grainSize maximale Anzahl an Zeilen je Teilaufgabe
+     * @pre grainSize &gt; 0
+     */
+    RowEliminationTask(Tableau tableau, int pivotRow, int pivotCol, int from, int to,
+            int grainSize) {
+        assert grainSize > 0;
+        this.tableau = tableau;
+        this.pivotRow = pivotRow;
+        this.pivotCol = pivotCol;
+        this.from = from;
+        this.to = to;
+        this.grainSize = grainSize;
+    }
+
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= this.grainSize) {
+            this.tableau.eliminateRows(this.from, this.to, this.pivotRow, this.pivotCol);
+        } else {
+            int mid = (this.from + this.to) >>> 1;
+            invokeAll(new RowEliminationTask(this.tableau, this.pivotRow, this.pivotCol,
+                            this.from, mid, this.grainSize),
+                    new RowEliminationTask(this.tableau, this.pivotRow, this.pivotCol,
+                            mid, this.to, this.grainSize));
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package simplex;
+
+import java.util.Arrays;
+
+import simplex.LinearProgram.Restriction;
+
+/**
+ * Skalierung eines linearen Optimierungsproblems vor dem Aufbau des Tableaus. Jede Restriktion i
+ * wird mit einem Zeilenfaktor r_i und jede Unbekannte j mit einem Spaltenfaktor s_j
+ * multipliziert (a'_ij = r_i * a_ij * s_j, b'_i = r_i * b_i, c'_j = c_j * s_j), sodass die
+ * Beträge der Koeffizienten möglichst nahe bei 1 liegen. Die Faktoren werden in mehreren
+ * Durchgängen nach dem geometrischen Mittel aus kleinstem und größtem Betrag jeder Zeile bzw.
+ * Spalte bestimmt und abschließend so equilibriert, dass der größte Betrag jeder Spalte bei 1
+ * liegt.
+ * <p>
+ * Alle Faktoren sind Zweierpotenzen. Die Skalierung ist damit auch für Brüche exakt, verändert
+ * keine Mantisse einer Gleitkommazahl und lässt sich mit {@link #unscale(Fraction[])} bzw.
+ * {@link #unscale(double[])} verlustfrei rückgängig machen: x_j = s_j * x'_j, der Wert der
+ * Zielfunktion bleibt gleich. Ganzzahlige Unbekannte werden nicht skaliert, Schranken werden
+ * mit der Unbekannten umgerechnet.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class Scaler {
+
+    /**
+     * maximale Anzahl an Durchgängen nach dem geometrischen Mittel
+     */
+    private static final int MAX_PASSES = 8;
+
+    /**
+     * Ein weiterer Durchgang erfolgt nur, wenn er die Spanne der Beträge um mindestens diesen
+     * Anteil verringert hat.
+     */
+    private static final double MIN_IMPROVEMENT = 0.1;
+
+    /**
+     * Betrag des größten Exponenten eines Zeilen- oder Spaltenfaktors
+     */
+    private static final int MAX_EXPONENT = 20;
+
+    /**
+     * ursprüngliches Problem
+     */
+    private final LinearProgram original;
+
+    /**
+     * Zweierexponenten der Zeilenfaktoren
+     */
+    private final int[] rowExponents;
+
+    /**
+     * Zweierexponenten der Spaltenfaktoren
+     */
+    private final int[] colExponents;
+
+    /**
+     * skaliertes Problem, das ursprüngliche, wenn alle Faktoren 1 sind
+     */
+    private LinearProgram scaled;
+
+    /**
+     * Bestimmt die Faktoren für das übergebene Problem und erzeugt das skalierte Problem.
+     *
+     * @param lp zu skalierendes Problem
+     * @pre lp != null
+     */
+    public Scaler(LinearProgram lp) {
+        assert lp != null;
+        this.original = lp;
+        SparseMatrix matrix = lp.getConstraintMatrix();
+        this.rowExponents = new int[matrix.getRowCount()];
+        this.colExponents = new int[lp.getObjectiveTerm().length];
+        computeExponents(matrix);
+        try {
+            this.scaled = isIdentity() ? lp : buildScaledProgram(matrix);
+        } catch (ArithmeticException e) {
+            //ein skalierter Koeffizient passt nicht in Fraction, daher unskaliert loesen
+            Arrays.fill(this.rowExponents, 0);
+            Arrays.fill(this.colExponents, 0);
+            this.scaled = lp;
+        }
+    }
+
+    /**
+     * Bestimmt die Zweierexponenten aller Faktoren. Gerechnet wird mit den Logarithmen der
+     * Beträge, gerundet wird erst am Ende.
+     *
+     * @param matrix Koeffizienten der Restriktionen
+     */
+    private void computeExponents(SparseMatrix matrix) {
+        int numRows = this.rowExponents.length;
+        int numCols = this.colExponents.length;
+        int[] cols = new int[matrix.getNonZeroCount()];
+        double[] logs = new double[cols.length];
+        int[] rowOf = new int[cols.length];
+        for (int row = 0; row < numRows; row++) {
+            for (int pos = matrix.getRowStart(row); pos < matrix.getRowEnd(row); pos++) {
+                rowOf[pos] = row;
+                cols[pos] = matrix.getColIndex(pos);
+                logs[pos] = log2(matrix.getValue(pos));
+            }
+        }
+        double[] rowScale = new double[numRows];
+        double[] colScale = new double[numCols];
+        double[] min = new double[Math.max(numRows, numCols)];
+        double[] max = new double[min.length];
+        double spread = spread(logs, rowOf, cols, rowScale, colScale);
+        for (int pass = 0; pass < MAX_PASSES && spread > 0; pass++) {
+            //Zeilen: log r_i = -(min + max) / 2 ueber die bereits skalierten Spalten
+            resetBounds(min, max, numRows);
+            for (int pos = 0; pos < logs.length; pos++) {
+                updateBounds(min, max, rowOf[pos], logs[pos] + colScale[cols[pos]]);
+            }
+            for (int row = 0; row < numRows; row++) {
+                rowScale[row] = min[row] <= max[row] ? -(min[row] + max[row]) / 2 : 0;
+            }
+            //Spalten entsprechend ueber die skalierten Zeilen
+            resetBounds(min, max, numCols);
+            for (int pos = 0; pos < logs.length; pos++) {
+                updateBounds(min, max, cols[pos], logs[pos] + rowScale[rowOf[pos]]);
+            }
+            for (int col = 0; col < numCols; col++) {
+                colScale[col] = min[col] <= max[col] ? -(min[col] + max[col]) / 2 : 0;
+            }
+            double next = spread(logs, rowOf, cols, rowScale, colScale);
+            boolean improved = next < (1 - MIN_IMPROVEMENT) * spread;
+            spread = next;
+            if (!improved) {
+                break;
+            }
+        }
+        for (int row = 0; row < numRows; row++) {
+            this.rowExponents[row] = toExponent(rowScale[row]);
+        }
+        //Equilibrierung ueber die gerundeten Zeilen: groesster Betrag jeder Spalte wird 1
+        resetBounds(min, max, numCols);
+        for (int pos = 0; pos < logs.length; pos++) {
+            updateBounds(min, max, cols[pos], logs[pos] + this.rowExponents[rowOf[pos]]);
+        }
+        for (int col = 0; col < numCols; col++) {
+            boolean skip = min[col] > max[col] || this.original.isInteger(col);
+            this.colExponents[col] = skip ? 0 : toExponent(-max[col]);
+        }
+    }
+
+    /**
+     * @param value Koeffizient ungleich 0
+     * @return Zweierlogarithmus des Betrags
+     */
+    private static double log2(Fraction value) {
+        return (Math.log(Math.abs((double) value.getNumerator()))
+                - Math.log(value.getDenominator())) / Math.log(2);
+    }
+
+    /**
+     * Setzt die ersten count Einträge von min auf +unendlich und von max auf -unendlich.
+     *
+     * @param min   kleinste Werte je Zeile bzw. Spalte
+     * @param max   größte Werte je Zeile bzw. Spalte
+     * @param count Anzahl der zurückzusetzenden Einträge
+     */
+    private static void resetBounds(double[] min, double[] max, int count) {
+        Arrays.fill(min, 0, count, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, 0, count, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Erweitert das Intervall [min[index], max[index]] um value.
+     *
+     * @param min   kleinste Werte je Zeile bzw. Spalte
+     * @param max   größte Werte je Zeile bzw. Spalte
+     * @param index Index der Zeile bzw. Spalte
+     * @param value aufzunehmender Wert
+     */
+    private static void updateBounds(double[] min, double[] max, int index, double value) {
+        min[index] = Math.min(min[index], value);
+        max[index] = Math.max(max[index], value);
+    }
+
+    /**
+     * Berechnet die Spanne log(max / min) der Beträge aller skalierten Koeffizienten.
+     *
+     * @param logs     Zweierlogarithmen der Beträge aller Koeffizienten
+     * @param rowOf    Zeile je Koeffizient
+     * @param cols     Spalte je Koeffizient
+     * @param rowScale Zweierlogarithmen der Zeilenfaktoren
+     * @param colScale Zweierlogarithmen der Spaltenfaktoren
+     * @return Spanne oder 0, wenn es keinen Koeffizienten gibt
+     */
+    private static double spread(double[] logs, int[] rowOf, int[] cols, double[] rowScale,
+            double[] colScale) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int pos = 0; pos < logs.length; pos++) {
+            double value = logs[pos] + rowScale[rowOf[pos]] + colScale[cols[pos]];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return logs.length == 0 ? 0 : max - min;
+    }
+
+    /**
+     * @param log Zweierlogarithmus eines Faktors
+     * @return auf eine ganze Zahl in [-MAX_EXPONENT, MAX_EXPONENT] gerundeter Exponent
+     */
+    private static int toExponent(double log) {
+        return (int) Math.max(-MAX_EXPONENT, Math.min(MAX_EXPONENT, Math.round(log)));
+    }
+
+    /**
+     * @return true, wenn alle Faktoren 1 sind
+     */
+    private boolean isIdentity() {
+        for (int exponent : this.rowExponents) {
+            if (exponent != 0) {
+                return false;
+            }
+        }
+        for (int exponent : this.colExponents) {
+            if (exponent != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Erzeugt das skalierte Problem mit denselben Restriktionstypen, Schranken und ganzzahligen
+     * Unbekannten.
+     *
+     * @param matrix Koeffizienten der Restriktionen
+     * @return skaliertes Problem
+     * @throws ArithmeticException wenn ein skalierter Wert nicht als Fraction darstellbar ist
+     */
+    private LinearProgram buildScaledProgram(SparseMatrix matrix) {
+        Restriction[] restrictions = this.original.getRestrictions();
+        int numCols = this.colExponents.length;
+        SparseMatrix.Builder builder = new SparseMatrix.Builder(restrictions.length, numCols);
+        Restriction.Type[] types = new Restriction.Type[restrictions.length];
+        Fraction[] rightSides = new Fraction[restrictions.length];
+        for (int row = 0; row < restrictions.length; row++) {
+            int exponent = this.rowExponents[row];
+            for (int pos = matrix.getRowStart(row); pos < matrix.getRowEnd(row); pos++) {
+                int col = matrix.getColIndex(pos);
+                builder.add(row, col, scale(matrix.getValue(pos),
+                        exponent + this.colExponents[col]));
+            }
+            types[row] = restrictions[row].getType();
+            rightSides[row] = scale(restrictions[row].getRightSide(), exponent);
+        }
+        Fraction[] objective = new Fraction[numCols];
+        for (int col = 0; col < numCols; col++) {
+            objective[col] = scale(this.original.getObjectiveTerm()[col], this.colExponents[col]);
+        }
+        LinearProgram result = new LinearProgram(builder.build(), types, rightSides,
+                this.original.getSolveType(), this.original.getTableauType(), objective);
+        if (this.original.hasBounds()) {
+            //x' = x / s, daher Schranken durch den Spaltenfaktor teilen
+            Fraction[] lower = new Fraction[numCols];
+            Fraction[] upper = new Fraction[numCols];
+            for (int col = 0; col < numCols; col++) {
+                lower[col] = scale(this.original.getLowerBound(col), -this.colExponents[col]);
+                Fraction bound = this.original.getUpperBound(col);
+                upper[col] = bound == null ? null : scale(bound, -this.colExponents[col]);
+            }
+            result = result.withBounds(lower, upper);
+        }
+        int numIntegers = 0;
+        for (int col = 0; col < numCols; col++) {
+            numIntegers += this.original.isInteger(col) ? 1 : 0;
+        }
+        if (numIntegers > 0) {
+            int[] integers = new int[numIntegers];
+            for (int col = 0, k = 0; col < numCols; col++) {
+                if (this.original.isInteger(col)) {
+                    integers[k++] = col;
+                }
+            }
+            result = result.withIntegerVariables(integers);
+        }
+        return result;
+    }
+
+    /**
+     * @param value    zu skalierender Wert
+     * @param exponent Zweierexponent des Faktors
+     * @return value * 2^exponent
+     * @throws ArithmeticException wenn das Ergebnis nicht als Fraction darstellbar ist
+     */
+    private static Fraction scale(Fraction value, int exponent) {
+        if (exponent == 0 || value.signum() == 0) {
+            return value;
+        }
+        Fraction factor = Fraction.valueOf(1L << Math.abs(exponent), 1);
+        return exponent > 0 ? value.multiplyBy(factor) : value.divideBy(factor);
+    }
+
+    /**
+     * Löst das skalierte Problem mit {@link SimplexSolver} und rechnet das Ergebnis auf das
+     * ursprüngliche Problem zurück.
+     *
+     * @return optimale Koeffizienten und Wert der Zielfunktion des ursprünglichen Problems (x1,
+     * x2, ..., xn, z) oder null, wenn unlösbar
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
+     */
+    public Fraction[] solve() {
+        return unscale(new SimplexSolver(this.scaled).solve());
+    }
+
+    /**
+     * Löst das skalierte Problem mit {@link RevisedSimplexSolver} und rechnet das Ergebnis auf
+     * das ursprüngliche Problem zurück.
+     *
+     * @return optimale Koeffizienten und Wert der Zielfunktion des ursprünglichen Problems (x1,
+     * x2, ..., xn, z) oder null, wenn unlösbar
+     */
+    public double[] solveRevised() {
+        return unscale(new RevisedSimplexSolver(this.scaled).solve());
+    }
+
+    /**
+     * Rechnet ein Ergebnis des skalierten Problems auf die Unbekannten des ursprünglichen
+     * Problems zurück.
+     *
+     * @param result Ergebnis des skalierten Problems (Unbekannte und Wert der Zielfunktion) oder
+     *               null
+     * @return Ergebnis des ursprünglichen Problems oder null, wenn result null ist
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
+     * @pre result == null oder result hat eine Komponente je Unbekannter und eine für den Wert
+     * der Zielfunktion
+     */
+    public Fraction[] unscale(Fraction[] result) {
+        if (result == null) {
+            return null;
+        }
+        assert result.length == this.colExponents.length + 1;
+        Fraction[] full = result.clone();
+        for (int col = 0; col < this.colExponents.length; col++) {
+            full[col] = scale(result[col], this.colExponents[col]);
+        }
+        return full;
+    }
+
+    /**
+     * Rechnet wie {@link #unscale(Fraction[])} ein Gleitkomma-Ergebnis des skalierten Problems
+     * zurück.
+     *
+     * @param result Ergebnis des skalierten Problems oder null
+     * @return Ergebnis des ursprünglichen Problems oder null, wenn result null ist
+     * @pre result == null oder result hat eine Komponente je Unbekannter und eine für den Wert
+     * der Zielfunktion
+     */
+    public double[] unscale(double[] result) {
+        if (result == null) {
+            return null;
+        }
+        assert result.length == this.colExponents.length + 1;
+        double[] full = result.clone();
+        for (int col = 0; col < this.colExponents.length; col++) {
+            full[col] = Math.scalb(result[col], this.colExponents[col]);
+        }
+        return full;
+    }
+
+    /**
+     * @return skaliertes Problem oder das ursprüngliche, wenn keine Skalierung nötig ist
+     */
+    public LinearProgram getScaledProgram() {
+        return this.scaled;
+    }
+
+    /**
+     * @param row Index der Restriktion
+     * @return Zweierexponent des Zeilenfaktors
+     */
+    public int getRowExponent(int row) {
+        return this.rowExponents[row];
+    }
+
+    /**
+     * @param col Index der Unbekannten
+     * @return Zweierexponent des Spaltenfaktors
+     */
+    public int getColumnExponent(int col) {
+        return this.colExponents[col];
+    }
+}
@@ -0,0 +1,241 @@
+package simplex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Löst viele voneinander unabhängige lineare Optimierungsprobleme auf einem Pool von Threads. Jedes
+ * Problem wird von einem eigenen SimplexSolver in der vom Problem gewünschten Speicherform gelöst;
+ * die Ergebnisse werden in der Reihenfolge der Eingabe zurückgegeben. Für die Speicherformen LONG
+ * und HYBRID hält jeder Thread einen eigenen {@link TableauBuffer}, der auf das größte Problem des
+ * Stapels ausgelegt ist, sodass die long-Zeilen nicht für jedes Problem neu angelegt werden.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class SimplexBatchSolver implements AutoCloseable {
+
+    /**
+     * Pool, auf dem die Probleme gelöst werden
+     */
+    private final ExecutorService executor;
+
+    /**
+     * true, wenn der Pool von diesem Objekt angelegt wurde und mit ihm beendet wird
+     */
+    private final boolean ownsExecutor;
+
+    /**
+     * long-Zeilen je Thread für Probleme der Speicherformen LONG und HYBRID
+     */
+    private final ThreadLocal<TableauBuffer> buffers = ThreadLocal.withInitial(TableauBuffer::new);
+
+    /**
+     * Erstellt einen Löser mit einem Pool fester Größe.
+     *
+     * @param threads Anzahl der Threads
+     * @pre threads &gt; 0
+     */
+    public SimplexBatchSolver(int threads) {
+        assert threads > 0;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.ownsExecutor = true;
+    }
+
+    /**
+     * Erstellt einen Löser auf einem vorhandenen Pool, z.B. einem Executor mit virtuellen
+     * Threads. Der Pool wird von {@link #close()} nicht beendet.
+     *
+     * @param executor zu nutzender Pool
+     * @pre executor != null
+     */
+    public SimplexBatchSolver(ExecutorService executor) {
+        assert executor != null;
+        this.executor = executor;
+        this.ownsExecutor = false;
+    }
+
+    /**
+     * Löst alle übergebenen Probleme und wartet auf deren Ergebnisse.
+     *
+     * @param programs zu lösende Probleme
+     * @return Ergebnisse in der Reihenfolge der Probleme
+     * @throws InterruptedException wenn der aufrufende Thread beim Warten unterbrochen wird
+     * @pre programs != null und enthält kein null
+     */
+    public List<Result> solveAll(Collection<LinearProgram> programs)
+            throws InterruptedException {
+        assert programs != null;
+        //Groesse des Ausgangstableaus des groessten Problems, das einen Puffer nutzt
+        int rows = 0;
+        int cols = 0;
+        for (LinearProgram lp : programs) {
+            assert lp != null;
+            if (usesBuffer(lp)) {
+                int constraints = lp.getRestrictions().length;
+                rows = Math.max(rows, constraints + 2);
+                cols = Math.max(cols, lp.getObjectiveTerm().length + 2 * constraints + 1);
+            }
+        }
+        final int maxRows = rows;
+        final int maxCols = cols;
+        List<Callable<Result>> tasks = new ArrayList<>(programs.size());
+        for (LinearProgram lp : programs) {
+            tasks.add(() -> solveOne(lp, maxRows, maxCols));
+        }
+        List<Result> results = new ArrayList<>(tasks.size());
+        for (Future<Result> future : this.executor.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                //Überläufe werden im Ergebnis vermerkt, alle anderen Fehler weitergereicht
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw (Error) cause;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Löst alle Probleme des übergebenen Streams und wartet auf deren Ergebnisse.
+     *
+     * @param programs zu lösende Probleme
+     * @return Ergebnisse in der Reihenfolge der Probleme
+     * @throws InterruptedException wenn der aufrufende Thread beim Warten unterbrochen wird
+     * @pre programs != null und enthält kein null
+     */
+    public List<Result> solveAll(Stream<LinearProgram> programs) throws InterruptedException {
+        assert programs != null;
+        return solveAll(programs.collect(Collectors.toList()));
+    }
+
+    /**
+     * @param lp lineares Problem
+     * @return true, wenn das Tableau des Problems in einem TableauBuffer abgelegt wird
+     */
+    private static boolean usesBuffer(LinearProgram lp) {
+        return lp.getTableauType() == TableauType.LONG
+                || lp.getTableauType() == TableauType.HYBRID;
+    }
+
+    /**
+     * Löst ein einzelnes Problem und misst die dafür benötigte Zeit. Probleme der Speicherformen
+     * LONG und HYBRID nutzen den Puffer des aktuellen Threads, der dafür auf die übergebene Größe
+     * gebracht wird.
+     *
+     * @param lp   zu lösendes Problem
+     * @param rows Anzahl der Zeilen des größten Tableaus im Stapel
+     * @param cols Anzahl der Spalten des größten Tableaus im Stapel
+     * @return Ergebnis des Problems
+     */
+    private Result solveOne(LinearProgram lp, int rows, int cols) {
+        long start = System.nanoTime();
+        try {
+            SimplexSolver solver;
+            if (usesBuffer(lp)) {
+                //der Solver wird nach dem Loesen verworfen, der Puffer ist danach wieder frei
+                TableauBuffer buffer = this.buffers.get();
+                buffer.ensureCapacity(rows, cols);
+                solver = new SimplexSolver(lp, buffer);
+            } else {
+                solver = new SimplexSolver(lp);
+            }
+            Fraction[] solution = solver.solve();
+            return new Result(solution, solver.getIterationCount(), System.nanoTime() - start,
+                    null);
+        } catch (ArithmeticException e) {
+            return new Result(null, 0, System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Beendet den Pool, sofern er von diesem Objekt angelegt wurde.
+     */
+    @Override
+    public void close() {
+        if (this.ownsExecutor) {
+            this.executor.shutdown();
+        }
+    }
+
+    /**
+     * Ergebnis eines Problems aus einem Stapel
+     */
+    public static final class Result {
+
+        /**
+         * optimale Koeffizienten und Wert der Zielfunktion oder null
+         */
+        private final Fraction[] solution;
+
+        /**
+         * Anzahl der Pivotschritte
+         */
+        private final int iterations;
+
+        /**
+         * Dauer des Lösens einschließlich Aufbau des Tableaus in Nanosekunden
+         */
+        private final long nanos;
+
+        /**
+         * beim Lösen aufgetretener Überlauf oder null
+         */
+        private final ArithmeticException failure;
+
+        /**
+         * Konstruktor.
+         *
+         * @param solution   optimale Koeffizienten und Wert der Zielfunktion oder null
+         * @param iterations Anzahl der Pivotschritte
+         * @param nanos      Dauer des Lösens in Nanosekunden
+         * @param failure    beim Lösen aufgetretener Überlauf oder null
+         */
+        private Result(Fraction[] solution, int iterations, long nanos,
+                ArithmeticException failure) {
+            this.solution = solution;
+            this.iterations = iterations;
+            this.nanos = nanos;
+            this.failure = failure;
+        }
+
+        /**
+         * @return optimale Koeffizienten und Wert der Zielfunktion (x1, x2, ..., xn, z) oder null,
+         * wenn das Problem unlösbar ist oder das Lösen fehlschlug
+         */
+        public Fraction[] getSolution() {
+            return this.solution;
+        }
+
+        /**
+         * @return Anzahl der Pivotschritte
+         */
+        public int getIterationCount() {
+            return this.iterations;
+        }
+
+        /**
+         * @return Dauer des Lösens einschließlich Aufbau des Tableaus in Nanosekunden
+         */
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        /**
+         * @return beim Lösen aufgetretener Überlauf oder null
+         */
+        public ArithmeticException getFailure() {
+            return this.failure;
+        }
+    }
+}
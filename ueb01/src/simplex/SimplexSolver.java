@@ -1,6 +1,7 @@
 package simplex;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Ein Automat zum Lösen linearer Optimierungsprobleme
@@ -8,10 +9,16 @@ import java.util.Arrays;
  * @author kar, mhe, Mario da Graca, Leonhard Brandes
  */
 public class SimplexSolver {
+    /**
+     * Rückgabewert von findBoundedPivotRow, wenn statt eines Pivotschritts nur die Pivotspalte an
+     * ihre obere Schranke gewechselt ist
+     */
+    private static final int BOUND_FLIP = -2;
+
     /**
      * Simplex-Tableau mit den Zeilen in der ersten und den Spalten in der zweiten Dimension
      */
-    private Fraction[][] table;
+    private Tableau tableau;
 
     /**
      * Indices der Basisvariablen
@@ -33,31 +40,450 @@ public class SimplexSolver {
      */
     private LinearProgram.SolveType solveType;
 
+    /**
+     * Pool für die parallele Reduktion der Zeilen oder null für sequentielle Reduktion
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Mindestanzahl an Tableauzeilen, ab der parallel reduziert wird
+     */
+    private int parallelThreshold;
+
+    /**
+     * Anzahl der Pivotschritte des letzten Lösungsvorgangs
+     */
+    private int iterations;
+
+    /**
+     * Anzahl der künstlichen Basisvariablen; die Lösung ist gültig, sobald sie 0 ist. Künstliche
+     * Variablen redundanter Restriktionen bleiben nach der ersten Phase mit dem Wert 0 in der
+     * Basis, werden hier aber nicht mehr gezählt, siehe {@link #driveOutArtificials}.
+     */
+    private int numArtificialBaseVars;
+
+    /**
+     * true, wenn eine übernommene Basis zwar dual, aber nicht primal zulässig ist und vor dem
+     * primalen Simplex noch der duale Simplex ausgeführt werden muss
+     */
+    private boolean dualPending;
+
+    /**
+     * true, wenn die Startbasis übernommen wurde
+     */
+    private boolean warmStarted;
+
+    /**
+     * true, wenn das Ausgangstableau ohne künstliche Variablen für den dualen Simplex angelegt
+     * wurde
+     */
+    private boolean dualStart;
+
+    /**
+     * untere Schranken, um die die Unbekannten im Tableau verschoben sind, oder null, wenn alle 0
+     * sind
+     */
+    private Fraction[] lowerBounds;
+
+    /**
+     * obere Schranken der verschobenen Unbekannten (null für unbeschränkt) oder null, wenn es
+     * keine gibt
+     */
+    private Fraction[] upperBounds;
+
+    /**
+     * true für jede Unbekannte x, deren Spalte im Tableau für u - x steht
+     */
+    private boolean[] complemented;
+
+    /**
+     * true, wenn eine obere Schranke kleiner als die zugehörige untere ist
+     */
+    private boolean boundsInfeasible;
+
+    /**
+     * Wert der Zielfunktion an den unteren Schranken
+     */
+    private Fraction objectiveShift;
+
+    /**
+     * Beobachter der Lösungsvorgänge oder null, wenn keine Ereignisse erzeugt werden sollen
+     */
+    private SolverListener listener;
+
+    /**
+     * Ergebnis des letzten Lösungsvorgangs
+     */
+    private SolverStatus status = SolverStatus.NOT_SOLVED;
+
+    /**
+     * aktuelle Phase des Lösungsvorgangs, nur mit Beobachter geführt
+     */
+    private SolverListener.Phase phase;
+
+    /**
+     * Beginn der aktuellen Phase in Nanosekunden, nur mit Beobachter geführt
+     */
+    private long phaseStart;
+
+    /**
+     * Anzahl der Pivotschritte vor der aktuellen Phase, nur mit Beobachter geführt
+     */
+    private int phaseIterations;
+
+    /**
+     * Anzahl der bisher gewechselten Zellen des Tableaus, nur mit Beobachter geführt
+     */
+    private int promotions;
+
+    /**
+     * Puffer für die long-Zeilen von LONG- und HYBRID-Tableaus oder null
+     */
+    private TableauBuffer buffer;
 
     /**
      * Erstellt einen Automaten aus dem übergebenen linearen Optimierungsproblem. Der Automat
      * verbleibt im Ausgangstableau, d.h. es werden noch keine Optimierungsschritte durchgeführt.
+     * Das Tableau wird in der vom Problem gewünschten Speicherform angelegt.
      *
      * @param lp lineares Problem, das optimiert werden soll
      * @pre lp != null
      */
     public SimplexSolver(LinearProgram lp) {
+        this(lp, lp.getTableauType());
+    }
+
+    /**
+     * Erstellt einen Automaten aus dem übergebenen linearen Optimierungsproblem, der mit der
+     * angegebenen Speicherform des Tableaus rechnet. Der Automat verbleibt im Ausgangstableau.
+     *
+     * @param lp   lineares Problem, das optimiert werden soll
+     * @param type zu verwendende Speicherform des Tableaus
+     * @pre lp != null
+     * @pre type != null
+     */
+    public SimplexSolver(LinearProgram lp, TableauType type) {
         assert lp != null;
+        assert type != null;
+        this.init(lp, type);
+    }
+
+    /**
+     * Erstellt wie {@link #SimplexSolver(LinearProgram)} einen Automaten, dessen Tableau bei den
+     * Speicherformen LONG und HYBRID die Zeilen des übergebenen Puffers nutzt, z.B. um auf einem
+     * Thread viele Probleme ohne jeweils neue Zeilen zu lösen.
+     *
+     * @param lp     lineares Problem, das optimiert werden soll
+     * @param buffer Puffer für die long-Zeilen des Tableaus
+     * @pre lp != null
+     * @pre buffer != null und wird von keinem anderen Tableau mehr genutzt
+     */
+    SimplexSolver(LinearProgram lp, TableauBuffer buffer) {
+        assert lp != null;
+        assert buffer != null;
+        this.buffer = buffer;
+        this.init(lp, lp.getTableauType());
+    }
+
+    /**
+     * Erstellt einen Automaten, der von einer bekannten Basis aus startet, z.B. der Basis eines
+     * früheren Lösungsvorgangs ({@link #getBaseVars()}) für ein Problem, bei dem sich nur rechte
+     * Seiten oder Zielfunktion geändert haben. Ist die Basis für das neue Problem nicht zulässig,
+     * aber dual zulässig, wird beim Lösen zunächst der duale Simplex ausgeführt. Lässt sich die
+     * Basis nicht herstellen oder ist sie weder primal noch dual zulässig, verbleibt der Automat
+     * im Ausgangstableau (siehe {@link #isWarmStarted()}).
+     *
+     * @param lp        lineares Problem, das optimiert werden soll
+     * @param startBase Indices der Basisvariablen, je Restriktion eine normale oder
+     *                  Schlupfvariable
+     * @pre lp != null
+     * @pre startBase != null
+     * @pre startBase.length == lp.getRestrictions().length
+     */
+    public SimplexSolver(LinearProgram lp, int[] startBase) {
+        this(lp, lp.getTableauType(), startBase);
+    }
+
+    /**
+     * Erstellt wie {@link #SimplexSolver(LinearProgram, int[])} einen Automaten mit Startbasis,
+     * der mit der angegebenen Speicherform des Tableaus rechnet.
+     *
+     * @param lp        lineares Problem, das optimiert werden soll
+     * @param type      zu verwendende Speicherform des Tableaus
+     * @param startBase Indices der Basisvariablen, je Restriktion eine normale oder
+     *                  Schlupfvariable
+     * @pre lp != null
+     * @pre type != null
+     * @pre startBase != null
+     * @pre startBase.length == lp.getRestrictions().length
+     */
+    public SimplexSolver(LinearProgram lp, TableauType type, int[] startBase) {
+        this(lp, type);
+        assert startBase != null;
+        assert startBase.length == this.numConstraints;
+        this.warmStarted = this.installBase(startBase);
+        if (!this.warmStarted) {
+            this.init(lp, type);
+        }
+    }
+
+    /**
+     * Legt das Ausgangstableau mit Schlupf- und künstlichen Variablen als Basis an.
+     *
+     * @param lp   lineares Problem, das optimiert werden soll
+     * @param type zu verwendende Speicherform des Tableaus
+     */
+    private void init(LinearProgram lp, TableauType type) {
+        lp = this.applyBounds(lp);
         this.solveType = lp.getSolveType();
         this.numConstraints = lp.getRestrictions().length;
-        this.numUnknowns = lp.getRestrictions()[0].getTerm().length;
-        this.table =
-                new Fraction[this.numConstraints + 1]
-                        [this.numUnknowns + 2 * this.numConstraints + 1];
+        this.numUnknowns = lp.getObjectiveTerm().length;
         this.baseVars = new int[this.numConstraints];
-        LinearProgram.Restriction[] temp = lp.getRestrictions().clone();
-        for (int row = 0; row < table.length; row++) {
+        this.numArtificialBaseVars = 0;
+        this.dualPending = false;
+        LinearProgram.Restriction[] temp = lp.getRestrictions();
+        this.tableau = this.createTableau(lp, type, this.buffer);
+
+        for (int i = 0; i < this.baseVars.length; i++) {
+            //Schlupfvariable bei LE- Restriktion
+            if (temp[i].getType() == LinearProgram.Restriction.Type.LE) {
+                this.baseVars[i] = i + this.numUnknowns;
+            } else { //künstliche Variable bei GE- oder EQ-Restriktionen
+                this.baseVars[i] = i + this.numUnknowns + this.numConstraints;
+                this.numArtificialBaseVars++;
+            }
+        }
+        this.dualStart = this.isDualFeasibleStart(temp);
+        if (this.dualStart) {
+            //Schlupfvariablen der GE-Restriktionen ersetzen die kuenstlichen Variablen
+            for (int row = 0; row < this.numConstraints; row++) {
+                if (temp[row].getType() == LinearProgram.Restriction.Type.GE) {
+                    this.normalizePivotRow(row + this.numUnknowns, row);
+                    this.switchBase(row + this.numUnknowns, row);
+                    this.subtractRows(row + this.numUnknowns, row);
+                }
+            }
+            this.dualPending = true;
+        }
+    }
+
+    /**
+     * Übernimmt die Schranken des Problems. Untere Schranken l werden durch x = x' + l aus dem
+     * Problem herausgerechnet, obere Schranken werden entsprechend verschoben und beim
+     * Pivotisieren berücksichtigt, siehe {@link #findBoundedPivotRow}.
+     *
+     * @param lp lineares Problem mit oder ohne Schranken
+     * @return Problem mit unteren Schranken 0
+     */
+    private LinearProgram applyBounds(LinearProgram lp) {
+        int n = lp.getObjectiveTerm().length;
+        this.lowerBounds = null;
+        this.upperBounds = null;
+        this.complemented = new boolean[n];
+        this.boundsInfeasible = false;
+        this.objectiveShift = Fraction.ZERO;
+        if (!lp.hasBounds()) {
+            return lp;
+        }
+        boolean shifted = false;
+        for (int col = 0; col < n; col++) {
+            shifted |= lp.getLowerBound(col).signum() != 0;
+            if (lp.getUpperBound(col) != null) {
+                if (this.upperBounds == null) {
+                    this.upperBounds = new Fraction[n];
+                }
+                this.upperBounds[col] = lp.getUpperBound(col).subtract(lp.getLowerBound(col));
+                this.boundsInfeasible |= this.upperBounds[col].signum() < 0;
+            }
+        }
+        if (!shifted) {
+            return lp;
+        }
+        this.lowerBounds = new Fraction[n];
+        FractionAccumulator shift = new FractionAccumulator();
+        for (int col = 0; col < n; col++) {
+            this.lowerBounds[col] = lp.getLowerBound(col);
+            shift.add(lp.getObjectiveTerm()[col].multiplyBy(this.lowerBounds[col]));
+        }
+        this.objectiveShift = shift.toFraction();
+        LinearProgram.Restriction[] restrictions = lp.getRestrictions().clone();
+        for (int row = 0; row < restrictions.length; row++) {
+            Fraction[] term = restrictions[row].getTerm();
+            FractionAccumulator rhs =
+                    new FractionAccumulator().add(restrictions[row].getRightSide());
+            for (int col = 0; col < n; col++) {
+                if (term[col].signum() != 0) {
+                    rhs.add(term[col].multiplyBy(this.lowerBounds[col].multiplyBy(
+                            Fraction.MINUS_ONE)));
+                }
+            }
+            LinearProgram.Restriction.Type restrictionType = restrictions[row].getType();
+            if (rhs.signum() < 0) {
+                //Restriktion negieren, damit die rechte Seite nicht negativ ist
+                term = term.clone();
+                for (int col = 0; col < n; col++) {
+                    term[col] = term[col].multiplyBy(Fraction.MINUS_ONE);
+                }
+                restrictionType = restrictionType == LinearProgram.Restriction.Type.LE
+                        ? LinearProgram.Restriction.Type.GE
+                        : restrictionType == LinearProgram.Restriction.Type.GE
+                                ? LinearProgram.Restriction.Type.LE : restrictionType;
+                restrictions[row] = new LinearProgram.Restriction(term, restrictionType,
+                        rhs.toFraction().multiplyBy(Fraction.MINUS_ONE));
+            } else {
+                restrictions[row] = new LinearProgram.Restriction(term, restrictionType,
+                        rhs.toFraction());
+            }
+        }
+        return new LinearProgram(restrictions, lp.getSolveType(), lp.getTableauType(),
+                lp.getObjectiveTerm());
+    }
+
+    /**
+     * Bestimmt, ob der duale Simplex ohne erste Phase starten kann: Es gibt GE-, aber keine
+     * EQ-Restriktionen, und keine Variable verbessert die Zielfunktion. Mit den Schlupfvariablen
+     * als Basis ist das Tableau dann dual zulässig.
+     *
+     * @param restrictions Restriktionen des Problems
+     * @return true, wenn der duale Simplex verwendet werden soll
+     */
+    private boolean isDualFeasibleStart(LinearProgram.Restriction[] restrictions) {
+        boolean hasGE = false;
+        for (LinearProgram.Restriction restriction : restrictions) {
+            if (restriction.getType() == LinearProgram.Restriction.Type.EQ) {
+                return false;
+            }
+            hasGE |= restriction.getType() == LinearProgram.Restriction.Type.GE;
+        }
+        for (int col = 0; hasGE && col < this.numUnknowns; col++) {
+            if (this.tableau.signum(this.numConstraints, col) > 0) {
+                return false;
+            }
+        }
+        return hasGE;
+    }
+
+    /**
+     * Überführt das Ausgangstableau durch Pivotschritte in die übergebene Basis und prüft, ob von
+     * ihr aus primal oder dual weitergerechnet werden kann.
+     *
+     * @param startBase Indices der gewünschten Basisvariablen
+     * @return true, wenn die Basis hergestellt wurde und primal oder dual zulässig ist
+     */
+    private boolean installBase(int[] startBase) {
+        this.dualPending = false;
+        boolean[] target = new boolean[this.numConstraints + this.numUnknowns];
+        for (int col : startBase) {
+            //kuenstliche Variablen redundanter Restriktionen werden nicht uebernommen
+            if (isValidSolutionVariable(col)) {
+                assert !target[col];
+                target[col] = true;
+            }
+        }
+        //Zeilen, deren Basisvariable bereits gewuenscht ist, bleiben unveraendert
+        boolean[] fixed = new boolean[this.numConstraints];
+        for (int row = 0; row < this.numConstraints; row++) {
+            if (isValidSolutionVariable(this.baseVars[row]) && target[this.baseVars[row]]) {
+                fixed[row] = true;
+                target[this.baseVars[row]] = false;
+            }
+        }
+        for (int col : startBase) {
+            if (isValidSolutionVariable(col) && target[col]) {
+                int pivotRow = -1;
+                for (int row = 0; row < this.numConstraints && pivotRow < 0; row++) {
+                    if (!fixed[row] && this.tableau.signum(row, col) != 0) {
+                        pivotRow = row;
+                    }
+                }
+                if (pivotRow < 0) { //Basis ist singulaer
+                    return false;
+                }
+                this.normalizePivotRow(col, pivotRow);
+                this.switchBase(col, pivotRow);
+                this.subtractRows(col, pivotRow);
+                fixed[pivotRow] = true;
+            }
+        }
+        if (this.upperBounds != null) {
+            //beschraenkte Nichtbasisvariablen, die die Zielfunktion verbessern, an die Schranke
+            boolean[] basic = new boolean[this.numUnknowns + this.numConstraints];
+            for (int col : this.baseVars) {
+                if (isValidSolutionVariable(col)) {
+                    basic[col] = true;
+                }
+            }
+            for (int col = 0; col < this.numUnknowns; col++) {
+                if (!basic[col] && getUpperBound(col) != null
+                        && this.tableau.signum(this.numConstraints, col) > 0) {
+                    this.complement(col);
+                }
+            }
+        }
+        if (findDualPivotRow() < 0 && findExceedingRow() < 0) {
+            return true;
+        }
+        for (int col = 0; isValidSolutionVariable(col); col++) {
+            if (this.tableau.signum(this.numConstraints, col) > 0) {
+                return false;
+            }
+        }
+        this.dualPending = true;
+        return true;
+    }
+
+    /**
+     * Erstellt das vollständige Ausgangstableau einschließlich der Zeile der ersten Phase in der
+     * gewünschten Speicherform, ohne den Automaten zu verändern. Jeder Aufruf liefert ein neues
+     * Tableau, z.B. als unveränderte Vorlage für Benchmarks einzelner Pivotschritte.
+     *
+     * @param lp   lineares Problem mit unteren Schranken 0 und derselben Größe wie das Problem
+     *             dieses Automaten
+     * @param type zu verwendende Speicherform des Tableaus
+     * @return neues Ausgangstableau
+     */
+    Tableau createTableau(LinearProgram lp, TableauType type) {
+        return createTableau(lp, type, null);
+    }
+
+    /**
+     * Erstellt wie {@link #createTableau(LinearProgram, TableauType)} das Ausgangstableau, bei
+     * den Speicherformen LONG und HYBRID aber in den Zeilen des übergebenen Puffers.
+     *
+     * @param lp     lineares Problem mit unteren Schranken 0
+     * @param type   zu verwendende Speicherform des Tableaus
+     * @param buffer Puffer für long-Zeilen oder null
+     * @return neues Ausgangstableau
+     */
+    private Tableau createTableau(LinearProgram lp, TableauType type, TableauBuffer buffer) {
+        if (type == TableauType.SPARSE) {
+            //duennbesetztes Tableau ohne dichte Zwischendarstellung
+            return new SparseTableau(lp);
+        }
+        return Tableau.create(type, createTable(lp), buffer);
+    }
+
+    /**
+     * Erstellt das dichte Ausgangstableau: Koeffizienten der Unbekannten, Schlupfvariablen,
+     * künstliche Variablen und rechte Seite je Restriktion, in der vorletzten Zeile die
+     * Zielfunktion. Die letzte Zeile enthält als Zielfunktion der ersten Phase die Summe der
+     * Restriktionen, deren Basisvariable künstlich ist.
+     *
+     * @param lp lineares Problem, das optimiert werden soll
+     * @return Ausgangstableau
+     */
+    private Fraction[][] createTable(LinearProgram lp) {
+        Fraction[][] table =
+                new Fraction[this.numConstraints + 2]
+                        [this.numUnknowns + 2 * this.numConstraints + 1];
+        LinearProgram.Restriction[] temp = lp.getRestrictions();
+        for (int row = 0; row <= this.numConstraints; row++) {
             for (int col = 0; col < table[0].length; col++) {
                 if (col < this.numUnknowns && row < this.numConstraints) { //x-Koeffizienten
-                    this.table[row][col] = temp[row].getTerm()[col];
+                    table[row][col] = temp[row].getTerm()[col];
                     //rechte Seite der Restriktionen
-                } else if (col == this.table[0].length - 1 && row < this.numConstraints) {
-                    this.table[row][col] = temp[row].getRightSide();
+                } else if (col == table[0].length - 1 && row < this.numConstraints) {
+                    table[row][col] = temp[row].getRightSide();
                     //Schlupfvariablen
                 } else if ((col >= this.numUnknowns)
                         && (this.isValidSolutionVariable(col))
@@ -81,18 +507,18 @@ public class SimplexSolver {
                         table[row][col] = Fraction.ZERO;
                     }
                     //künstliche Variablen
-                } else if (col >= (this.numUnknowns * 2)
+                } else if (!this.isValidSolutionVariable(col)
                         && (col < (table[0].length - 1)) && (row < numConstraints)) {
                     // Auf der "Diagonalen"
                     if (row == col - (this.numUnknowns + this.numConstraints)) {
                         // künstliche Variable nur, wenn GE oder EQ
                         if (temp[row].getType() != LinearProgram.Restriction.Type.LE) {
-                            this.table[row][col] = Fraction.ONE;
+                            table[row][col] = Fraction.ONE;
                         } else {
-                            this.table[row][col] = Fraction.ZERO;
+                            table[row][col] = Fraction.ZERO;
                         }
                     } else { //nicht auf der "Diagonalen"
-                        this.table[row][col] = Fraction.ZERO;
+                        table[row][col] = Fraction.ZERO;
                     }
                     //Koeffizienten der Zielfunktion
                 } else if (col < this.numUnknowns && row == this.numConstraints) {
@@ -108,24 +534,67 @@ public class SimplexSolver {
                 }
             }
         }
-
-        for (int i = 0; i < this.baseVars.length; i++) {
-            //Schlupfvariable bei LE- Restriktion
-            if (temp[i].getType() == LinearProgram.Restriction.Type.LE) {
-                this.baseVars[i] = i + this.numUnknowns;
-            } else { //künstliche Variable bei GE- oder EQ-Restriktionen
-                this.baseVars[i] = i + this.numUnknowns + this.numConstraints;
+        //Zielfunktion der ersten Phase
+        Fraction[] phaseOne = table[this.numConstraints + 1];
+        FractionAccumulator sum = new FractionAccumulator();
+        for (int col = 0; col < phaseOne.length; col++) {
+            sum.reset();
+            for (int row = 0; row < this.numConstraints; row++) {
+                if (temp[row].getType() != LinearProgram.Restriction.Type.LE) {
+                    sum.add(table[row][col]);
+                }
             }
+            phaseOne[col] = sum.toFraction();
         }
+        return table;
+    }
+
+    /**
+     * Schaltet die parallele Reduktion der Zeilen in jedem Pivotschritt ein. Die Zeilen werden nur
+     * dann auf den Pool verteilt, wenn das Tableau mindestens threshold Zeilen hat; kleinere
+     * Tableaus werden weiterhin sequentiell reduziert. Die Ergebnisse sind in beiden Fällen
+     * identisch.
+     *
+     * @param pool      zu nutzender Pool oder null, um wieder sequentiell zu reduzieren
+     * @param threshold Mindestanzahl an Tableauzeilen für die parallele Reduktion
+     * @pre threshold &ge; 0
+     */
+    public void setParallelPivot(ForkJoinPool pool, int threshold) {
+        assert threshold >= 0;
+        this.pool = pool;
+        this.parallelThreshold = threshold;
+    }
+
+    /**
+     * Setzt den Beobachter für die folgenden Lösungsvorgänge. Ohne Beobachter werden weder
+     * Zeiten gemessen noch Ereignisse erzeugt.
+     *
+     * @param listener zu benachrichtigender Beobachter oder null
+     */
+    public void setListener(SolverListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gibt das Ergebnis des letzten Lösungsvorgangs zurück, z.B. um nach einer null-Referenz
+     * von {@link #solve()} unzulässige von unbeschränkten Problemen zu unterscheiden.
+     *
+     * @return Ergebnis des letzten Lösungsvorgangs, NOT_SOLVED vor dem ersten
+     */
+    public SolverStatus getStatus() {
+        return this.status;
     }
 
     /**
-     * Gibt eine Referenz auf das Simplex-Tableau zurück.
+     * Gibt das Simplex-Tableau aus Restriktionen und Zielfunktion zurück. Bei der Speicherform
+     * FRACTION sind die Zeilen Referenzen auf die Zeilen des Tableaus, bei allen anderen
+     * Speicherformen ein Abbild des aktuellen Zustands.
      *
-     * @return Referenz auf das Simplex-Tableau
+     * @return das Simplex-Tableau
      */
     public Fraction[][] getTable() {
-        return this.table;
+        //Zielfunktion der ersten Phase ist ein internes Detail
+        return Arrays.copyOf(this.tableau.toFractions(), this.numConstraints + 1);
     }
 
     /**
@@ -137,18 +606,34 @@ public class SimplexSolver {
         return this.baseVars;
     }
 
+    /**
+     * Gibt zurück, ob die beim Erstellen übergebene Startbasis übernommen wurde.
+     *
+     * @return true, wenn der Automat von der Startbasis aus rechnet, sonst false
+     */
+    public boolean isWarmStarted() {
+        return this.warmStarted;
+    }
+
+    /**
+     * Gibt zurück, ob der Automat ohne künstliche Variablen mit dem dualen Simplex beginnt. Das
+     * wird automatisch gewählt, wenn das Problem keine EQ-Restriktionen hat und mit den
+     * Schlupfvariablen als Basis dual zulässig ist, z.B. bei Minimierung mit nicht-negativen
+     * Kosten und GE-Restriktionen.
+     *
+     * @return true, wenn mit dem dualen Simplex begonnen wird
+     */
+    public boolean isDualStart() {
+        return this.dualStart;
+    }
+
     /**
      * Gibt zurück, ob das aktuelle Simplex-Tableau eine gültige Lösung repräsentiert.
      *
      * @return true, wenn die aktuelle Lösung gültig ist, ansonsten false
      */
     public boolean isValidSolution() {
-        for (int i : this.baseVars) {
-            if (!this.isValidSolutionVariable(i)) {
-                return false;
-            }
-        }
-        return true;
+        return this.numArtificialBaseVars == 0 && !this.dualPending;
     }
 
     /**
@@ -157,8 +642,9 @@ public class SimplexSolver {
      * @return true, wenn das Tableau eine optimale Loesung darstellt
      */
     private boolean isOptimalSolution() {
+        int objectiveRow = this.numConstraints;
         for (int i = 0; this.isValidSolutionVariable(i); i++) {
-            if (this.table[this.table.length - 1][i].compareTo(Fraction.ZERO) > 0) {
+            if (this.tableau.signum(objectiveRow, i) > 0) {
                 return false;
             }
         }
@@ -169,38 +655,398 @@ public class SimplexSolver {
      * Versucht, das lineare Optimierungsproblem zu lösen. Führt dazu - wenn nötig - wiederholt
      * einen Simplexschritt aus, bis das Tableau eine optimale Lösung anzeigt oder es sich als
      * unlösbar erweist. Bei einer optimalen Lösung werden die Koeffizienten und der Wert der
-     * Zielfunktion zurückgegeben, andernfalls die null-Referenz.
+     * Zielfunktion zurückgegeben, andernfalls die null-Referenz. Den Grund dafür liefert
+     * anschließend {@link #getStatus()}.
      *
      * @return optimale Koeffizienten und Wert der Zielfunktion (in gegebener Reihenfolge, also x1,
      * x2, ..., xn, z) oder null, wenn unlösbar
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
      */
     public Fraction[] solve() {
+        return solve(new DantzigRule());
+    }
+
+    /**
+     * Versucht wie {@link #solve()}, das lineare Optimierungsproblem zu lösen, wählt Pivotspalte
+     * und Pivotzeile aber nach der übergebenen Regel.
+     *
+     * @param rule zu verwendende Pivotregel
+     * @return optimale Koeffizienten und Wert der Zielfunktion (x1, x2, ..., xn, z) oder null,
+     * wenn unlösbar
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
+     * @pre rule != null
+     */
+    public Fraction[] solve(PivotRule rule) {
+        return solve(rule, SolverLimits.NONE);
+    }
+
+    /**
+     * Versucht wie {@link #solve()}, das lineare Optimierungsproblem zu lösen, hält aber vor dem
+     * nächsten Pivotschritt an, sobald eine der übergebenen Grenzen erreicht ist. Statt der
+     * Lösung wird dann null zurückgegeben und {@link #getStatus()} nennt die erreichte Grenze.
+     * Die bis dahin beste zulässige Lösung liefert {@link #getFeasibleResult()}, die aktuelle
+     * Basis {@link #getBaseVars()}. Ein weiterer Aufruf rechnet von dieser Basis aus weiter.
+     *
+     * @param limits einzuhaltende Grenzen
+     * @return optimale Koeffizienten und Wert der Zielfunktion (x1, x2, ..., xn, z) oder null,
+     * wenn unlösbar oder eine Grenze erreicht ist
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
+     * @pre limits != null
+     */
+    public Fraction[] solve(SolverLimits limits) {
+        return solve(new DantzigRule(), limits);
+    }
+
+    /**
+     * Versucht wie {@link #solve(SolverLimits)}, das lineare Optimierungsproblem innerhalb der
+     * übergebenen Grenzen zu lösen, wählt Pivotspalte und Pivotzeile aber nach der übergebenen
+     * Regel.
+     *
+     * @param rule   zu verwendende Pivotregel
+     * @param limits einzuhaltende Grenzen
+     * @return optimale Koeffizienten und Wert der Zielfunktion (x1, x2, ..., xn, z) oder null,
+     * wenn unlösbar oder eine Grenze erreicht ist
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
+     * @pre rule != null
+     * @pre limits != null
+     */
+    public Fraction[] solve(PivotRule rule, SolverLimits limits) {
+        return optimize(rule, limits) ? getResult() : null;
+    }
+
+    /**
+     * Gibt die Lösung der aktuellen Basis zurück, sofern sie zulässig ist. Nach einem an einer
+     * Grenze angehaltenen Lösungsvorgang ist das die beste bisher gefundene Lösung, da der
+     * primale Simplex den Wert der Zielfunktion mit jedem Schritt nur verbessert.
+     *
+     * @return Koeffizienten und Wert der Zielfunktion (x1, x2, ..., xn, z) der aktuellen Basis
+     * oder null, wenn sie noch nicht zulässig ist
+     * @throws ArithmeticException wenn ein Wert nicht als Fraction darstellbar ist
+     */
+    public Fraction[] getFeasibleResult() {
+        return this.isValidSolution() ? getResult() : null;
+    }
+
+    /**
+     * Versucht wie {@link #solve()}, das lineare Optimierungsproblem zu lösen, gibt das Ergebnis
+     * aber in beliebiger Genauigkeit zurück. Für die Speicherformen BIG und HYBRID kann so auch
+     * ein Ergebnis abgefragt werden, das nicht mehr in Fraction-Brüche passt.
+     *
+     * @return optimale Koeffizienten und Wert der Zielfunktion (x1, x2, ..., xn, z) oder null,
+     * wenn unlösbar
+     */
+    public BigFraction[] solveBig() {
+        return solveBig(new DantzigRule());
+    }
+
+    /**
+     * Versucht wie {@link #solveBig()}, das lineare Optimierungsproblem zu lösen, wählt
+     * Pivotspalte und Pivotzeile aber nach der übergebenen Regel.
+     *
+     * @param rule zu verwendende Pivotregel
+     * @return optimale Koeffizienten und Wert der Zielfunktion (x1, x2, ..., xn, z) oder null,
+     * wenn unlösbar
+     * @pre rule != null
+     */
+    public BigFraction[] solveBig(PivotRule rule) {
+        return optimize(rule, SolverLimits.NONE) ? getBigResult() : null;
+    }
+
+    /**
+     * Gibt die Anzahl der Pivotschritte des letzten Lösungsvorgangs zurück. Damit lassen sich
+     * Pivotregeln für eine Klasse von Problemen vergleichen.
+     *
+     * @return Anzahl der Pivotschritte
+     */
+    public int getIterationCount() {
+        return this.iterations;
+    }
+
+    /**
+     * Führt wiederholt einen Simplexschritt aus, bis das Tableau eine optimale Lösung anzeigt oder
+     * es sich als unlösbar erweist oder eine Grenze erreicht ist, und benachrichtigt ggf. den
+     * Beobachter.
+     *
+     * @param rule   zu verwendende Pivotregel
+     * @param limits einzuhaltende Grenzen
+     * @return true, wenn eine optimale Lösung gefunden wurde
+     */
+    private boolean optimize(PivotRule rule, SolverLimits limits) {
+        assert rule != null;
+        assert limits != null;
+        this.iterations = 0;
+        long start = 0;
+        if (this.listener != null) {
+            start = System.nanoTime();
+            this.phase = null;
+            this.promotions = this.tableau.getPromotionCount();
+        }
+        try {
+            this.status = this.iterate(rule, limits);
+        } catch (ArithmeticException e) {
+            this.status = SolverStatus.OVERFLOW;
+            if (this.listener != null) {
+                this.listener.overflowed(this.iterations, e);
+                this.finish(start);
+            }
+            throw e;
+        }
+        if (this.listener != null) {
+            this.finish(start);
+        }
+        return this.status == SolverStatus.OPTIMAL;
+    }
+
+    /**
+     * Führt den dualen Simplex (falls nötig) und den primalen Simplex aus.
+     *
+     * @param rule   zu verwendende Pivotregel
+     * @param limits einzuhaltende Grenzen
+     * @return Ergebnis des Lösungsvorgangs
+     */
+    private SolverStatus iterate(PivotRule rule, SolverLimits limits) {
+        SolverContext context = new SolverContext();
         int indexPivotRow = -1;
         int indexPivotCol = -1;
         boolean error = false;
         boolean optimal = false;
+        if (this.boundsInfeasible) {
+            return SolverStatus.INFEASIBLE;
+        }
+        if (this.dualPending) {
+            this.dualPending = false;
+            this.enterPhase(SolverListener.Phase.DUAL);
+            SolverStatus dual = this.dualOptimize(limits);
+            if (dual != null) {
+                //an einer Grenze setzt der naechste Aufruf den dualen Simplex fort
+                this.dualPending = dual != SolverStatus.INFEASIBLE;
+                return dual;
+            }
+        }
+        this.enterPhase(this.isValidSolution()
+                ? SolverListener.Phase.PHASE_TWO : SolverListener.Phase.PHASE_ONE);
+        rule.start(context);
         while (!error && !optimal) {
-            indexPivotCol = findPivotCol();
+            indexPivotCol = findPivotCol(rule, context);
+            if (indexPivotCol < 0 && this.isPhaseOneFeasible()) {
+                //Zielfunktion der ersten Phase ist 0, nur noch degenerierte Pivotschritte
+                SolverStatus limit = this.driveOutArtificials(limits);
+                if (limit != null) {
+                    return limit;
+                }
+                if (this.phase == SolverListener.Phase.PHASE_ONE) {
+                    this.enterPhase(SolverListener.Phase.PHASE_TWO);
+                }
+                context.refresh();
+                rule.start(context);
+                indexPivotCol = findPivotCol(rule, context);
+            }
             if (indexPivotCol < 0) {
                 error = true;
+            } else if (this.upperBounds == null) {
+                indexPivotRow = findPivotRow(rule, context, indexPivotCol);
+                error = indexPivotRow < 0;
             } else {
-                indexPivotRow = findPivotRow(indexPivotCol);
-                if (indexPivotRow < 0) {
-                    error = true;
-                }
+                indexPivotRow = findBoundedPivotRow(rule, context, indexPivotCol);
+                error = indexPivotRow == -1;
             }
             if (!error) {
+                SolverStatus limit = limits.check(this.iterations);
+                if (limit != null) {
+                    return limit;
+                }
+            }
+            if (indexPivotRow == BOUND_FLIP) {
+                this.iterations++;
+                this.afterPivot(-1, indexPivotCol);
+            } else if (!error) {
+                rule.beforePivot(context, indexPivotRow, indexPivotCol);
+                this.iterations++;
                 this.normalizePivotRow(indexPivotCol, indexPivotRow);
                 this.switchBase(indexPivotCol, indexPivotRow);
                 this.subtractRows(indexPivotCol, indexPivotRow);
+                this.afterPivot(indexPivotRow, indexPivotCol);
             }
             optimal = this.isOptimalSolution();
         }
         if (optimal) {
-            return getResult();
-        } else {
-            return null;
+            return SolverStatus.OPTIMAL;
+        }
+        //ohne Pivotspalte ist die erste Phase mit positivem Wert und damit unzulaessig beendet
+        return indexPivotCol < 0 ? SolverStatus.INFEASIBLE : SolverStatus.UNBOUNDED;
+    }
+
+    /**
+     * @return true, wenn die erste Phase läuft und ihre Zielfunktion, die Summe der künstlichen
+     * Variablen, bereits 0 ist
+     */
+    private boolean isPhaseOneFeasible() {
+        return !this.isValidSolution()
+                && this.tableau.signum(this.numConstraints + 1, this.tableau.getColCount() - 1)
+                == 0;
+    }
+
+    /**
+     * Beendet die erste Phase, nachdem ihre Zielfunktion 0 erreicht hat, aber noch künstliche
+     * Variablen mit dem Wert 0 in der Basis stehen. Jede davon wird durch einen degenerierten
+     * Pivotschritt auf einer beliebigen Spalte mit Eintrag ungleich 0 ersetzt; da die rechte
+     * Seite der Zeile 0 ist, ändert sich dabei keine rechte Seite. Hat die Zeile keinen solchen
+     * Eintrag, ist die Restriktion redundant: Kein späterer Pivotschritt verändert die Zeile, die
+     * künstliche Variable bleibt mit dem Wert 0 in der Basis.
+     *
+     * @param limits einzuhaltende Grenzen
+     * @return null, wenn die erste Phase beendet ist, sonst die erreichte Grenze
+     */
+    private SolverStatus driveOutArtificials(SolverLimits limits) {
+        for (int row = 0; row < this.numConstraints; row++) {
+            if (!isValidSolutionVariable(this.baseVars[row])) {
+                int col = 0;
+                while (isValidSolutionVariable(col) && this.tableau.signum(row, col) == 0) {
+                    col++;
+                }
+                if (isValidSolutionVariable(col)) {
+                    SolverStatus limit = limits.check(this.iterations);
+                    if (limit != null) {
+                        return limit;
+                    }
+                    this.iterations++;
+                    this.normalizePivotRow(col, row);
+                    this.switchBase(col, row);
+                    this.subtractRows(col, row);
+                    this.afterPivot(row, col);
+                }
+            }
+        }
+        //verbliebene kuenstliche Variablen gehoeren zu redundanten Restriktionen
+        this.numArtificialBaseVars = 0;
+        return null;
+    }
+
+    /**
+     * Beendet die aktuelle Phase und beginnt ggf. die nächste. Nur mit Beobachter wirksam.
+     *
+     * @param next beginnende Phase oder null am Ende des Lösungsvorgangs
+     */
+    private void enterPhase(SolverListener.Phase next) {
+        if (this.listener == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (this.phase != null) {
+            this.listener.phaseFinished(this.phase, this.iterations - this.phaseIterations,
+                    now - this.phaseStart);
+        }
+        this.phase = next;
+        this.phaseStart = now;
+        this.phaseIterations = this.iterations;
+        if (next != null) {
+            this.listener.phaseStarted(next);
+        }
+    }
+
+    /**
+     * Benachrichtigt den Beobachter über einen Simplexschritt, in dem ggf. Zellen gewechselt
+     * sind, und über den Übergang in die zweite Phase.
+     *
+     * @param pivotRow Index der Pivotzeile oder -1 bei einem Wechsel an die obere Schranke
+     * @param pivotCol Index der Pivotspalte
+     */
+    private void afterPivot(int pivotRow, int pivotCol) {
+        if (this.listener == null) {
+            return;
+        }
+        this.listener.pivoted(this.phase, this.iterations, pivotRow, pivotCol);
+        int promoted = this.tableau.getPromotionCount();
+        if (promoted != this.promotions) {
+            this.listener.cellsPromoted(this.iterations, promoted - this.promotions);
+            this.promotions = promoted;
+        }
+        if (this.phase == SolverListener.Phase.PHASE_ONE && this.isValidSolution()) {
+            this.enterPhase(SolverListener.Phase.PHASE_TWO);
+        }
+    }
+
+    /**
+     * Beendet die letzte Phase und meldet dem Beobachter das Ergebnis.
+     *
+     * @param start Beginn des Lösungsvorgangs in Nanosekunden
+     */
+    private void finish(long start) {
+        this.enterPhase(null);
+        this.listener.finished(this.status, this.iterations, System.nanoTime() - start);
+    }
+
+    /**
+     * Führt duale Simplexschritte aus, bis keine rechte Seite mehr negativ ist und keine
+     * Basisvariable ihre obere Schranke überschreitet. Setzt voraus, dass das Tableau dual
+     * zulässig ist, d.h. keine Spalte die Zielfunktion verbessert.
+     *
+     * @param limits einzuhaltende Grenzen
+     * @return null, wenn eine zulässige Lösung erreicht wurde, INFEASIBLE, wenn das Problem
+     * unlösbar ist, oder die erreichte Grenze
+     */
+    private SolverStatus dualOptimize(SolverLimits limits) {
+        int indexPivotRow = nextDualPivotRow();
+        while (indexPivotRow >= 0) {
+            int indexPivotCol = -1;
+            for (int col = 0; isValidSolutionVariable(col); col++) {
+                if (this.tableau.signum(indexPivotRow, col) < 0 && (indexPivotCol < 0
+                        || this.tableau.compareDualRatios(indexPivotRow, col, indexPivotCol) < 0)) {
+                    indexPivotCol = col;
+                }
+            }
+            if (indexPivotCol < 0) {
+                return SolverStatus.INFEASIBLE;
+            }
+            SolverStatus limit = limits.check(this.iterations);
+            if (limit != null) {
+                return limit;
+            }
+            this.iterations++;
+            this.normalizePivotRow(indexPivotCol, indexPivotRow);
+            this.switchBase(indexPivotCol, indexPivotRow);
+            this.subtractRows(indexPivotCol, indexPivotRow);
+            this.afterPivot(indexPivotRow, indexPivotCol);
+            indexPivotRow = nextDualPivotRow();
+        }
+        return null;
+    }
+
+    /**
+     * findet die nächste Pivotzeile des dualen Simplex. Ist keine rechte Seite negativ, wird eine
+     * Basisvariable, die ihre obere Schranke überschreitet, durch u - x ersetzt; die rechte Seite
+     * ihrer Zeile ist danach negativ.
+     *
+     * @return Index der Pivotzeile oder -1, wenn die Basis primal zulässig ist
+     */
+    private int nextDualPivotRow() {
+        int row = findDualPivotRow();
+        if (row < 0) {
+            row = findExceedingRow();
+            if (row >= 0) {
+                this.complement(this.baseVars[row]);
+                this.tableau.normalizeRow(row, this.baseVars[row]);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * findet die Pivotzeile des dualen Simplex
+     *
+     * @return Index der Zeile mit der kleinsten negativen rechten Seite, <br>
+     * falls keine rechte Seite negativ ist wird -1 zurueckgegeben
+     */
+    private int findDualPivotRow() {
+        int rhs = this.tableau.getColCount() - 1;
+        int minIndex = -1;
+        for (int row = 0; row < this.numConstraints; row++) {
+            if (this.tableau.signum(row, rhs) < 0
+                    && (minIndex < 0 || this.tableau.compare(row, rhs, minIndex, rhs) < 0)) {
+                minIndex = row;
+            }
         }
+        return minIndex;
     }
 
     /**
@@ -211,70 +1057,172 @@ public class SimplexSolver {
      */
     private Fraction[] getResult() {
         assert (this.isValidSolution());
+        int rhs = this.tableau.getColCount() - 1;
         Fraction[] result = new Fraction[this.numUnknowns + 1]; //x und Z
         Arrays.fill(result, Fraction.ZERO);
         for (int i = 0; i < this.baseVars.length; i++) {
             //Werte der Schlupfvariabeln fuer die Loesung uninteressant
             if (this.baseVars[i] < this.numUnknowns) {
-                result[this.baseVars[i]] = this.table[i][this.table[0].length - 1];
+                result[this.baseVars[i]] = this.tableau.get(i, rhs);
             }
         }
-        result[result.length - 1] = this.table[this.table.length - 1][this.table[0].length - 1];
+        result[result.length - 1] = this.tableau.get(this.numConstraints, rhs);
         //Bei Maximierungsproblemen Ergebnis negieren
         if (this.solveType == LinearProgram.SolveType.MAX) {
             result[result.length - 1] = result[result.length - 1].multiplyBy(Fraction.MINUS_ONE);
         }
+        for (int col = 0; col < this.numUnknowns; col++) {
+            if (this.complemented[col]) {
+                result[col] = this.upperBounds[col].subtract(result[col]);
+            }
+            if (this.lowerBounds != null) {
+                result[col] = result[col].add(this.lowerBounds[col]);
+            }
+        }
+        result[result.length - 1] = result[result.length - 1].add(this.objectiveShift);
         return result;
     }
 
 
+    /**
+     * liefert das Ergebnis der Optimierung in beliebiger Genauigkeit zurueck
+     *
+     * @return Ergebnis der Optimierung in der Reihenfolge x1, x2, ..., xn, z)
+     * @pre aktuelles Tableau muss eine gueltige Loesung darstellen
+     */
+    private BigFraction[] getBigResult() {
+        assert (this.isValidSolution());
+        int rhs = this.tableau.getColCount() - 1;
+        BigFraction[] result = new BigFraction[this.numUnknowns + 1]; //x und Z
+        Arrays.fill(result, BigFraction.ZERO);
+        for (int i = 0; i < this.baseVars.length; i++) {
+            if (this.baseVars[i] < this.numUnknowns) {
+                result[this.baseVars[i]] = this.tableau.getBig(i, rhs);
+            }
+        }
+        result[result.length - 1] = this.tableau.getBig(this.numConstraints, rhs);
+        //Bei Maximierungsproblemen Ergebnis negieren
+        if (this.solveType == LinearProgram.SolveType.MAX) {
+            result[result.length - 1] = result[result.length - 1].multiplyBy(BigFraction.MINUS_ONE);
+        }
+        for (int col = 0; col < this.numUnknowns; col++) {
+            if (this.complemented[col]) {
+                result[col] = BigFraction.valueOf(this.upperBounds[col]).subtract(result[col]);
+            }
+            if (this.lowerBounds != null) {
+                result[col] = result[col].add(BigFraction.valueOf(this.lowerBounds[col]));
+            }
+        }
+        result[result.length - 1] =
+                result[result.length - 1].add(BigFraction.valueOf(this.objectiveShift));
+        return result;
+    }
+
     /**
      * findet die Pivotspalte
      *
+     * @param rule    zu verwendende Pivotregel
+     * @param context Sicht der Pivotregel auf das Tableau
      * @return Index der Pivotspalte,<br>
      * falls keine Pivotspalte ausgewaehlt werden kann wird -1 zurueckgegeben
      */
-    private int findPivotCol() {
-        Fraction[] temp = new Fraction[this.numConstraints + this.numUnknowns];
-        Arrays.fill(temp, Fraction.ZERO);
-
-        //gueltige Loesung liegt vor
-        if (isValidSolution()) {
-            for (int i = 0; i < temp.length; i++) {
-                temp[i] = this.table[this.table.length - 1][i];
-            }
-            //noch keine gueltige Loesung
-        } else {
-            for (int col = 0; col < temp.length; col++) {
-                for (int row = 0; row < this.baseVars.length; row++) {
-                    if (!this.isValidSolutionVariable(this.baseVars[row])) {
-                        temp[col] = temp[col].add(this.table[row][col]);
-                    }
-                }
-            }
-
-        }
-        return findMaxIndex(temp);
+    private int findPivotCol(PivotRule rule, SolverContext context) {
+        context.refresh();
+        return rule.selectColumn(context);
     }
 
     /**
      * findet die Pivotzeile
      *
+     * @param rule          zu verwendende Pivotregel
+     * @param context       Sicht der Pivotregel auf das Tableau
      * @param indexPivotCol Index der Pivotspalte
      * @return Index der Pivotzeile, <br>
      * falls keine Pivotzeile ausgewaehlt werden kann wird -1 zurueckgegeben
      */
-    private int findPivotRow(int indexPivotCol) {
-        Fraction[] quotients = new Fraction[this.numConstraints];
-        for (int i = 0; i < quotients.length; i++) {
-            Fraction temp = this.table[i][indexPivotCol];
-            if (temp.compareTo(Fraction.ZERO) <= 0) {
-                quotients[i] = Fraction.MINUS_ONE;
-            } else {
-                quotients[i] = this.table[i][this.table[0].length - 1].divideBy(temp);
+    private int findPivotRow(PivotRule rule, SolverContext context, int indexPivotCol) {
+        return rule.selectRow(context, indexPivotCol);
+    }
+
+    /**
+     * findet die Pivotzeile unter Beachtung der oberen Schranken. Die Schrittweite der
+     * Pivotspalte ist durch drei Fälle begrenzt: eine Basisvariable fällt auf 0 (Zeile der
+     * Pivotregel), eine Basisvariable erreicht ihre obere Schranke oder die Pivotvariable selbst
+     * erreicht ihre obere Schranke. Im zweiten Fall wird die Basisvariable vor dem Pivotschritt
+     * durch u - x ersetzt, im dritten Fall nur die Pivotspalte, ohne dass sich die Basis ändert.
+     *
+     * @param rule          zu verwendende Pivotregel
+     * @param context       Sicht der Pivotregel auf das Tableau
+     * @param indexPivotCol Index der Pivotspalte
+     * @return Index der Pivotzeile, BOUND_FLIP, wenn kein Pivotschritt nötig ist, oder -1, wenn
+     * die Spalte unbeschränkt ist
+     */
+    private int findBoundedPivotRow(PivotRule rule, SolverContext context, int indexPivotCol) {
+        int rhs = this.tableau.getColCount() - 1;
+        int pivotRow = findPivotRow(rule, context, indexPivotCol);
+        BigFraction step = pivotRow < 0 ? null : this.tableau.getBig(pivotRow, rhs)
+                .divideBy(this.tableau.getBig(pivotRow, indexPivotCol));
+        int upperRow = -1;
+        for (int row = 0; row < this.numConstraints; row++) {
+            Fraction bound = getUpperBound(this.baseVars[row]);
+            //Basisvariable waechst, wenn der Eintrag negativ ist
+            if (bound != null && this.tableau.signum(row, indexPivotCol) < 0) {
+                BigFraction ratio = BigFraction.valueOf(bound)
+                        .subtract(this.tableau.getBig(row, rhs))
+                        .divideBy(this.tableau.getBig(row, indexPivotCol)
+                                .multiplyBy(BigFraction.MINUS_ONE));
+                if (step == null || ratio.compareTo(step) < 0) {
+                    step = ratio;
+                    upperRow = row;
+                }
+            }
+        }
+        Fraction bound = getUpperBound(indexPivotCol);
+        if (bound != null && (step == null || BigFraction.valueOf(bound).compareTo(step) < 0)) {
+            this.complement(indexPivotCol);
+            return BOUND_FLIP;
+        }
+        if (upperRow >= 0) {
+            //Basisvariable durch u - x ersetzen, danach ist ihr Eintrag in der Zeile -1
+            this.complement(this.baseVars[upperRow]);
+            this.tableau.normalizeRow(upperRow, this.baseVars[upperRow]);
+            return upperRow;
+        }
+        return pivotRow;
+    }
+
+    /**
+     * @param col Spaltenindex
+     * @return obere Schranke der Variablen der Spalte oder null, wenn sie unbeschränkt ist
+     */
+    private Fraction getUpperBound(int col) {
+        return this.upperBounds != null && col < this.numUnknowns ? this.upperBounds[col] : null;
+    }
+
+    /**
+     * Ersetzt eine beschränkte Unbekannte x durch u - x bzw. macht diese Ersetzung rückgängig.
+     *
+     * @param col Index der Unbekannten
+     */
+    private void complement(int col) {
+        this.tableau.complementColumn(col, this.upperBounds[col]);
+        this.complemented[col] = !this.complemented[col];
+    }
+
+    /**
+     * @return Index der ersten Zeile, deren Basisvariable ihre obere Schranke überschreitet, oder
+     * -1, wenn es keine gibt
+     */
+    private int findExceedingRow() {
+        int rhs = this.tableau.getColCount() - 1;
+        for (int row = 0; row < this.numConstraints; row++) {
+            Fraction bound = getUpperBound(this.baseVars[row]);
+            if (bound != null && this.tableau.getBig(row, rhs)
+                    .compareTo(BigFraction.valueOf(bound)) > 0) {
+                return row;
             }
         }
-        return findMinIndex(quotients);
+        return -1;
     }
 
     /**
@@ -288,10 +1236,7 @@ public class SimplexSolver {
     private void normalizePivotRow(int indexPivotCol, int indexPivotRow) {
         assert (isValidSolutionVariable(indexPivotCol));
         assert (indexPivotRow >= 0 && indexPivotRow < this.baseVars.length);
-        Fraction pivotElem = this.table[indexPivotRow][indexPivotCol];
-        for (int i = 0; i < this.table[0].length; i++) {
-            this.table[indexPivotRow][i] = this.table[indexPivotRow][i].divideBy(pivotElem);
-        }
+        this.tableau.normalizeRow(indexPivotRow, indexPivotCol);
     }
 
     /**
@@ -315,6 +1260,9 @@ public class SimplexSolver {
     private void switchBase(int indexPivotCol, int indexPivotRow) {
         assert (isValidSolutionVariable(indexPivotCol));
         assert (indexPivotRow >= 0 && indexPivotRow < this.baseVars.length);
+        if (!isValidSolutionVariable(this.baseVars[indexPivotRow])) {
+            this.numArtificialBaseVars--;
+        }
         this.baseVars[indexPivotRow] = indexPivotCol;
     }
 
@@ -329,67 +1277,94 @@ public class SimplexSolver {
     private void subtractRows(int indexPivotCol, int indexPivotRow) {
         assert (isValidSolutionVariable(indexPivotCol));
         assert (indexPivotRow >= 0 && indexPivotRow < this.baseVars.length);
-        for (int row = 0; row < this.table.length; row++) {
-            if (row != indexPivotRow) {
-                //Pivotelement ist schon eins, braucht nicht extra dadurch teilen
-                Fraction a = this.table[row][indexPivotCol];
-                for (int col = 0; col < this.table[0].length; col++) {
-                    this.table[row][col] =
-                            this.table[row][col].subtract(
-                                    a.multiplyBy(this.table[indexPivotRow][col]));
-                }
-            }
-        }
+        this.tableau.eliminateRows(indexPivotRow, indexPivotCol, this.pool,
+                this.parallelThreshold);
     }
 
 
-    /**
-     * liefert den Index des kleinsten Bruchs, der groesser als 0 ist aus einem Array
-     *
-     * @param fraction Array mit den Brüchen
-     * @return Index des kleinsten Bruchs, ist kein Bruch groesser als 0, wird -1 zurueckgegeben
-     */
-    private int findMinIndex(Fraction[] fraction) {
-        Fraction currMin = new Fraction(Long.MAX_VALUE);
-        int minIndex = -1;
-        for (int i = 0; i < fraction.length; i++) {
-            if ((fraction[i].compareTo(Fraction.ZERO) >= 0)
-                    && (fraction[i].compareTo(currMin) < 0)) {
-                currMin = fraction[i];
-                minIndex = i;
+    @Override
+    public String toString() {
+        String str = "";
+        for (Fraction[] temp : this.getTable()) {
+            for (Fraction frac : temp) {
+                str += frac + " ";
             }
+            str += "\n";
         }
-        return minIndex;
+        return str;
     }
 
     /**
-     * liefert den Index des groessten Bruchs aus einem Array
-     *
-     * @param fraction Array mit den Brüchen
-     * @return Index des groessten Bruchs
+     * Sicht der Pivotregeln auf das Tableau. In der ersten Phase werden die reduzierten Kosten
+     * aus der mitgeführten Zielfunktion der ersten Phase gelesen, sonst aus der Zielfunktion.
      */
-    private int findMaxIndex(Fraction[] fraction) {
-        Fraction currMax = Fraction.ZERO;
-        int maxIndex = -1;
-        for (int i = 0; i < fraction.length; i++) {
-            if (fraction[i].compareTo(currMax) > 0) {
-                currMax = fraction[i];
-                maxIndex = i;
-            }
+    private class SolverContext implements PivotContext {
+
+        /**
+         * Index der Zeile mit den reduzierten Kosten der aktuellen Phase
+         */
+        private int costRow;
+
+        /**
+         * Bestimmt die Phase und damit die Zeile der reduzierten Kosten.
+         */
+        void refresh() {
+            this.costRow = isPhaseOne() ? numConstraints + 1 : numConstraints;
         }
-        return maxIndex;
-    }
 
+        @Override
+        public int getRowCount() {
+            return numConstraints;
+        }
 
-    @Override
-    public String toString() {
-        String str = "";
-        for (Fraction[] temp : this.table) {
-            for (Fraction frac : temp) {
-                str += frac + " ";
-            }
-            str += "\n";
+        @Override
+        public int getCandidateCount() {
+            return numConstraints + numUnknowns;
+        }
+
+        @Override
+        public boolean isPhaseOne() {
+            return !isValidSolution();
+        }
+
+        @Override
+        public int getBaseVar(int row) {
+            return baseVars[row];
+        }
+
+        @Override
+        public int reducedCostSignum(int col) {
+            return tableau.signum(this.costRow, col);
+        }
+
+        @Override
+        public int compareReducedCosts(int col1, int col2) {
+            return tableau.compare(this.costRow, col1, this.costRow, col2);
+        }
+
+        @Override
+        public double getReducedCost(int col) {
+            return tableau.getAsFPN(this.costRow, col);
+        }
+
+        @Override
+        public int signum(int row, int col) {
+            return tableau.signum(row, col);
+        }
+
+        @Override
+        public double getEntry(int row, int col) {
+            return tableau.getAsFPN(row, col);
+        }
+
+        @Override
+        public int compareRatios(int row1, int row2, int col) {
+            return tableau.compareRatios(row1, row2, col);
+        }
+
+        @Override
+        public int rightSideSignum(int row) {
+            return tableau.signum(row, tableau.getColCount() - 1);
         }
-        return str;
     }
-}
\ No newline at end of file
+}
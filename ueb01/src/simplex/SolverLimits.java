@@ -0,0 +1,120 @@
+package simplex;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grenzen eines Lösungsvorgangs: höchstens so viele Pivotschritte, ein Zeitpunkt, bis zu dem
+ * gelöst sein muss, und ein Token für den kooperativen Abbruch. Alle Grenzen werden vor jedem
+ * Pivotschritt geprüft; ist eine erreicht, endet der Lösungsvorgang mit dem zugehörigen
+ * {@link SolverStatus}, statt weiterzurechnen. Die Objekte sind unveränderlich, die
+ * with-Methoden liefern Kopien.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public final class SolverLimits {
+
+    /**
+     * keine Grenzen
+     */
+    public static final SolverLimits NONE = new SolverLimits(Integer.MAX_VALUE, false, 0, null);
+
+    /**
+     * maximale Anzahl an Pivotschritten je Lösungsvorgang
+     */
+    private final int maxIterations;
+
+    /**
+     * true, wenn deadline gesetzt ist
+     */
+    private final boolean hasDeadline;
+
+    /**
+     * Zeitpunkt nach System.nanoTime(), ab dem keine Pivotschritte mehr ausgeführt werden
+     */
+    private final long deadline;
+
+    /**
+     * Token für den Abbruch oder null
+     */
+    private final CancellationToken token;
+
+    /**
+     * Konstruktor.
+     *
+     * @param maxIterations maximale Anzahl an Pivotschritten
+     * @param hasDeadline   true, wenn deadline gesetzt ist
+     * @param deadline      Zeitpunkt nach System.nanoTime()
+     * @param token         Token für den Abbruch oder null
+     */
+    private SolverLimits(int maxIterations, boolean hasDeadline, long deadline,
+            CancellationToken token) {
+        this.maxIterations = maxIterations;
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadline;
+        this.token = token;
+    }
+
+    /**
+     * @param maxIterations maximale Anzahl an Pivotschritten je Lösungsvorgang
+     * @return Kopie mit der übergebenen Grenze
+     * @pre maxIterations &ge; 0
+     */
+    public SolverLimits withIterationLimit(int maxIterations) {
+        assert maxIterations >= 0;
+        return new SolverLimits(maxIterations, this.hasDeadline, this.deadline, this.token);
+    }
+
+    /**
+     * Setzt die Frist auf einen Zeitpunkt nach {@link System#nanoTime()}, z.B. den Eingang einer
+     * Anfrage plus ihr Zeitbudget.
+     *
+     * @param nanoTime Zeitpunkt, ab dem keine Pivotschritte mehr ausgeführt werden
+     * @return Kopie mit der übergebenen Frist
+     */
+    public SolverLimits withDeadline(long nanoTime) {
+        return new SolverLimits(this.maxIterations, true, nanoTime, this.token);
+    }
+
+    /**
+     * Setzt die Frist auf den aktuellen Zeitpunkt plus die übergebene Dauer.
+     *
+     * @param duration Dauer
+     * @param unit     Einheit der Dauer
+     * @return Kopie mit der Frist
+     * @pre duration &ge; 0
+     * @pre unit != null
+     */
+    public SolverLimits withTimeLimit(long duration, TimeUnit unit) {
+        assert duration >= 0;
+        assert unit != null;
+        return withDeadline(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    /**
+     * @param token Token für den Abbruch oder null für keinen
+     * @return Kopie mit dem übergebenen Token
+     */
+    public SolverLimits withCancellation(CancellationToken token) {
+        return new SolverLimits(this.maxIterations, this.hasDeadline, this.deadline, token);
+    }
+
+    /**
+     * Prüft die Grenzen vor einem Pivotschritt.
+     *
+     * @param iterations Anzahl der bisherigen Pivotschritte des Lösungsvorgangs
+     * @return erreichte Grenze oder null, wenn weitergerechnet werden darf
+     */
+    SolverStatus check(int iterations) {
+        if (this.token != null && this.token.isCancelled()) {
+            return SolverStatus.CANCELLED;
+        }
+        if (iterations >= this.maxIterations) {
+            return SolverStatus.ITERATION_LIMIT;
+        }
+        //Differenz statt Vergleich, damit ein Ueberlauf von nanoTime nicht stoert
+        if (this.hasDeadline && System.nanoTime() - this.deadline >= 0) {
+            return SolverStatus.TIME_LIMIT;
+        }
+        return null;
+    }
+}
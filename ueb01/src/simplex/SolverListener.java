@@ -0,0 +1,87 @@
+package simplex;
+
+/**
+ * Beobachter eines Lösungsvorgangs, z.B. um langsame Probleme zu finden. Alle Methoden sind
+ * leer vorbelegt, sodass nur die benötigten Ereignisse überschrieben werden müssen. Ist kein
+ * Beobachter gesetzt, misst der SimplexSolver weder Zeiten noch erzeugt er Ereignisse.
+ * Die Methoden werden im Thread des Lösungsvorgangs aufgerufen und sollten schnell
+ * zurückkehren.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public interface SolverListener {
+
+    /**
+     * Phasen eines Lösungsvorgangs
+     */
+    enum Phase {
+        /** dualer Simplex bis zur ersten zulässigen Basis */
+        DUAL,
+
+        /** primaler Simplex mit künstlichen Variablen in der Basis */
+        PHASE_ONE,
+
+        /** primaler Simplex auf der Zielfunktion */
+        PHASE_TWO
+    }
+
+    /**
+     * Wird zu Beginn einer Phase aufgerufen.
+     *
+     * @param phase beginnende Phase
+     */
+    default void phaseStarted(Phase phase) {
+    }
+
+    /**
+     * Wird nach jedem Simplexschritt aufgerufen.
+     *
+     * @param phase     aktuelle Phase
+     * @param iteration Nummer des Schritts im Lösungsvorgang, beginnend bei 1
+     * @param pivotRow  Index der Pivotzeile oder -1, wenn die Pivotspalte nur an ihre obere
+     *                  Schranke gewechselt ist
+     * @param pivotCol  Index der Pivotspalte
+     */
+    default void pivoted(Phase phase, int iteration, int pivotRow, int pivotCol) {
+    }
+
+    /**
+     * Wird nach einem Simplexschritt aufgerufen, in dem Zellen des Tableaus wegen eines
+     * drohenden Überlaufs in eine genauere Darstellung gewechselt sind (Speicherform HYBRID).
+     *
+     * @param iteration Nummer des Schritts
+     * @param cells     Anzahl der gewechselten Zellen
+     */
+    default void cellsPromoted(int iteration, int cells) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn ein Wert nicht in der Speicherform des Tableaus darstellbar ist. Die
+     * Ausnahme wird danach an den Aufrufer von solve() weitergereicht.
+     *
+     * @param iteration Anzahl der bis dahin abgeschlossenen Schritte
+     * @param e         aufgetretene Ausnahme
+     */
+    default void overflowed(int iteration, ArithmeticException e) {
+    }
+
+    /**
+     * Wird am Ende einer Phase aufgerufen.
+     *
+     * @param phase      endende Phase
+     * @param iterations Anzahl der Schritte in der Phase
+     * @param nanos      Dauer der Phase in Nanosekunden
+     */
+    default void phaseFinished(Phase phase, int iterations, long nanos) {
+    }
+
+    /**
+     * Wird am Ende des Lösungsvorgangs aufgerufen.
+     *
+     * @param status     Ergebnis des Lösungsvorgangs
+     * @param iterations Anzahl aller Schritte
+     * @param nanos      Dauer des Lösungsvorgangs in Nanosekunden
+     */
+    default void finished(SolverStatus status, int iterations, long nanos) {
+    }
+}
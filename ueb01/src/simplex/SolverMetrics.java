@@ -0,0 +1,174 @@
+package simplex;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Beobachter, der Kennzahlen von Lösungsvorgängen sammelt: Schritte und Dauer je Phase, Zellen,
+ * die in eine genauere Darstellung gewechselt sind, Überläufe und das letzte Ergebnis. Die Werte
+ * mehrerer Lösungsvorgänge werden aufsummiert, bis {@link #reset()} aufgerufen wird. Eine
+ * Instanz darf nicht von mehreren Automaten gleichzeitig genutzt werden.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class SolverMetrics implements SolverListener {
+
+    /**
+     * Nanosekunden je Mikrosekunde, für die Ausgabe in toString()
+     */
+    private static final long NANOS_PER_MICRO = 1000;
+
+    /**
+     * Anzahl der Schritte je Phase
+     */
+    private final Map<Phase, Integer> iterations = new EnumMap<>(Phase.class);
+
+    /**
+     * Dauer je Phase in Nanosekunden
+     */
+    private final Map<Phase, Long> nanos = new EnumMap<>(Phase.class);
+
+    /**
+     * Anzahl der Lösungsvorgänge
+     */
+    private int solveCount;
+
+    /**
+     * Gesamtdauer der Lösungsvorgänge in Nanosekunden
+     */
+    private long totalNanos;
+
+    /**
+     * Anzahl der in eine genauere Darstellung gewechselten Zellen
+     */
+    private int promotedCells;
+
+    /**
+     * Anzahl der Überläufe
+     */
+    private int overflows;
+
+    /**
+     * Ergebnis des letzten Lösungsvorgangs
+     */
+    private SolverStatus lastStatus = SolverStatus.NOT_SOLVED;
+
+    @Override
+    public void cellsPromoted(int iteration, int cells) {
+        this.promotedCells += cells;
+    }
+
+    @Override
+    public void overflowed(int iteration, ArithmeticException e) {
+        this.overflows++;
+    }
+
+    @Override
+    public void phaseFinished(Phase phase, int iterations, long nanos) {
+        this.iterations.merge(phase, iterations, Integer::sum);
+        this.nanos.merge(phase, nanos, Long::sum);
+    }
+
+    @Override
+    public void finished(SolverStatus status, int iterations, long nanos) {
+        this.solveCount++;
+        this.totalNanos += nanos;
+        this.lastStatus = status;
+    }
+
+    /**
+     * Setzt alle Kennzahlen zurück.
+     */
+    public void reset() {
+        this.iterations.clear();
+        this.nanos.clear();
+        this.solveCount = 0;
+        this.totalNanos = 0;
+        this.promotedCells = 0;
+        this.overflows = 0;
+        this.lastStatus = SolverStatus.NOT_SOLVED;
+    }
+
+    /**
+     * @param phase Phase
+     * @return Anzahl der Schritte in der Phase
+     */
+    public int getIterationCount(Phase phase) {
+        return this.iterations.getOrDefault(phase, 0);
+    }
+
+    /**
+     * @return Anzahl der Schritte aller Phasen
+     */
+    public int getIterationCount() {
+        int sum = 0;
+        for (int count : this.iterations.values()) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * @param phase Phase
+     * @return Dauer der Phase in Nanosekunden
+     */
+    public long getNanos(Phase phase) {
+        return this.nanos.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * @return Gesamtdauer der Lösungsvorgänge in Nanosekunden
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * @return Anzahl der Lösungsvorgänge
+     */
+    public int getSolveCount() {
+        return this.solveCount;
+    }
+
+    /**
+     * @return Anzahl der Zellen, die wegen eines drohenden Überlaufs in eine genauere
+     * Darstellung gewechselt sind
+     */
+    public int getPromotedCellCount() {
+        return this.promotedCells;
+    }
+
+    /**
+     * @return Anzahl der Lösungsvorgänge, die mit einem Überlauf abgebrochen sind
+     */
+    public int getOverflowCount() {
+        return this.overflows;
+    }
+
+    /**
+     * @return Ergebnis des letzten Lösungsvorgangs
+     */
+    public SolverStatus getLastStatus() {
+        return this.lastStatus;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        str.append(this.lastStatus).append(": ").append(getIterationCount()).append(" Schritte in ")
+                .append(this.totalNanos / NANOS_PER_MICRO).append(" µs");
+        for (Phase phase : Phase.values()) {
+            if (this.iterations.containsKey(phase)) {
+                str.append(", ").append(phase).append(' ').append(getIterationCount(phase))
+                        .append(" (").append(getNanos(phase) / NANOS_PER_MICRO).append(" µs)");
+            }
+        }
+        if (this.promotedCells > 0) {
+            str.append(", ").append(this.promotedCells).append(" Zellen gewechselt");
+        }
+        if (this.overflows > 0) {
+            str.append(", ").append(this.overflows).append(" Überläufe");
+        }
+        return str.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package simplex;
+
+/**
+ * Ergebnis des letzten Lösungsvorgangs eines SimplexSolvers. Unterscheidet die Fälle, in denen
+ * solve() die null-Referenz zurückgibt.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public enum SolverStatus {
+    /** es wurde noch nicht gelöst */
+    NOT_SOLVED,
+
+    /** eine optimale Lösung wurde gefunden */
+    OPTIMAL,
+
+    /** das Problem hat keine zulässige Lösung */
+    INFEASIBLE,
+
+    /** die Zielfunktion ist auf der zulässigen Menge unbeschränkt */
+    UNBOUNDED,
+
+    /** ein Wert war nicht in der Speicherform des Tableaus darstellbar */
+    OVERFLOW,
+
+    /** die maximale Anzahl an Pivotschritten wurde erreicht, siehe {@link SolverLimits} */
+    ITERATION_LIMIT,
+
+    /** die Frist ist abgelaufen, siehe {@link SolverLimits} */
+    TIME_LIMIT,
+
+    /** der Lösungsvorgang wurde über ein {@link CancellationToken} abgebrochen */
+    CANCELLED
+}
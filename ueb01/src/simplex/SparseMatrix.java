@@ -0,0 +1,383 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Unveränderliche dünnbesetzte Bruch-Matrix im CSR-Format (compressed sparse row). Gespeichert
+ * werden nur die von 0 verschiedenen Einträge, zeilenweise und innerhalb einer Zeile nach
+ * Spaltenindex sortiert. Über {@link #transpose()} erhält man dieselben Daten im CSC-Format
+ * (compressed sparse column) der Ausgangsmatrix.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public final class SparseMatrix {
+
+    /**
+     * Schrittweiser Aufbau einer SparseMatrix. Einträge dürfen in beliebiger Reihenfolge
+     * hinzugefügt werden; mehrfach angegebene Positionen werden addiert.
+     */
+    public static class Builder {
+
+        /** Anfangskapazität der Eintragslisten */
+        private static final int INITIAL_CAPACITY = 16;
+
+        /** Anzahl der Zeilen oder -1, solange sie noch nicht feststeht */
+        private final int numRows;
+
+        /** Anzahl der Spalten oder -1, solange sie noch nicht feststeht */
+        private final int numCols;
+
+        /** Zeilenindices der Einträge */
+        private int[] rows = new int[INITIAL_CAPACITY];
+
+        /** Spaltenindices der Einträge */
+        private int[] cols = new int[INITIAL_CAPACITY];
+
+        /** Werte der Einträge */
+        private Fraction[] values = new Fraction[INITIAL_CAPACITY];
+
+        /** Anzahl der Einträge */
+        private int size;
+
+        /**
+         * Konstruktor.
+         *
+         * @param numRows Anzahl der Zeilen
+         * @param numCols Anzahl der Spalten
+         * @pre numRows &ge; 0 und numCols &ge; 0
+         */
+        public Builder(int numRows, int numCols) {
+            assert numRows >= 0 && numCols >= 0;
+            this.numRows = numRows;
+            this.numCols = numCols;
+        }
+
+        /**
+         * Konstruktor für Matrizen, deren Größe erst beim Erstellen feststeht, z.B. beim Einlesen
+         * einer Modelldatei. Die Größe wird dann an {@link #build(int, int)} übergeben.
+         */
+        Builder() {
+            this.numRows = -1;
+            this.numCols = -1;
+        }
+
+        /**
+         * Fügt einen Eintrag hinzu. Einträge mit dem Wert 0 werden ignoriert.
+         *
+         * @param row   Zeilenindex
+         * @param col   Spaltenindex
+         * @param value Wert
+         * @return dieser Builder
+         * @pre 0 &le; row &lt; numRows und 0 &le; col &lt; numCols
+         * @pre value != null
+         */
+        public Builder add(int row, int col, Fraction value) {
+            assert row >= 0 && (this.numRows < 0 || row < this.numRows);
+            assert col >= 0 && (this.numCols < 0 || col < this.numCols);
+            assert value != null;
+            if (value.getNumerator() != 0) {
+                if (this.size == this.rows.length) {
+                    this.rows = Arrays.copyOf(this.rows, 2 * this.size);
+                    this.cols = Arrays.copyOf(this.cols, 2 * this.size);
+                    this.values = Arrays.copyOf(this.values, 2 * this.size);
+                }
+                this.rows[this.size] = row;
+                this.cols[this.size] = col;
+                this.values[this.size] = value;
+                this.size++;
+            }
+            return this;
+        }
+
+        /**
+         * Fügt alle von 0 verschiedenen Einträge einer dichten Zeile hinzu.
+         *
+         * @param row  Zeilenindex
+         * @param term Werte der Zeile
+         * @return dieser Builder
+         * @pre term != null und term.length == numCols
+         */
+        public Builder addRow(int row, Fraction[] term) {
+            assert term != null && term.length == this.numCols;
+            for (int col = 0; col < term.length; col++) {
+                add(row, col, term[col]);
+            }
+            return this;
+        }
+
+        /**
+         * Negiert alle bisher hinzugefügten Einträge der markierten Zeilen.
+         *
+         * @param rows true für jede zu negierende Zeile
+         */
+        void negateRows(boolean[] rows) {
+            for (int k = 0; k < this.size; k++) {
+                if (this.rows[k] < rows.length && rows[this.rows[k]]) {
+                    this.values[k] = this.values[k].multiplyBy(Fraction.MINUS_ONE);
+                }
+            }
+        }
+
+        /**
+         * Erstellt die Matrix mittels Counting-Sort nach Zeilen und anschließender Sortierung der
+         * Spalten innerhalb jeder Zeile.
+         *
+         * @return neue Matrix mit den bisher hinzugefügten Einträgen
+         * @pre die Größe der Matrix wurde im Konstruktor angegeben
+         */
+        public SparseMatrix build() {
+            assert this.numRows >= 0 && this.numCols >= 0;
+            return build(this.numRows, this.numCols);
+        }
+
+        /**
+         * Erstellt die Matrix mit der angegebenen Größe.
+         *
+         * @param numRows Anzahl der Zeilen
+         * @param numCols Anzahl der Spalten
+         * @return neue Matrix mit den bisher hinzugefügten Einträgen
+         * @pre alle Einträge liegen innerhalb von numRows Zeilen und numCols Spalten
+         */
+        SparseMatrix build(int numRows, int numCols) {
+            int[] rowPointers = new int[numRows + 1];
+            for (int k = 0; k < this.size; k++) {
+                rowPointers[this.rows[k] + 1]++;
+            }
+            for (int row = 0; row < numRows; row++) {
+                rowPointers[row + 1] += rowPointers[row];
+            }
+            int[] next = Arrays.copyOf(rowPointers, numRows);
+            int[] colIndices = new int[this.size];
+            Fraction[] entries = new Fraction[this.size];
+            for (int k = 0; k < this.size; k++) {
+                int pos = next[this.rows[k]]++;
+                colIndices[pos] = this.cols[k];
+                entries[pos] = this.values[k];
+            }
+            //je Zeile nach Spalten sortieren und doppelte Positionen zusammenfassen
+            int[] newPointers = new int[numRows + 1];
+            int count = 0;
+            for (int row = 0; row < numRows; row++) {
+                int start = rowPointers[row];
+                int end = rowPointers[row + 1];
+                sortRange(colIndices, entries, start, end);
+                newPointers[row] = count;
+                for (int k = start; k < end; k++) {
+                    if (count > newPointers[row] && colIndices[count - 1] == colIndices[k]) {
+                        entries[count - 1] = entries[count - 1].add(entries[k]);
+                    } else {
+                        colIndices[count] = colIndices[k];
+                        entries[count] = entries[k];
+                        count++;
+                    }
+                }
+                //durch Addition entstandene Nullen entfernen
+                int kept = newPointers[row];
+                for (int k = newPointers[row]; k < count; k++) {
+                    if (entries[k].getNumerator() != 0) {
+                        colIndices[kept] = colIndices[k];
+                        entries[kept] = entries[k];
+                        kept++;
+                    }
+                }
+                count = kept;
+            }
+            newPointers[numRows] = count;
+            return new SparseMatrix(numRows, numCols, newPointers,
+                    Arrays.copyOf(colIndices, count), Arrays.copyOf(entries, count));
+        }
+
+        /**
+         * Sortiert einen Bereich der Einträge nach Spaltenindex (Insertion-Sort, da Zeilen meist
+         * kurz und oft bereits sortiert sind).
+         *
+         * @param colIndices Spaltenindices
+         * @param entries    zugehörige Werte
+         * @param start      erster Index des Bereichs
+         * @param end        Index hinter dem Bereich
+         */
+        private static void sortRange(int[] colIndices, Fraction[] entries, int start, int end) {
+            for (int i = start + 1; i < end; i++) {
+                int col = colIndices[i];
+                Fraction value = entries[i];
+                int j = i - 1;
+                while (j >= start && colIndices[j] > col) {
+                    colIndices[j + 1] = colIndices[j];
+                    entries[j + 1] = entries[j];
+                    j--;
+                }
+                colIndices[j + 1] = col;
+                entries[j + 1] = value;
+            }
+        }
+    }
+
+    /**
+     * Anzahl der Zeilen
+     */
+    private final int numRows;
+
+    /**
+     * Anzahl der Spalten
+     */
+    private final int numCols;
+
+    /**
+     * Beginn jeder Zeile in colIndices und values, am Ende zusätzlich die Anzahl der Einträge
+     */
+    private final int[] rowPointers;
+
+    /**
+     * Spaltenindices der Einträge
+     */
+    private final int[] colIndices;
+
+    /**
+     * Werte der Einträge
+     */
+    private final Fraction[] values;
+
+    /**
+     * Konstruktor, nur über den Builder oder transpose erreichbar.
+     *
+     * @param numRows     Anzahl der Zeilen
+     * @param numCols     Anzahl der Spalten
+     * @param rowPointers Beginn jeder Zeile
+     * @param colIndices  Spaltenindices der Einträge
+     * @param values      Werte der Einträge
+     */
+    private SparseMatrix(int numRows, int numCols, int[] rowPointers, int[] colIndices,
+            Fraction[] values) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.rowPointers = rowPointers;
+        this.colIndices = colIndices;
+        this.values = values;
+    }
+
+    /**
+     * Erstellt eine dünnbesetzte Matrix aus den Termen der übergebenen Restriktionen.
+     *
+     * @param restrictions Restriktionen, deren Terme die Zeilen bilden
+     * @param numCols      Anzahl der Koeffizienten je Restriktion
+     * @return neue Matrix
+     * @pre restrictions != null
+     */
+    static SparseMatrix of(LinearProgram.Restriction[] restrictions, int numCols) {
+        assert restrictions != null;
+        Builder builder = new Builder(restrictions.length, numCols);
+        for (int row = 0; row < restrictions.length; row++) {
+            restrictions[row].addTo(builder, row);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return Anzahl der Zeilen
+     */
+    public int getRowCount() {
+        return this.numRows;
+    }
+
+    /**
+     * @return Anzahl der Spalten
+     */
+    public int getColCount() {
+        return this.numCols;
+    }
+
+    /**
+     * @return Anzahl der von 0 verschiedenen Einträge
+     */
+    public int getNonZeroCount() {
+        return this.values.length;
+    }
+
+    /**
+     * @param row Zeilenindex
+     * @return Position des ersten Eintrags der Zeile
+     */
+    public int getRowStart(int row) {
+        return this.rowPointers[row];
+    }
+
+    /**
+     * @param row Zeilenindex
+     * @return Position hinter dem letzten Eintrag der Zeile
+     */
+    public int getRowEnd(int row) {
+        return this.rowPointers[row + 1];
+    }
+
+    /**
+     * @param pos Position eines Eintrags
+     * @return Spaltenindex des Eintrags
+     */
+    public int getColIndex(int pos) {
+        return this.colIndices[pos];
+    }
+
+    /**
+     * @param pos Position eines Eintrags
+     * @return Wert des Eintrags
+     */
+    public Fraction getValue(int pos) {
+        return this.values[pos];
+    }
+
+    /**
+     * Gibt den Wert an einer beliebigen Position zurück (binäre Suche innerhalb der Zeile).
+     *
+     * @param row Zeilenindex
+     * @param col Spaltenindex
+     * @return Wert an der Position, Fraction.ZERO wenn kein Eintrag existiert
+     */
+    public Fraction get(int row, int col) {
+        int pos = Arrays.binarySearch(this.colIndices, this.rowPointers[row],
+                this.rowPointers[row + 1], col);
+        return pos >= 0 ? this.values[pos] : Fraction.ZERO;
+    }
+
+    /**
+     * Gibt eine Zeile als dichtes Array zurück.
+     *
+     * @param row Zeilenindex
+     * @return neue dichte Zeile
+     */
+    public Fraction[] getDenseRow(int row) {
+        Fraction[] result = new Fraction[this.numCols];
+        Arrays.fill(result, Fraction.ZERO);
+        for (int pos = this.rowPointers[row]; pos < this.rowPointers[row + 1]; pos++) {
+            result[this.colIndices[pos]] = this.values[pos];
+        }
+        return result;
+    }
+
+    /**
+     * Gibt die transponierte Matrix zurück. Deren Zeilen sind die Spalten dieser Matrix, sie
+     * entspricht also der CSC-Darstellung dieser Matrix.
+     *
+     * @return transponierte Matrix
+     */
+    public SparseMatrix transpose() {
+        int[] pointers = new int[this.numCols + 1];
+        for (int col : this.colIndices) {
+            pointers[col + 1]++;
+        }
+        for (int col = 0; col < this.numCols; col++) {
+            pointers[col + 1] += pointers[col];
+        }
+        int[] next = Arrays.copyOf(pointers, this.numCols);
+        int[] rowIndices = new int[this.values.length];
+        Fraction[] entries = new Fraction[this.values.length];
+        //zeilenweises Durchlaufen liefert je Spalte bereits sortierte Zeilenindices
+        for (int row = 0; row < this.numRows; row++) {
+            for (int pos = this.rowPointers[row]; pos < this.rowPointers[row + 1]; pos++) {
+                int target = next[this.colIndices[pos]]++;
+                rowIndices[target] = row;
+                entries[target] = this.values[pos];
+            }
+        }
+        return new SparseMatrix(this.numCols, this.numRows, pointers, rowIndices, entries);
+    }
+}
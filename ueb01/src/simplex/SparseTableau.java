@@ -0,0 +1,281 @@
+package simplex;
+
+import java.util.Arrays;
+
+/**
+ * Tableau, das jede Zeile dünnbesetzt als nach Spalten sortierte Liste der von 0 verschiedenen
+ * Einträge speichert. Der Speicherbedarf wächst mit der Anzahl dieser Einträge statt mit
+ * m * (n + 2m); ein Pivotschritt berührt nur Zeilen, die in der Pivotspalte besetzt sind, und in
+ * diesen nur die besetzten Spalten der Pivotzeile.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+class SparseTableau extends Tableau {
+
+    /**
+     * Anzahl der Einträge, um die eine Restriktionszeile über die Koeffizienten hinaus wachsen
+     * kann: Schlupfvariable, künstliche Variable und rechte Seite
+     */
+    private static final int AUXILIARY_ENTRIES = 3;
+
+    /**
+     * Spaltenindices der Einträge je Zeile, aufsteigend sortiert
+     */
+    private final int[][] index;
+
+    /**
+     * Werte der Einträge je Zeile
+     */
+    private final Fraction[][] value;
+
+    /**
+     * Anzahl der Einträge je Zeile
+     */
+    private final int[] size;
+
+    /**
+     * Erstellt das Ausgangstableau direkt aus der dünnbesetzten Darstellung des Problems. Der
+     * Aufbau entspricht dem des SimplexSolvers: Unbekannte, Schlupfvariablen, künstliche
+     * Variablen, rechte Seite; die vorletzte Zeile enthält die Zielfunktion, die letzte die Summe
+     * der Restriktionen mit künstlicher Variable als Zielfunktion der ersten Phase.
+     *
+     * @param lp lineares Problem
+     * @pre lp != null
+     */
+    SparseTableau(LinearProgram lp) {
+        super(lp.getRestrictions().length + 2,
+                lp.getObjectiveTerm().length + 2 * lp.getRestrictions().length + 1);
+        LinearProgram.Restriction[] restrictions = lp.getRestrictions();
+        SparseMatrix matrix = lp.getConstraintMatrix();
+        int numConstraints = restrictions.length;
+        int numUnknowns = lp.getObjectiveTerm().length;
+        int rhs = getColCount() - 1;
+        this.index = new int[numConstraints + 2][];
+        this.value = new Fraction[numConstraints + 2][];
+        this.size = new int[numConstraints + 2];
+        for (int row = 0; row < numConstraints; row++) {
+            int start = matrix.getRowStart(row);
+            int length = matrix.getRowEnd(row) - start;
+            int[] cols = new int[length + AUXILIARY_ENTRIES];
+            Fraction[] vals = new Fraction[length + AUXILIARY_ENTRIES];
+            for (int i = 0; i < length; i++) {
+                cols[i] = matrix.getColIndex(start + i);
+                vals[i] = matrix.getValue(start + i);
+            }
+            int count = length;
+            LinearProgram.Restriction.Type type = restrictions[row].getType();
+            if (type != LinearProgram.Restriction.Type.EQ) {
+                cols[count] = numUnknowns + row;
+                vals[count++] = type == LinearProgram.Restriction.Type.LE ? Fraction.ONE
+                        : Fraction.MINUS_ONE;
+            }
+            if (type != LinearProgram.Restriction.Type.LE) {
+                cols[count] = numUnknowns + numConstraints + row;
+                vals[count++] = Fraction.ONE;
+            }
+            if (restrictions[row].getRightSide().getNumerator() != 0) {
+                cols[count] = rhs;
+                vals[count++] = restrictions[row].getRightSide();
+            }
+            this.index[row] = cols;
+            this.value[row] = vals;
+            this.size[row] = count;
+        }
+        //Koeffizienten der Zielfunktion, bei Minimierungsproblemen negiert
+        Fraction[] objective = lp.getObjectiveTerm();
+        this.index[numConstraints] = new int[numUnknowns];
+        this.value[numConstraints] = new Fraction[numUnknowns];
+        for (int col = 0; col < numUnknowns; col++) {
+            if (objective[col].getNumerator() != 0) {
+                int pos = this.size[numConstraints]++;
+                this.index[numConstraints][pos] = col;
+                this.value[numConstraints][pos] = lp.getSolveType() == LinearProgram.SolveType.MIN
+                        ? objective[col].multiplyBy(Fraction.MINUS_ONE) : objective[col];
+            }
+        }
+        //Zielfunktion der ersten Phase
+        FractionAccumulator[] sums = new FractionAccumulator[getColCount()];
+        for (int col = 0; col < sums.length; col++) {
+            sums[col] = new FractionAccumulator();
+        }
+        for (int row = 0; row < numConstraints; row++) {
+            if (restrictions[row].getType() != LinearProgram.Restriction.Type.LE) {
+                addRowTo(row, sums);
+            }
+        }
+        int phaseOneRow = numConstraints + 1;
+        this.index[phaseOneRow] = new int[getColCount()];
+        this.value[phaseOneRow] = new Fraction[getColCount()];
+        for (int col = 0; col < sums.length; col++) {
+            if (sums[col].signum() != 0) {
+                int pos = this.size[phaseOneRow]++;
+                this.index[phaseOneRow][pos] = col;
+                this.value[phaseOneRow][pos] = sums[col].toFraction();
+            }
+        }
+    }
+
+    /**
+     * @param row Zeilenindex
+     * @param col Spaltenindex
+     * @return Position des Eintrags in der Zeile oder ein negativer Wert, wenn nicht besetzt
+     */
+    private int find(int row, int col) {
+        return Arrays.binarySearch(this.index[row], 0, this.size[row], col);
+    }
+
+    @Override
+    Fraction get(int row, int col) {
+        int pos = find(row, col);
+        return pos >= 0 ? this.value[row][pos] : Fraction.ZERO;
+    }
+
+    @Override
+    double getAsFPN(int row, int col) {
+        return get(row, col).getAsFPN();
+    }
+
+    @Override
+    int signum(int row, int col) {
+        return get(row, col).signum();
+    }
+
+    @Override
+    int compare(int row1, int col1, int row2, int col2) {
+        return get(row1, col1).compareTo(get(row2, col2));
+    }
+
+    @Override
+    int compareRatios(int row1, int row2, int col) {
+        int rhs = getColCount() - 1;
+        return get(row1, rhs).divideBy(get(row1, col))
+                .compareTo(get(row2, rhs).divideBy(get(row2, col)));
+    }
+
+    @Override
+    void normalizeRow(int row, int col) {
+        Fraction pivotElem = get(row, col);
+        Fraction[] vals = this.value[row];
+        for (int i = 0; i < this.size[row]; i++) {
+            vals[i] = vals[i].divideBy(pivotElem);
+        }
+    }
+
+    @Override
+    void eliminateRow(int row, int pivotRow, int pivotCol) {
+        Fraction a = get(row, pivotCol);
+        if (a.getNumerator() == 0) {
+            return;
+        }
+        Fraction negated = a.multiplyBy(Fraction.MINUS_ONE);
+        int[] cols = this.index[row];
+        Fraction[] vals = this.value[row];
+        int count = this.size[row];
+        int[] pivotCols = this.index[pivotRow];
+        Fraction[] pivotVals = this.value[pivotRow];
+        int pivotCount = this.size[pivotRow];
+        int union = unionSize(cols, count, pivotCols, pivotCount);
+        //die Zeile wird in ihren eigenen Feldern zusammengefuehrt, sofern sie hineinpasst
+        int[] newCols = cols;
+        Fraction[] newVals = vals;
+        if (union > cols.length) {
+            newCols = new int[union];
+            newVals = new Fraction[union];
+        }
+        //Zusammenfuehren zweier sortierter Listen von hinten, Nullen entfallen; die
+        //Schreibposition liegt nie vor dem naechsten noch zu lesenden Eintrag der Zeile
+        int pos = union;
+        int i = count - 1;
+        int j = pivotCount - 1;
+        while (i >= 0 || j >= 0) {
+            int col;
+            Fraction result;
+            if (j < 0 || (i >= 0 && cols[i] > pivotCols[j])) {
+                col = cols[i];
+                result = vals[i--];
+            } else if (i < 0 || pivotCols[j] > cols[i]) {
+                col = pivotCols[j];
+                result = pivotVals[j--].multiplyBy(negated);
+            } else {
+                col = cols[i];
+                result = vals[i--].subtractProduct(a, pivotVals[j--]);
+            }
+            if (result.getNumerator() != 0) {
+                newCols[--pos] = col;
+                newVals[pos] = result;
+            }
+        }
+        int newCount = union - pos;
+        if (pos > 0) {
+            System.arraycopy(newCols, pos, newCols, 0, newCount);
+            System.arraycopy(newVals, pos, newVals, 0, newCount);
+        }
+        Arrays.fill(newVals, newCount, Math.max(count, newCount), null);
+        this.index[row] = newCols;
+        this.value[row] = newVals;
+        this.size[row] = newCount;
+    }
+
+    /**
+     * @param cols       Spaltenindices der ersten Zeile, aufsteigend sortiert
+     * @param count      Anzahl der Einträge der ersten Zeile
+     * @param pivotCols  Spaltenindices der zweiten Zeile, aufsteigend sortiert
+     * @param pivotCount Anzahl der Einträge der zweiten Zeile
+     * @return Anzahl der Spalten, die in mindestens einer der beiden Zeilen besetzt sind
+     */
+    private static int unionSize(int[] cols, int count, int[] pivotCols, int pivotCount) {
+        int union = count + pivotCount;
+        int i = 0;
+        int j = 0;
+        while (i < count && j < pivotCount) {
+            if (cols[i] < pivotCols[j]) {
+                i++;
+            } else if (pivotCols[j] < cols[i]) {
+                j++;
+            } else {
+                union--;
+                i++;
+                j++;
+            }
+        }
+        return union;
+    }
+
+    @Override
+    void complementColumn(int col, Fraction bound) {
+        int rhs = getColCount() - 1;
+        for (int row = 0; row < this.size.length; row++) {
+            int pos = find(row, col);
+            if (pos < 0) {
+                continue;
+            }
+            Fraction a = this.value[row][pos];
+            this.value[row][pos] = a.multiplyBy(Fraction.MINUS_ONE);
+            //rechte Seite ist stets der letzte Eintrag einer Zeile
+            int last = this.size[row] - 1;
+            if (this.index[row][last] == rhs) {
+                Fraction result = this.value[row][last].subtractProduct(a, bound);
+                if (result.signum() == 0) {
+                    this.size[row]--;
+                } else {
+                    this.value[row][last] = result;
+                }
+            } else if (bound.signum() != 0) {
+                if (this.size[row] == this.index[row].length) {
+                    this.index[row] = Arrays.copyOf(this.index[row], this.size[row] + 1);
+                    this.value[row] = Arrays.copyOf(this.value[row], this.size[row] + 1);
+                }
+                this.index[row][this.size[row]] = rhs;
+                this.value[row][this.size[row]++] = a.multiplyBy(bound).multiplyBy(
+                        Fraction.MINUS_ONE);
+            }
+        }
+    }
+
+    @Override
+    void addRowTo(int row, FractionAccumulator[] sums) {
+        for (int i = 0; i < this.size[row] && this.index[row][i] < sums.length; i++) {
+            sums[this.index[row][i]].add(this.value[row][i]);
+        }
+    }
+}
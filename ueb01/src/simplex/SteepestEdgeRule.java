@@ -0,0 +1,36 @@
+package simplex;
+
+/**
+ * Pivotregel der steilsten Kante: gewählt wird die Spalte j mit dem größten Wert
+ * d_j^2 / (1 + |a_j|^2), also der stärksten Verbesserung je Länge der Kante. Die Spaltennormen
+ * werden in jedem Schritt exakt aus dem Tableau berechnet; die Bewertung erfolgt in
+ * Gleitkommaarithmetik.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public class SteepestEdgeRule implements PivotRule {
+
+    @Override
+    public int selectColumn(PivotContext context) {
+        int bestIndex = -1;
+        double best = 0;
+        for (int col = 0; col < context.getCandidateCount(); col++) {
+            if (context.reducedCostSignum(col) > 0) {
+                double norm = 1;
+                for (int row = 0; row < context.getRowCount(); row++) {
+                    if (context.signum(row, col) != 0) {
+                        double entry = context.getEntry(row, col);
+                        norm += entry * entry;
+                    }
+                }
+                double reduced = context.getReducedCost(col);
+                double score = reduced * reduced / norm;
+                if (bestIndex < 0 || score > best) {
+                    best = score;
+                    bestIndex = col;
+                }
+            }
+        }
+        return bestIndex;
+    }
+}
@@ -0,0 +1,301 @@
+package simplex;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Speicherform eines Simplex-Tableaus. Kapselt die Arithmetik auf den Zellen, sodass der
+ * SimplexSolver die Pivotwahl unabhängig von der konkreten Zahldarstellung treffen kann.
+ * Die letzte Spalte enthält die rechten Seiten, die vorletzte Zeile die Zielfunktion und die
+ * letzte Zeile die Zielfunktion der ersten Phase, die so bei jedem Pivotschritt mitgeführt wird.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+abstract class Tableau {
+
+    /**
+     * Anzahl der Teilaufgaben je Thread bei paralleler Reduktion
+     */
+    private static final int GRAINS_PER_THREAD = 4;
+
+    /**
+     * Anzahl der Zeilen
+     */
+    private final int rowCount;
+
+    /**
+     * Anzahl der Spalten
+     */
+    private final int colCount;
+
+    /**
+     * Erstellt ein Tableau mit den übergebenen Abmessungen.
+     *
+     * @param rowCount Anzahl der Zeilen
+     * @param colCount Anzahl der Spalten
+     * @pre rowCount &gt; 0 und colCount &gt; 0
+     */
+    Tableau(int rowCount, int colCount) {
+        assert rowCount > 0 && colCount > 0;
+        this.rowCount = rowCount;
+        this.colCount = colCount;
+    }
+
+    /**
+     * Erstellt ein Tableau des übergebenen Typs aus einer vollständigen Bruch-Matrix. Für
+     * TableauType.SPARSE wird das Tableau stattdessen direkt über SparseTableau angelegt.
+     *
+     * @param type    gewünschte Speicherform
+     * @param initial Ausgangstableau
+     * @return neues Tableau mit dem Inhalt von initial
+     * @pre type != null
+     * @pre initial != null und rechteckig
+     */
+    static Tableau create(TableauType type, Fraction[][] initial) {
+        return create(type, initial, null);
+    }
+
+    /**
+     * Erstellt wie {@link #create(TableauType, Fraction[][])} ein Tableau, legt die Zellen von
+     * TableauType.LONG und TableauType.HYBRID aber in den Zeilen des übergebenen Puffers ab.
+     *
+     * @param type    gewünschte Speicherform
+     * @param initial Ausgangstableau
+     * @param buffer  Puffer für long-Zeilen oder null für eigene Zeilen des Tableaus
+     * @return neues Tableau mit dem Inhalt von initial
+     * @pre type != null
+     * @pre initial != null und rechteckig
+     * @pre buffer wird von keinem anderen Tableau mehr genutzt
+     */
+    static Tableau create(TableauType type, Fraction[][] initial, TableauBuffer buffer) {
+        assert type != null;
+        assert initial != null;
+        switch (type) {
+            case LONG:
+                return buffer == null ? new LongTableau(initial)
+                        : new LongTableau(initial, buffer);
+            case BIG:
+                return new BigTableau(initial);
+            case HYBRID:
+                return buffer == null ? new HybridTableau(initial)
+                        : new HybridTableau(initial, buffer);
+            case BAREISS:
+                return new BareissTableau(initial);
+            case SPARSE:
+            case FRACTION:
+            default:
+                return new FractionTableau(initial);
+        }
+    }
+
+    /**
+     * @return Anzahl der Zeilen
+     */
+    int getRowCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * @return Anzahl der Spalten
+     */
+    int getColCount() {
+        return this.colCount;
+    }
+
+    /**
+     * Gibt zurück, wie viele Zellen bisher wegen eines drohenden Überlaufs in eine genauere
+     * Darstellung gewechselt sind.
+     *
+     * @return Anzahl der Wechsel, 0 bei Speicherformen ohne solche Wechsel
+     */
+    int getPromotionCount() {
+        return 0;
+    }
+
+    /**
+     * Gibt den Wert einer Zelle als Bruch zurück.
+     *
+     * @param row Zeilenindex
+     * @param col Spaltenindex
+     * @return Wert der Zelle
+     */
+    abstract Fraction get(int row, int col);
+
+    /**
+     * Gibt den Wert einer Zelle als Bruch beliebiger Genauigkeit zurück.
+     *
+     * @param row Zeilenindex
+     * @param col Spaltenindex
+     * @return Wert der Zelle
+     */
+    BigFraction getBig(int row, int col) {
+        return BigFraction.valueOf(get(row, col));
+    }
+
+    /**
+     * Gibt den Wert einer Zelle als Gleitkommazahl zurück.
+     *
+     * @param row Zeilenindex
+     * @param col Spaltenindex
+     * @return Wert der Zelle
+     */
+    double getAsFPN(int row, int col) {
+        return getBig(row, col).getAsFPN();
+    }
+
+    /**
+     * Gibt das Vorzeichen einer Zelle zurück.
+     *
+     * @param row Zeilenindex
+     * @param col Spaltenindex
+     * @return -1, 0 oder 1
+     */
+    abstract int signum(int row, int col);
+
+    /**
+     * Vergleicht zwei Zellen miteinander.
+     *
+     * @param row1 Zeilenindex der ersten Zelle
+     * @param col1 Spaltenindex der ersten Zelle
+     * @param row2 Zeilenindex der zweiten Zelle
+     * @param col2 Spaltenindex der zweiten Zelle
+     * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
+     */
+    abstract int compare(int row1, int col1, int row2, int col2);
+
+    /**
+     * Vergleicht die Quotienten aus rechter Seite und Wert der Spalte col für zwei Zeilen.
+     *
+     * @param row1 erste Zeile
+     * @param row2 zweite Zeile
+     * @param col  Spalte, deren Werte die Divisoren bilden
+     * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
+     * @pre die Zellen (row1, col) und (row2, col) sind größer 0
+     */
+    abstract int compareRatios(int row1, int row2, int col);
+
+    /**
+     * Vergleicht für den dualen Simplex die Quotienten aus Zielfunktion und Wert der Zeile row
+     * für zwei Spalten. Gerechnet wird mit beliebiger Genauigkeit.
+     *
+     * @param row  Pivotzeile
+     * @param col1 erste Spalte
+     * @param col2 zweite Spalte
+     * @return Vergleichsergebnis (kleiner, gleich, oder größer 0)
+     * @pre die Zellen (row, col1) und (row, col2) sind ungleich 0
+     */
+    int compareDualRatios(int row, int col1, int col2) {
+        int objective = this.rowCount - 2;
+        return getBig(objective, col1).divideBy(getBig(row, col1))
+                .compareTo(getBig(objective, col2).divideBy(getBig(row, col2)));
+    }
+
+    /**
+     * Teilt eine Zeile durch den Wert ihrer Zelle in der Spalte col.
+     *
+     * @param row Index der zu normalisierenden Zeile
+     * @param col Index der Pivotspalte
+     * @pre Zelle (row, col) ist ungleich 0
+     */
+    abstract void normalizeRow(int row, int col);
+
+    /**
+     * Subtrahiert das passende Vielfache der (bereits normalisierten) Pivotzeile von einer Zeile,
+     * sodass deren Zelle in der Pivotspalte 0 wird.
+     *
+     * @param row      Index der zu reduzierenden Zeile
+     * @param pivotRow Index der Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     * @pre row != pivotRow
+     */
+    abstract void eliminateRow(int row, int pivotRow, int pivotCol);
+
+    /**
+     * Ersetzt die Variable der Spalte col durch bound - x': In jeder Zeile einschließlich der
+     * Zielfunktionen wird das bound-fache der Spalte von der rechten Seite abgezogen und die
+     * Spalte negiert. Zweimaliges Ersetzen stellt den Ausgangszustand wieder her.
+     *
+     * @param col   Index der Spalte
+     * @param bound obere Schranke der Variablen
+     * @pre col ist nicht die Spalte der rechten Seite
+     */
+    abstract void complementColumn(int col, Fraction bound);
+
+    /**
+     * Addiert die ersten sums.length Zellen einer Zeile komponentenweise auf sums.
+     *
+     * @param row  Index der Zeile
+     * @param sums Summen je Spalte
+     */
+    void addRowTo(int row, FractionAccumulator[] sums) {
+        for (int col = 0; col < sums.length; col++) {
+            sums[col].add(get(row, col));
+        }
+    }
+
+    /**
+     * Führt einen vollständigen Pivotschritt aus: Normalisierung der Pivotzeile und Reduktion
+     * aller übrigen Zeilen.
+     *
+     * @param pivotRow Index der Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     * @pre Zelle (pivotRow, pivotCol) ist ungleich 0
+     */
+    void pivot(int pivotRow, int pivotCol) {
+        normalizeRow(pivotRow, pivotCol);
+        eliminateRows(0, this.rowCount, pivotRow, pivotCol);
+    }
+
+    /**
+     * Reduziert alle Zeilen im Bereich [from, to) außer der Pivotzeile.
+     *
+     * @param from     erste Zeile des Bereichs
+     * @param to       Zeile hinter dem Bereich
+     * @param pivotRow Index der (bereits normalisierten) Pivotzeile
+     * @param pivotCol Index der Pivotspalte
+     */
+    void eliminateRows(int from, int to, int pivotRow, int pivotCol) {
+        for (int row = from; row < to; row++) {
+            if (row != pivotRow) {
+                eliminateRow(row, pivotRow, pivotCol);
+            }
+        }
+    }
+
+    /**
+     * Reduziert alle Zeilen außer der Pivotzeile. Hat das Tableau mindestens threshold Zeilen,
+     * werden die Zeilen auf die Threads des übergebenen Pools verteilt. Das Ergebnis ist in
+     * beiden Fällen identisch, da die Zeilen unabhängig voneinander reduziert werden.
+     *
+     * @param pivotRow  Index der (bereits normalisierten) Pivotzeile
+     * @param pivotCol  Index der Pivotspalte
+     * @param pool      Pool für die parallele Reduktion oder null für sequentielle Reduktion
+     * @param threshold Mindestanzahl an Zeilen für die parallele Reduktion
+     */
+    void eliminateRows(int pivotRow, int pivotCol, ForkJoinPool pool, int threshold) {
+        if (pool == null || this.rowCount < threshold) {
+            eliminateRows(0, this.rowCount, pivotRow, pivotCol);
+        } else {
+            //einige Teilaufgaben je Thread, damit ungleich dichte Zeilen ausgeglichen werden
+            int grainSize =
+                    Math.max(1, this.rowCount / (GRAINS_PER_THREAD * pool.getParallelism()));
+            pool.invoke(new RowEliminationTask(this, pivotRow, pivotCol, 0, this.rowCount,
+                    grainSize));
+        }
+    }
+
+    /**
+     * Gibt das Tableau als Bruch-Matrix zurück. Implementierungen, die intern mit Brüchen
+     * arbeiten, dürfen eine Referenz auf ihre Daten liefern.
+     *
+     * @return Bruch-Matrix mit dem Inhalt des Tableaus
+     */
+    Fraction[][] toFractions() {
+        Fraction[][] result = new Fraction[this.rowCount][this.colCount];
+        for (int row = 0; row < this.rowCount; row++) {
+            for (int col = 0; col < this.colCount; col++) {
+                result[row][col] = get(row, col);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package simplex;
+
+/**
+ * Wiederverwendbare long-Zeilen für Zähler und Nenner eines LongTableau oder HybridTableau. Ein
+ * Tableau, das mit einem Puffer angelegt wird, schreibt seine Zellen in dessen Zeilen, statt
+ * eigene anzulegen; die Zeilen dürfen dabei länger und zahlreicher sein als das Tableau. Ein
+ * Puffer wächst bei Bedarf und wird nie verkleinert, er darf aber zu jedem Zeitpunkt nur von
+ * einem Tableau genutzt werden.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+final class TableauBuffer {
+
+    /**
+     * Zähler der Zellen, zeilenweise
+     */
+    private long[][] num = new long[0][0];
+
+    /**
+     * Nenner der Zellen, zeilenweise
+     */
+    private long[][] den = new long[0][0];
+
+    /**
+     * Vergrößert den Puffer, sodass er mindestens rows Zeilen mit je mindestens cols Zellen
+     * enthält. Bereits ausreichend große Zeilen werden weiterverwendet.
+     *
+     * @param rows benötigte Anzahl der Zeilen
+     * @param cols benötigte Anzahl der Zellen je Zeile
+     * @pre rows &gt;= 0 und cols &gt;= 0
+     */
+    void ensureCapacity(int rows, int cols) {
+        assert rows >= 0 && cols >= 0;
+        if (this.num.length < rows) {
+            long[][] num = new long[rows][];
+            long[][] den = new long[rows][];
+            System.arraycopy(this.num, 0, num, 0, this.num.length);
+            System.arraycopy(this.den, 0, den, 0, this.den.length);
+            this.num = num;
+            this.den = den;
+        }
+        for (int row = 0; row < this.num.length; row++) {
+            if (this.num[row] == null || this.num[row].length < cols) {
+                this.num[row] = new long[cols];
+                this.den[row] = new long[cols];
+            }
+        }
+    }
+
+    /**
+     * @return Zähler der Zellen, zeilenweise
+     */
+    long[][] getNumerators() {
+        return this.num;
+    }
+
+    /**
+     * @return Nenner der Zellen, zeilenweise
+     */
+    long[][] getDenominators() {
+        return this.den;
+    }
+}
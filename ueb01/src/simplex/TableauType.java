@@ -0,0 +1,28 @@
+package simplex;
+
+/**
+ * Speicherform des Simplex-Tableaus, mit der ein SimplexSolver rechnet. Alle Speicherformen
+ * liefern dieselben (exakten) Ergebnisse; FRACTION und LONG lösen bei einem Überlauf von long
+ * eine {@link ArithmeticException} aus.
+ *
+ * @author Mario da Graca, Leonhard Brandes
+ */
+public enum TableauType {
+    /** Unveränderliche Fraction-Instanzen je Zelle */
+    FRACTION,
+
+    /** Zähler und Nenner in parallelen long-Arrays, Pivotschritte ohne Allokation */
+    LONG,
+
+    /** BigFraction-Instanzen je Zelle, kein Überlauf möglich */
+    BIG,
+
+    /** long-Paare je Zelle, nur bei drohendem Überlauf wird die Zelle als BigFraction geführt */
+    HYBRID,
+
+    /** dünnbesetzte Zeilen aus Fraction-Instanzen, Speicherbedarf nur für Einträge ungleich 0 */
+    SPARSE,
+
+    /** bruchfrei nach Bareiss, BigInteger-Zähler über einem gemeinsamen Nenner je Zeile */
+    BAREISS
+}
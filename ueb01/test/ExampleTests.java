@@ -1,10 +1,41 @@
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 
+import simplex.BigFraction;
+import simplex.BlandRule;
+import simplex.BranchAndBoundSolver;
+import simplex.CancellationToken;
+import simplex.DevexRule;
 import simplex.Fraction;
+import simplex.FractionAccumulator;
+import simplex.InteriorPointSolver;
 import simplex.LinearProgram;
+import simplex.LinearProgramReader;
+import simplex.PivotRule;
+import simplex.Presolver;
+import simplex.RevisedSimplexSolver;
+import simplex.Scaler;
+import simplex.SimplexBatchSolver;
 import simplex.SimplexSolver;
+import simplex.SolverLimits;
+import simplex.SolverListener;
+import simplex.SolverMetrics;
+import simplex.SolverStatus;
+import simplex.SparseMatrix;
+import simplex.SteepestEdgeRule;
+import simplex.TableauType;
 import simplex.LinearProgram.Restriction;
 import simplex.LinearProgram.SolveType;
 import simplex.LinearProgram.Restriction.Type;
@@ -374,5 +405,1265 @@ public class ExampleTests {
                 s.solve());
     }
 
+    @Test
+    public void simplex_longTableau() {
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(4), f(3)), Type.LE, f(320)),
+                r(fs(f(2), f(4)), Type.GE, f(100)),
+                r(fs(f(3), f(3)), Type.EQ, f(270))
+
+        ), SolveType.MIN, f(2), f(8));
+        SimplexSolver expected = new SimplexSolver(lp);
+        SimplexSolver s = new SimplexSolver(lp, TableauType.LONG);
+
+        Assert.assertArrayEquals("LONG (Ausgangstableau): getTable", expected.getTable(),
+                s.getTable());
+        Assert.assertArrayEquals("LONG: solve", fs(f(50), f(40), f(420)), s.solve());
+        expected.solve();
+        Assert.assertArrayEquals("LONG (Lösung): getBaseVars", expected.getBaseVars(),
+                s.getBaseVars());
+        Assert.assertArrayEquals("LONG (Lösung): getTable", expected.getTable(), s.getTable());
+    }
+
+    @Test
+    public void simplex_longTableau_fractions() {
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(4), f(3)), Type.LE, f(24)),
+                r(fs(f(2), f(4)), Type.LE, f(24)),
+                r(fs(f(4), f(5)), Type.LE, f(32))
+
+        ), SolveType.MAX, f(250), f(450));
+
+        Assert.assertArrayEquals("LONG: solve", fs(f(4, 3), f(16, 3), f(8200, 3)),
+                new SimplexSolver(lp, TableauType.LONG).solve());
+    }
+
+    @Test
+    public void simplex_longTableau_no_solution() {
+        SimplexSolver s = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(0)), Type.EQ, f(10)),
+                r(fs(f(1), f(0)), Type.EQ, f(5)),
+                r(fs(f(1), f(1)), Type.EQ, f(15))
+
+        ), SolveType.MIN, f(2), f(8)), TableauType.LONG);
+
+        Assert.assertNull("LONG: solve", s.solve());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void fraction_overflow() {
+        f(Long.MAX_VALUE / 2, 7).multiplyBy(f(5, 3));
+    }
+
+    @Test
+    public void bigFraction_toFraction() {
+        BigFraction big = BigFraction.valueOf(Long.MAX_VALUE, 3)
+                .multiplyBy(BigFraction.valueOf(3, 7));
+        Assert.assertEquals("(MAX/3) * (3/7)", f(Long.MAX_VALUE, 7), big.toFraction());
+    }
+
+    /**
+     * Hilfsmethode zum Erstellen eines Problems, dessen Tableau über long hinauswächst
+     */
+    private static LinearProgram overflowingProgram() {
+        long p = 1_000_000_007L;
+        long q = 998_244_353L;
+        long r = 1_000_000_009L;
+        return new LinearProgram(rs(
+                r(fs(f(p), f(q), f(3)), Type.LE, f(r * 7)),
+                r(fs(f(q), f(r), f(p)), Type.LE, f(p * 5)),
+                r(fs(f(r), f(2), f(q)), Type.LE, f(q * 3))
+
+        ), SolveType.MAX, f(p + 1), f(q + 1), f(r + 1));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void simplex_overflow() {
+        new SimplexSolver(overflowingProgram()).solve();
+    }
+
+    @Test
+    public void simplex_hybrid() {
+        BigFraction[] expected = new SimplexSolver(overflowingProgram(), TableauType.BIG)
+                .solveBig();
+        Assert.assertEquals("BIG: z", new BigFraction(new BigInteger("11498225391603013978150024"),
+                new BigInteger("2298850611502325")), expected[3]);
+        Assert.assertArrayEquals("HYBRID: solveBig", expected,
+                new SimplexSolver(overflowingProgram(), TableauType.HYBRID).solveBig());
+    }
+
+    @Test
+    public void simplex_metrics() {
+        SimplexSolver s = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(2)),
+                r(fs(f(1), f(2)), Type.LE, f(6))
+        ), SolveType.MAX, f(1), f(3)));
+        Assert.assertEquals("Status: vor solve", SolverStatus.NOT_SOLVED, s.getStatus());
+        SolverMetrics metrics = new SolverMetrics();
+        List<Integer> pivotCols = new ArrayList<>();
+        s.setListener(new SolverListener() {
+            @Override
+            public void pivoted(Phase phase, int iteration, int pivotRow, int pivotCol) {
+                Assert.assertEquals("Status: Schritt", pivotCols.size() + 1, iteration);
+                pivotCols.add(pivotCol);
+                metrics.pivoted(phase, iteration, pivotRow, pivotCol);
+            }
+
+            @Override
+            public void phaseFinished(Phase phase, int iterations, long nanos) {
+                metrics.phaseFinished(phase, iterations, nanos);
+            }
+
+            @Override
+            public void finished(SolverStatus status, int iterations, long nanos) {
+                metrics.finished(status, iterations, nanos);
+            }
+        });
+        Assert.assertArrayEquals("Status: solve", fs(f(0), f(3), f(9)), s.solve());
+        Assert.assertEquals("Status: optimal", SolverStatus.OPTIMAL, s.getStatus());
+        Assert.assertEquals("Metriken: Status", SolverStatus.OPTIMAL, metrics.getLastStatus());
+        Assert.assertEquals("Metriken: Schritte", s.getIterationCount(),
+                metrics.getIterationCount());
+        Assert.assertEquals("Metriken: Pivotschritte", s.getIterationCount(), pivotCols.size());
+        Assert.assertTrue("Metriken: erste Phase",
+                metrics.getIterationCount(SolverListener.Phase.PHASE_ONE) > 0);
+
+        SimplexSolver unbounded = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(-1)), Type.LE, f(1))
+        ), SolveType.MAX, f(1), f(1)));
+        Assert.assertNull("Status: unbeschränkt", unbounded.solve());
+        Assert.assertEquals("Status: UNBOUNDED", SolverStatus.UNBOUNDED, unbounded.getStatus());
+        SimplexSolver infeasible = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(5)),
+                r(fs(f(1), f(1)), Type.LE, f(2))
+        ), SolveType.MAX, f(1), f(1)));
+        Assert.assertNull("Status: unzulässig", infeasible.solve());
+        Assert.assertEquals("Status: INFEASIBLE", SolverStatus.INFEASIBLE,
+                infeasible.getStatus());
+
+        SimplexSolver hybrid = new SimplexSolver(overflowingProgram(), TableauType.HYBRID);
+        hybrid.setListener(metrics);
+        hybrid.solveBig();
+        Assert.assertTrue("Metriken: HYBRID", metrics.getPromotedCellCount() > 0);
+        SimplexSolver overflowing = new SimplexSolver(overflowingProgram());
+        overflowing.setListener(metrics);
+        try {
+            overflowing.solve();
+            Assert.fail("Metriken: Überlauf");
+        } catch (ArithmeticException e) {
+            Assert.assertEquals("Status: OVERFLOW", SolverStatus.OVERFLOW,
+                    overflowing.getStatus());
+            Assert.assertEquals("Metriken: Überläufe", 1, metrics.getOverflowCount());
+        }
+    }
+
+    @Test
+    public void simplex_phaseOneZero() {
+        //erste Phase endet mit Wert 0, die kuenstliche Variable steht noch mit 0 in der Basis
+        LinearProgram degenerate = new LinearProgram(rs(
+                r(fs(f(-1), f(-3)), Type.EQ, f(0)),
+                r(fs(f(1), f(2)), Type.LE, f(2))
+        ), SolveType.MIN, f(-2), f(2));
+        for (TableauType type : TableauType.values()) {
+            SimplexSolver s = new SimplexSolver(degenerate, type);
+            Assert.assertArrayEquals("Phase 1 mit Wert 0: " + type, fs(f(0), f(0), f(0)),
+                    s.solve());
+            Assert.assertEquals("Phase 1 mit Wert 0: OPTIMAL", SolverStatus.OPTIMAL,
+                    s.getStatus());
+        }
+
+        //redundante Restriktion: die kuenstliche Variable bleibt in der Basis
+        SimplexSolver redundant = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(0)), Type.EQ, f(0))
+        ), SolveType.MAX, f(2)));
+        Assert.assertNull("redundant: unbeschränkt", redundant.solve(new BlandRule()));
+        Assert.assertEquals("redundant: UNBOUNDED", SolverStatus.UNBOUNDED,
+                redundant.getStatus());
+
+        SimplexSolver bounded = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(0), f(0)), Type.EQ, f(0)),
+                r(fs(f(1), f(1)), Type.LE, f(3))
+        ), SolveType.MAX, f(2), f(1)));
+        Assert.assertArrayEquals("redundant: optimal", fs(f(3), f(0), f(6)), bounded.solve());
+        SimplexSolver warm = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(0), f(0)), Type.EQ, f(0)),
+                r(fs(f(1), f(1)), Type.LE, f(4))
+        ), SolveType.MAX, f(2), f(1)), bounded.getBaseVars());
+        Assert.assertArrayEquals("redundant: Warmstart", fs(f(4), f(0), f(8)), warm.solve());
+    }
+
+    @Test
+    public void simplex_limits() {
+        //Klee-Minty-Wuerfel: die Dantzig-Regel besucht viele Ecken
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(1), f(0), f(0), f(0)), Type.LE, f(5)),
+                r(fs(f(4), f(1), f(0), f(0)), Type.LE, f(25)),
+                r(fs(f(8), f(4), f(1), f(0)), Type.LE, f(125)),
+                r(fs(f(16), f(8), f(4), f(1)), Type.LE, f(625))
+        ), SolveType.MAX, f(8), f(4), f(2), f(1));
+        SimplexSolver full = new SimplexSolver(lp);
+        Fraction[] optimum = full.solve();
+        Assert.assertTrue("Grenzen: Schritte", full.getIterationCount() > 3);
+
+        SimplexSolver s = new SimplexSolver(lp);
+        Assert.assertNull("Grenzen: Schrittgrenze",
+                s.solve(SolverLimits.NONE.withIterationLimit(3)));
+        Assert.assertEquals("Grenzen: ITERATION_LIMIT", SolverStatus.ITERATION_LIMIT,
+                s.getStatus());
+        Assert.assertEquals("Grenzen: Schritte bis zur Grenze", 3, s.getIterationCount());
+        Fraction[] incumbent = s.getFeasibleResult();
+        Assert.assertTrue("Grenzen: bisher beste Lösung", incumbent[4].compareTo(optimum[4]) < 0);
+        Assert.assertArrayEquals("Grenzen: fortsetzen", optimum, s.solve());
+        Assert.assertEquals("Grenzen: restliche Schritte", full.getIterationCount() - 3,
+                s.getIterationCount());
+
+        CancellationToken token = new CancellationToken();
+        SimplexSolver cancelled = new SimplexSolver(lp);
+        cancelled.setListener(new SolverListener() {
+            @Override
+            public void pivoted(Phase phase, int iteration, int pivotRow, int pivotCol) {
+                if (iteration == 2) {
+                    token.cancel();
+                }
+            }
+        });
+        Assert.assertNull("Grenzen: Abbruch",
+                cancelled.solve(SolverLimits.NONE.withCancellation(token)));
+        Assert.assertEquals("Grenzen: CANCELLED", SolverStatus.CANCELLED, cancelled.getStatus());
+        Assert.assertEquals("Grenzen: Schritte bis zum Abbruch", 2,
+                cancelled.getIterationCount());
+
+        SimplexSolver late = new SimplexSolver(lp);
+        Assert.assertNull("Grenzen: Frist",
+                late.solve(SolverLimits.NONE.withDeadline(System.nanoTime())));
+        Assert.assertEquals("Grenzen: TIME_LIMIT", SolverStatus.TIME_LIMIT, late.getStatus());
+        Assert.assertArrayEquals("Grenzen: Startecke", fs(f(0), f(0), f(0), f(0), f(0)),
+                late.getFeasibleResult());
+        Assert.assertArrayEquals("Grenzen: Zeitbudget", optimum,
+                late.solve(SolverLimits.NONE.withTimeLimit(1, TimeUnit.MINUTES)));
+
+        LinearProgram dualLp = new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(2)),
+                r(fs(f(1), f(3)), Type.GE, f(3))
+        ), SolveType.MIN, f(2), f(3));
+        SimplexSolver dual = new SimplexSolver(dualLp);
+        Assert.assertTrue("Grenzen: isDualStart", dual.isDualStart());
+        Assert.assertNull("Grenzen: dual", dual.solve(SolverLimits.NONE.withIterationLimit(0)));
+        Assert.assertEquals("Grenzen: dual ITERATION_LIMIT", SolverStatus.ITERATION_LIMIT,
+                dual.getStatus());
+        Assert.assertNull("Grenzen: dual unzulässig", dual.getFeasibleResult());
+        Assert.assertArrayEquals("Grenzen: dual fortsetzen", new SimplexSolver(dualLp).solve(),
+                dual.solve());
+    }
+
+    @Test
+    public void revisedSimplex() {
+        double[] result = new RevisedSimplexSolver(new LinearProgram(rs(
+                r(fs(f(4), f(3)), Type.LE, f(320)),
+                r(fs(f(2), f(4)), Type.GE, f(100)),
+                r(fs(f(3), f(3)), Type.EQ, f(270))
+
+        ), SolveType.MIN, f(2), f(8))).solve();
+
+        Assert.assertArrayEquals("Revidiert: solve", new double[] {50, 40, 420}, result, 1e-9);
+    }
+
+    @Test
+    public void revisedSimplex_no_solution() {
+        Assert.assertNull("Revidiert: solve", new RevisedSimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(0)), Type.EQ, f(10)),
+                r(fs(f(1), f(0)), Type.EQ, f(5)),
+                r(fs(f(1), f(1)), Type.EQ, f(15))
+
+        ), SolveType.MIN, f(2), f(8))).solve());
+    }
+
+    @Test
+    public void differential() {
+        int[] outcomes = new int[SolverStatus.values().length];
+        List<LinearProgram> programs = randomPrograms(42, 200);
+        for (int k = 0; k < programs.size(); k++) {
+            LinearProgram lp = programs.get(k);
+            BigFraction[] optimum = optimum(lp);
+            outcomes[status(optimum).ordinal()]++;
+            SimplexSolver s = new SimplexSolver(lp);
+            assertOptimum("Differential: solve " + k, lp, optimum, s.solve());
+            Assert.assertEquals("Differential: getStatus " + k, status(optimum), s.getStatus());
+            assertOptimum("Differential: revidiert " + k, lp, optimum,
+                    new RevisedSimplexSolver(lp, 2).solve());
+        }
+        Assert.assertTrue("Differential: unzulässig",
+                outcomes[SolverStatus.INFEASIBLE.ordinal()] > 0);
+        Assert.assertTrue("Differential: unbeschränkt",
+                outcomes[SolverStatus.UNBOUNDED.ordinal()] > 0);
+        Assert.assertTrue("Differential: optimal", outcomes[SolverStatus.OPTIMAL.ordinal()] > 0);
+    }
+
+    /**
+     * Hilfsmethode zum Erstellen zufälliger Probleme (siehe {@link #randomProgram}) mit 1 bis 5
+     * Restriktionen und 1 bis 4 Unbekannten, klein genug für {@link #optimum(LinearProgram)}
+     */
+    public static List<LinearProgram> randomPrograms(long seed, int count) {
+        Random random = new Random(seed);
+        List<LinearProgram> programs = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            programs.add(randomProgram(random, 1 + random.nextInt(5), 1 + random.nextInt(4)));
+        }
+        return programs;
+    }
+
+    /**
+     * Hilfsmethode zum Erstellen eines zufälligen Problems mit LE-, GE- und EQ-Restriktionen und
+     * Koeffizienten beider Vorzeichen, das je nach Zufall lösbar, unzulässig oder unbeschränkt ist
+     */
+    public static LinearProgram randomProgram(Random random, int numConstraints,
+            int numUnknowns) {
+        Type[] types = Type.values();
+        Restriction[] restrictions = new Restriction[numConstraints];
+        for (int i = 0; i < numConstraints; i++) {
+            Fraction[] term = new Fraction[numUnknowns];
+            for (int j = 0; j < numUnknowns; j++) {
+                term[j] = f(random.nextInt(3) == 0 ? 0 : random.nextInt(7) - 3);
+            }
+            restrictions[i] = r(term, types[random.nextInt(types.length)],
+                    f(random.nextInt(3) == 0 ? 0 : random.nextInt(7)));
+        }
+        Fraction[] objective = new Fraction[numUnknowns];
+        for (int j = 0; j < numUnknowns; j++) {
+            objective[j] = f(random.nextInt(7) - 3);
+        }
+        return new LinearProgram(restrictions,
+                random.nextBoolean() ? SolveType.MAX : SolveType.MIN, objective);
+    }
+
+    /**
+     * Hilfsmethode, die das Optimum eines kleinen Problems exakt durch Aufzählen aller Ecken
+     * bestimmt. Unbeschränkt ist ein zulässiges Problem genau dann, wenn es eine Richtung d &ge; 0
+     * mit Summe 1 gibt, die alle Restriktionen mit rechter Seite 0 erfüllt und den Wert der
+     * Zielfunktion verbessert.
+     *
+     * @return null, wenn das Problem unzulässig ist, ein leeres Array, wenn es unbeschränkt ist,
+     * sonst ein Array mit dem optimalen Wert der Zielfunktion
+     */
+    public static BigFraction[] optimum(LinearProgram lp) {
+        int n = lp.getObjectiveTerm().length;
+        BigFraction sign = lp.getSolveType() == SolveType.MAX ? BigFraction.ONE
+                : BigFraction.MINUS_ONE;
+        BigFraction[] objective = new BigFraction[n];
+        for (int j = 0; j < n; j++) {
+            objective[j] = BigFraction.valueOf(lp.getObjectiveTerm()[j]).multiplyBy(sign);
+        }
+        List<Restriction> rows = new ArrayList<>(Arrays.asList(lp.getRestrictions()));
+        BigFraction best = bestVertex(rows, objective);
+        if (best == null) {
+            return null;
+        }
+        List<Restriction> cone = new ArrayList<>();
+        for (Restriction row : rows) {
+            cone.add(r(row.getTerm(), row.getType(), f(0)));
+        }
+        Fraction[] sum = new Fraction[n];
+        Arrays.fill(sum, f(1));
+        cone.add(r(sum, Type.EQ, f(1)));
+        BigFraction ray = bestVertex(cone, objective);
+        if (ray != null && ray.signum() > 0) {
+            return new BigFraction[0];
+        }
+        return new BigFraction[] {best.multiplyBy(sign)};
+    }
+
+    /**
+     * Hilfsmethode, die den größten Wert der Zielfunktion über alle zulässigen Ecken bestimmt
+     *
+     * @return größter Wert oder null, wenn es keine zulässige Ecke gibt
+     */
+    private static BigFraction bestVertex(List<Restriction> rows, BigFraction[] objective) {
+        int n = objective.length;
+        int[] active = new int[n];
+        for (int i = 0; i < n; i++) {
+            active[i] = i;
+        }
+        BigFraction best = null;
+        int k = 0;
+        while (k >= 0) {
+            BigFraction[] x = vertex(rows, active);
+            if (x != null && isFeasible(rows, x)) {
+                BigFraction value = BigFraction.ZERO;
+                for (int j = 0; j < n; j++) {
+                    value = value.add(objective[j].multiplyBy(x[j]));
+                }
+                if (best == null || value.compareTo(best) > 0) {
+                    best = value;
+                }
+            }
+            //nächste Auswahl von n der m + n Restriktionen und Nichtnegativitätsbedingungen
+            k = n - 1;
+            while (k >= 0 && active[k] == rows.size() + k) {
+                k--;
+            }
+            if (k >= 0) {
+                active[k]++;
+                for (int i = k + 1; i < n; i++) {
+                    active[i] = active[i - 1] + 1;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Hilfsmethode, die den Schnittpunkt der ausgewählten Restriktionen bzw. Bedingungen
+     * x_j = 0 (Index m + j) bestimmt
+     *
+     * @return Schnittpunkt oder null, wenn er nicht eindeutig ist
+     */
+    private static BigFraction[] vertex(List<Restriction> rows, int[] active) {
+        int n = active.length;
+        BigFraction[][] a = new BigFraction[n][n + 1];
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(a[i], BigFraction.ZERO);
+            if (active[i] < rows.size()) {
+                Restriction row = rows.get(active[i]);
+                for (int j = 0; j < n; j++) {
+                    a[i][j] = BigFraction.valueOf(row.getTerm()[j]);
+                }
+                a[i][n] = BigFraction.valueOf(row.getRightSide());
+            } else {
+                a[i][active[i] - rows.size()] = BigFraction.ONE;
+            }
+        }
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            while (pivot < n && a[pivot][col].signum() == 0) {
+                pivot++;
+            }
+            if (pivot == n) {
+                return null;
+            }
+            BigFraction[] temp = a[pivot];
+            a[pivot] = a[col];
+            a[col] = temp;
+            for (int i = 0; i < n; i++) {
+                if (i != col && a[i][col].signum() != 0) {
+                    BigFraction factor = a[i][col].divideBy(a[col][col]);
+                    for (int j = col; j <= n; j++) {
+                        a[i][j] = a[i][j].subtract(factor.multiplyBy(a[col][j]));
+                    }
+                }
+            }
+        }
+        BigFraction[] x = new BigFraction[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = a[i][n].divideBy(a[i][i]);
+        }
+        return x;
+    }
+
+    /**
+     * Hilfsmethode, die prüft, ob ein Punkt nichtnegativ ist und alle Restriktionen erfüllt
+     */
+    private static boolean isFeasible(List<Restriction> rows, BigFraction[] x) {
+        for (BigFraction value : x) {
+            if (value.signum() < 0) {
+                return false;
+            }
+        }
+        for (Restriction row : rows) {
+            BigFraction lhs = BigFraction.ZERO;
+            for (int j = 0; j < x.length; j++) {
+                lhs = lhs.add(BigFraction.valueOf(row.getTerm()[j]).multiplyBy(x[j]));
+            }
+            int cmp = lhs.compareTo(BigFraction.valueOf(row.getRightSide()));
+            if (row.getType() == Type.LE ? cmp > 0 : row.getType() == Type.GE ? cmp < 0
+                    : cmp != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hilfsmethode, die den zu einem Ergebnis von {@link #optimum(LinearProgram)} passenden
+     * Status liefert
+     */
+    public static SolverStatus status(BigFraction[] optimum) {
+        if (optimum == null) {
+            return SolverStatus.INFEASIBLE;
+        }
+        return optimum.length == 0 ? SolverStatus.UNBOUNDED : SolverStatus.OPTIMAL;
+    }
+
+    /**
+     * Hilfsmethode, die eine exakte Lösung mit dem Ergebnis von {@link #optimum(LinearProgram)}
+     * vergleicht: null bei unzulässigen und unbeschränkten Problemen, sonst ein zulässiger Punkt
+     * mit optimalem Wert der Zielfunktion
+     */
+    public static void assertOptimum(String message, LinearProgram lp, BigFraction[] optimum,
+            Fraction[] result) {
+        if (status(optimum) != SolverStatus.OPTIMAL) {
+            Assert.assertNull(message + ": unlösbar", result);
+            return;
+        }
+        Assert.assertNotNull(message + ": lösbar", result);
+        int n = lp.getObjectiveTerm().length;
+        BigFraction[] x = new BigFraction[n];
+        BigFraction value = BigFraction.ZERO;
+        for (int j = 0; j < n; j++) {
+            x[j] = BigFraction.valueOf(result[j]);
+            value = value.add(BigFraction.valueOf(lp.getObjectiveTerm()[j]).multiplyBy(x[j]));
+        }
+        Assert.assertTrue(message + ": zulässig",
+                isFeasible(Arrays.asList(lp.getRestrictions()), x));
+        Assert.assertEquals(message + ": x", optimum[0], value);
+        Assert.assertEquals(message + ": z", optimum[0], BigFraction.valueOf(result[n]));
+    }
+
+    /**
+     * Hilfsmethode, die eine Gleitkomma-Lösung mit dem Ergebnis von
+     * {@link #optimum(LinearProgram)} vergleicht
+     */
+    public static void assertOptimum(String message, LinearProgram lp, BigFraction[] optimum,
+            double[] result) {
+        if (status(optimum) != SolverStatus.OPTIMAL) {
+            Assert.assertNull(message + ": unlösbar", result);
+            return;
+        }
+        Assert.assertNotNull(message + ": lösbar", result);
+        int n = lp.getObjectiveTerm().length;
+        for (Restriction row : lp.getRestrictions()) {
+            double lhs = 0;
+            for (int j = 0; j < n; j++) {
+                Assert.assertTrue(message + ": x >= 0", result[j] >= -1e-6);
+                lhs += row.getTerm()[j].getAsFPN() * result[j];
+            }
+            double rhs = row.getRightSide().getAsFPN();
+            Assert.assertTrue(message + ": zulässig", row.getType() == Type.LE ? lhs <= rhs + 1e-6
+                    : row.getType() == Type.GE ? lhs >= rhs - 1e-6 : Math.abs(lhs - rhs) <= 1e-6);
+        }
+        Assert.assertEquals(message + ": z", optimum[0].getAsFPN(), result[n], 1e-6);
+    }
+
+    @Test
+    public void sparseMatrix_builder() {
+        SparseMatrix m = new SparseMatrix.Builder(2, 3)
+                .add(1, 2, f(5)).add(0, 1, f(1, 2)).add(1, 0, f(-1)).add(0, 1, f(1, 2))
+                .add(1, 1, f(0)).build();
+
+        Assert.assertEquals("nnz", 3, m.getNonZeroCount());
+        Assert.assertArrayEquals("Zeile 0", fs(f(0), f(1), f(0)), m.getDenseRow(0));
+        Assert.assertArrayEquals("Zeile 1", fs(f(-1), f(0), f(5)), m.getDenseRow(1));
+        Assert.assertEquals("transponiert", f(5), m.transpose().get(2, 1));
+    }
+
+    @Test
+    public void simplex_sparse() {
+        SparseMatrix m = new SparseMatrix.Builder(3, 2)
+                .add(0, 0, f(4)).add(0, 1, f(3))
+                .add(1, 0, f(2)).add(1, 1, f(4))
+                .add(2, 0, f(3)).add(2, 1, f(3)).build();
+        LinearProgram lp = new LinearProgram(m, new Type[] {Type.LE, Type.GE, Type.EQ},
+                fs(f(320), f(100), f(270)), SolveType.MIN, TableauType.SPARSE, f(2), f(8));
+        SimplexSolver s = new SimplexSolver(lp);
+
+        Assert.assertArrayEquals("SPARSE (Ausgangstableau): getTable", fss(
+                fs(f(4), f(3), f(1), f(0), f(0), f(0), f(0), f(0), f(320)),
+                fs(f(2), f(4), f(0), f(-1), f(0), f(0), f(1), f(0), f(100)),
+                fs(f(3), f(3), f(0), f(0), f(0), f(0), f(0), f(1), f(270)),
+                fs(f(-2), f(-8), f(0), f(0), f(0), f(0), f(0), f(0), f(0))
+        ), s.getTable());
+        Assert.assertArrayEquals("SPARSE: solve", fs(f(50), f(40), f(420)), s.solve());
+        Assert.assertArrayEquals("SPARSE (Lösung): getBaseVars", ints(3, 0, 1), s.getBaseVars());
+
+        for (LinearProgram program : randomPrograms(7, 100)) {
+            assertOptimum("SPARSE: Orakel", program, optimum(program),
+                    new SimplexSolver(program, TableauType.SPARSE).solve());
+        }
+    }
+
+    @Test
+    public void simplex_sparse_infeasible() {
+        //x1 + x2 >= 5 ist mit x1 <= 2 und x2 <= 2 nicht erfuellbar, die erste Phase endet mit
+        //der kuenstlichen Variable der ersten Zeile in der Basis
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(5)),
+                r(fs(f(1), f(0)), Type.LE, f(2)),
+                r(fs(f(0), f(1)), Type.LE, f(2))
+        ), SolveType.MAX, f(1), f(1));
+        SimplexSolver s = new SimplexSolver(lp, TableauType.SPARSE);
+
+        Assert.assertNull("SPARSE (unzulässig): solve", s.solve());
+        Assert.assertEquals("SPARSE (unzulässig): getStatus", SolverStatus.INFEASIBLE,
+                s.getStatus());
+        Assert.assertArrayEquals("SPARSE (unzulässig): getBaseVars", ints(5, 0, 1),
+                s.getBaseVars());
+        Assert.assertEquals("SPARSE (unzulässig): Restwert", f(1), s.getTable()[0][8]);
+        SimplexSolver expected = new SimplexSolver(lp);
+        expected.solve();
+        Assert.assertArrayEquals("SPARSE (unzulässig): getTable", expected.getTable(),
+                s.getTable());
+    }
+
+    @Test
+    public void simplex_bareiss() {
+        BigFraction[] expected = new SimplexSolver(overflowingProgram(), TableauType.BIG)
+                .solveBig();
+        Assert.assertArrayEquals("BAREISS: solveBig", expected,
+                new SimplexSolver(overflowingProgram(), TableauType.BAREISS).solveBig());
+
+        //Zweiter Schritt: die dritte Zeile hat in der Pivotspalte 0 und muss trotzdem auf die
+        //neue Determinante gebracht werden
+        SimplexSolver s = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.LE, f(4)),
+                r(fs(f(1), f(3)), Type.LE, f(7)),
+                r(fs(f(2), f(0)), Type.LE, f(6))
+        ), SolveType.MAX, f(3), f(2)), TableauType.BAREISS);
+        Assert.assertArrayEquals("BAREISS: solve", fs(f(3), f(1), f(11)), s.solve());
+        Assert.assertArrayEquals("BAREISS: getBaseVars", ints(1, 3, 0), s.getBaseVars());
+        Assert.assertArrayEquals("BAREISS: getTable", fss(
+                fs(f(0), f(1), f(1), f(0), f(-1, 2), f(0), f(0), f(0), f(1)),
+                fs(f(0), f(0), f(-3), f(1), f(1), f(0), f(0), f(0), f(1)),
+                fs(f(1), f(0), f(0), f(0), f(1, 2), f(0), f(0), f(0), f(3)),
+                fs(f(0), f(0), f(-2), f(0), f(-1, 2), f(0), f(0), f(0), f(-11))
+        ), s.getTable());
+    }
+
+    @Test
+    public void interiorPoint() {
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(4), f(3)), Type.LE, f(320)),
+                r(fs(f(2), f(4)), Type.GE, f(100)),
+                r(fs(f(3), f(3)), Type.EQ, f(270))
+        ), SolveType.MIN, f(2), f(8));
+        InteriorPointSolver s = new InteriorPointSolver(lp);
+        Assert.assertArrayEquals("Innere Punkte: solve", fs(f(50), f(40), f(420)), s.solve());
+        Assert.assertTrue("Innere Punkte: Crossover", s.isCrossoverWarmStarted());
+        Assert.assertEquals("Innere Punkte: Crossover-Schritte", 0,
+                s.getCrossoverIterationCount());
+        int[] base = s.getBaseVars().clone();
+        Arrays.sort(base);
+        Assert.assertArrayEquals("Innere Punkte: getBaseVars", ints(0, 1, 3), base);
+
+        for (LinearProgram program : randomPrograms(43, 100)) {
+            assertOptimum("Innere Punkte: Orakel", program, optimum(program),
+                    new InteriorPointSolver(program).solve());
+        }
+    }
+
+    @Test
+    public void interiorPoint_infeasible() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        //x1 + x2 = 5 widerspricht x1 + x2 <= 3, das Verfahren konvergiert nicht und der
+        //SimplexSolver rechnet vom Ausgangstableau aus
+        InteriorPointSolver s = new InteriorPointSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.EQ, f(5)),
+                r(fs(f(1), f(1)), Type.LE, f(3))
+        ), SolveType.MAX, f(1), f(1)));
+        s.setParallelFactorization(pool, 1);
+        Assert.assertNull("Innere Punkte (unzulässig): solve", s.solve());
+        Assert.assertEquals("Innere Punkte (unzulässig): getStatus", SolverStatus.INFEASIBLE,
+                s.getStatus());
+        Assert.assertNull("Innere Punkte (unzulässig): getInteriorSolution",
+                s.getInteriorSolution());
+        Assert.assertFalse("Innere Punkte (unzulässig): Crossover", s.isCrossoverWarmStarted());
+        pool.shutdown();
+    }
+
+    @Test
+    public void simplex_parallelPivot() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(4), f(3)), Type.LE, f(320)),
+                r(fs(f(2), f(4)), Type.GE, f(100)),
+                r(fs(f(3), f(3)), Type.EQ, f(270))
+        ), SolveType.MIN, f(2), f(8));
+        for (TableauType type : TableauType.values()) {
+            //jeder Pivotschritt verteilt alle fuenf Zeilen auf den Pool
+            SimplexSolver s = new SimplexSolver(lp, type);
+            s.setParallelPivot(pool, 1);
+            Assert.assertArrayEquals("parallel: solve " + type, fs(f(50), f(40), f(420)),
+                    s.solve());
+            Assert.assertArrayEquals("parallel: getBaseVars " + type, ints(3, 0, 1),
+                    s.getBaseVars());
+        }
+        for (LinearProgram program : randomPrograms(11, 100)) {
+            SimplexSolver s = new SimplexSolver(program);
+            s.setParallelPivot(pool, 1);
+            assertOptimum("parallel: Orakel", program, optimum(program), s.solve());
+        }
+        pool.shutdown();
+    }
+
+
+    @Test
+    public void simplex_pivotRules() {
+        PivotRule[] rules = {new BlandRule(), new DevexRule(), new SteepestEdgeRule()};
+        Random random = new Random(5);
+        for (int k = 0; k < 50; k++) {
+            LinearProgram lp = randomProgram(random, 6, 5);
+            Fraction[] expected = new SimplexSolver(lp).solve();
+            for (PivotRule rule : rules) {
+                Fraction[] result = new SimplexSolver(lp).solve(rule);
+                if (expected == null) {
+                    Assert.assertNull("Pivotregel: unlösbar", result);
+                } else {
+                    Assert.assertEquals("Pivotregel: z", expected[expected.length - 1],
+                            result[result.length - 1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void simplex_blandRule_degenerate() {
+        //Beispiel von Beale, bei dem die Regel nach Dantzig kreist
+        SimplexSolver s = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1, 4), f(-8), f(-1), f(9)), Type.LE, f(0)),
+                r(fs(f(1, 2), f(-12), f(-1, 2), f(3)), Type.LE, f(0)),
+                r(fs(f(0), f(0), f(1), f(0)), Type.LE, f(1)),
+                r(fs(f(0), f(0), f(0), f(1)), Type.LE, f(10))
+
+        ), SolveType.MAX, f(3, 4), f(-20), f(1, 2), f(-6)));
+
+        Assert.assertArrayEquals("Bland: solve", fs(f(1), f(0), f(1), f(0), f(5, 4)),
+                s.solve(new BlandRule()));
+        Assert.assertTrue("Bland: getIterationCount", s.getIterationCount() > 0);
+    }
+
+    @Test
+    public void simplex_phaseOne() {
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(1), f(1), f(1)), Type.GE, f(6)),
+                r(fs(f(1), f(-1), f(0)), Type.EQ, f(1)),
+                r(fs(f(0), f(1), f(2)), Type.GE, f(4)),
+                r(fs(f(1), f(1), f(1)), Type.LE, f(10))
+
+        ), SolveType.MIN, f(3), f(2), f(4));
+        for (TableauType type : TableauType.values()) {
+            SimplexSolver s = new SimplexSolver(lp, type);
+            Assert.assertFalse("erste Phase: isValidSolution " + type, s.isValidSolution());
+            Assert.assertEquals("erste Phase: getTable " + type, 5, s.getTable().length);
+            Assert.assertArrayEquals("erste Phase: solve " + type,
+                    fs(f(3), f(2), f(1), f(17)), s.solve());
+            Assert.assertTrue("erste Phase (Lösung): isValidSolution " + type,
+                    s.isValidSolution());
+        }
+    }
+
+    @Test
+    public void simplex_warmStart() {
+        SimplexSolver cold = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(4)),
+                r(fs(f(1), f(3)), Type.GE, f(6))
+
+        ), SolveType.MIN, f(2), f(3)));
+        Assert.assertArrayEquals("Kaltstart: solve", fs(f(3), f(1), f(9)), cold.solve());
+
+        //rechte Seite so geaendert, dass die alte Basis nur noch dual zulaessig ist
+        SimplexSolver s = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(4)),
+                r(fs(f(1), f(3)), Type.GE, f(15))
+
+        ), SolveType.MIN, f(2), f(3)), cold.getBaseVars().clone());
+
+        Assert.assertTrue("Warmstart: isWarmStarted", s.isWarmStarted());
+        Assert.assertArrayEquals("Warmstart: solve", fs(f(0), f(5), f(15)), s.solve());
+        Assert.assertEquals("Warmstart: getIterationCount", 1, s.getIterationCount());
+
+        //Warmstart jedes Problems von seiner eigenen letzten Basis
+        for (LinearProgram program : randomPrograms(13, 100)) {
+            SimplexSolver first = new SimplexSolver(program);
+            first.solve();
+            assertOptimum("Warmstart: Orakel", program, optimum(program),
+                    new SimplexSolver(program, first.getBaseVars().clone()).solve());
+        }
+    }
+
+    @Test
+    public void simplex_warmStart_infeasible() {
+        SimplexSolver cold = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(4)),
+                r(fs(f(1), f(3)), Type.GE, f(6)),
+                r(fs(f(1), f(1)), Type.LE, f(10))
+
+        ), SolveType.MIN, f(2), f(3)));
+        Assert.assertArrayEquals("Kaltstart: solve", fs(f(3), f(1), f(9)), cold.solve());
+
+        //die alte Basis bleibt dual zulaessig, x1 + x2 >= 12 widerspricht aber x1 + x2 <= 10
+        SimplexSolver s = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(12)),
+                r(fs(f(1), f(3)), Type.GE, f(6)),
+                r(fs(f(1), f(1)), Type.LE, f(10))
+
+        ), SolveType.MIN, f(2), f(3)), cold.getBaseVars().clone());
+
+        Assert.assertTrue("Warmstart (unzulässig): isWarmStarted", s.isWarmStarted());
+        Assert.assertNull("Warmstart (unzulässig): solve", s.solve());
+        Assert.assertEquals("Warmstart (unzulässig): getStatus", SolverStatus.INFEASIBLE,
+                s.getStatus());
+    }
+
+    @Test
+    public void simplexBatch() throws InterruptedException {
+        List<LinearProgram> programs = Arrays.asList(
+                new LinearProgram(rs(
+                        r(fs(f(4), f(3)), Type.LE, f(320)),
+                        r(fs(f(2), f(4)), Type.GE, f(100)),
+                        r(fs(f(3), f(3)), Type.EQ, f(270))
+                ), SolveType.MIN, f(2), f(8)),
+                new LinearProgram(rs(
+                        r(fs(f(1), f(1)), Type.EQ, f(5)),
+                        r(fs(f(1), f(1)), Type.LE, f(3))
+                ), SolveType.MAX, f(1), f(1)),
+                new LinearProgram(rs(
+                        r(fs(f(1), f(-1)), Type.LE, f(2))
+                ), SolveType.MAX, f(1), f(0)),
+                overflowingProgram());
+        try (SimplexBatchSolver batch = new SimplexBatchSolver(4)) {
+            List<SimplexBatchSolver.Result> results = batch.solveAll(programs);
+            Assert.assertEquals("Stapel: Anzahl", programs.size(), results.size());
+            Assert.assertArrayEquals("Stapel: solve", fs(f(50), f(40), f(420)),
+                    results.get(0).getSolution());
+            Assert.assertNull("Stapel (unzulässig): solve", results.get(1).getSolution());
+            Assert.assertNull("Stapel (unbeschränkt): solve", results.get(2).getSolution());
+            for (int k = 0; k < 3; k++) {
+                Assert.assertNull("Stapel: getFailure", results.get(k).getFailure());
+            }
+            Assert.assertNotNull("Stapel: Überlauf", results.get(3).getFailure());
+            Assert.assertNull("Stapel (Überlauf): solve", results.get(3).getSolution());
+
+            List<LinearProgram> random = randomPrograms(17, 100);
+            results = batch.solveAll(random);
+            for (int k = 0; k < random.size(); k++) {
+                assertOptimum("Stapel: Orakel " + k, random.get(k), optimum(random.get(k)),
+                        results.get(k).getSolution());
+            }
+        }
+    }
+
+    @Test
+    public void simplexBatch_buffers() throws InterruptedException {
+        //ein Thread, damit alle Probleme unterschiedlicher Groesse denselben Puffer nutzen
+        List<LinearProgram> programs = new ArrayList<>();
+        List<LinearProgram> random = randomPrograms(19, 60);
+        for (int k = 0; k < random.size(); k++) {
+            LinearProgram lp = random.get(k);
+            programs.add(new LinearProgram(lp.getRestrictions(), lp.getSolveType(),
+                    k % 2 == 0 ? TableauType.LONG : TableauType.HYBRID, lp.getObjectiveTerm()));
+        }
+        //nach einem Ueberlauf wird der Puffer weiterverwendet
+        LinearProgram overflow = overflowingProgram();
+        programs.add(30, new LinearProgram(overflow.getRestrictions(), overflow.getSolveType(),
+                TableauType.LONG, overflow.getObjectiveTerm()));
+        try (SimplexBatchSolver batch = new SimplexBatchSolver(1)) {
+            List<SimplexBatchSolver.Result> results = batch.solveAll(programs);
+            Assert.assertNotNull("Puffer: Überlauf", results.get(30).getFailure());
+            for (int k = 0; k < programs.size(); k++) {
+                if (k != 30) {
+                    assertOptimum("Puffer: Orakel " + k, programs.get(k),
+                            optimum(programs.get(k)), results.get(k).getSolution());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fraction_valueOf() {
+        Assert.assertSame("valueOf(2, 4) == valueOf(-1, -2)", Fraction.valueOf(2, 4),
+                Fraction.valueOf(-1, -2));
+        Assert.assertSame("valueOf(0, 5) == ZERO", Fraction.ZERO, Fraction.valueOf(0, 5));
+        Assert.assertSame("1/3 + 2/3 == ONE", Fraction.ONE, f(1, 3).add(f(2, 3)));
+        Assert.assertEquals("valueOf(1000, 3)", f(1000, 3), Fraction.valueOf(3000, 9));
+        Assert.assertEquals("valueOf(3, -1024)", f(-3, 1024), Fraction.valueOf(3, -1024));
+    }
+
+    @Test
+    public void fraction_compareTo_large() {
+        Assert.assertTrue("MAX/2 > (MAX-2)/2",
+                f(Long.MAX_VALUE, 2).compareTo(f(Long.MAX_VALUE - 2, 2)) > 0);
+        Assert.assertTrue("(MIN+1)/3 < (MIN+3)/7",
+                f(Long.MIN_VALUE + 1, 3).compareTo(f(Long.MIN_VALUE + 3, 7)) < 0);
+        Random random = new Random(3);
+        for (int k = 0; k < 1000; k++) {
+            Fraction a = f(random.nextLong(), 1 + (random.nextLong() >>> 1));
+            Fraction b = f(random.nextLong(), 1 + (random.nextLong() >>> 1));
+            Assert.assertEquals("compareTo " + a + " " + b,
+                    BigFraction.valueOf(a).compareTo(BigFraction.valueOf(b)),
+                    Integer.signum(a.compareTo(b)));
+        }
+    }
+
+    @Test
+    public void fraction_subtractProduct() {
+        Assert.assertEquals("1/2 - 2/3 * 9/4", f(-1), f(1, 2).subtractProduct(f(2, 3), f(9, 4)));
+        Assert.assertSame("3/4 - 1/2 * 3/2", Fraction.ZERO,
+                f(3, 4).subtractProduct(f(1, 2), f(3, 2)));
+        Random random = new Random(9);
+        for (int k = 0; k < 1000; k++) {
+            Fraction a = f(random.nextInt(2001) - 1000, 1 + random.nextInt(1000));
+            Fraction b = f(random.nextInt(2001) - 1000, 1 + random.nextInt(1000));
+            Fraction c = f(random.nextInt(2001) - 1000, 1 + random.nextInt(1000));
+            Assert.assertEquals("subtractProduct", a.subtract(b.multiplyBy(c)),
+                    a.subtractProduct(b, c));
+        }
+    }
+
+    @Test
+    public void fractionAccumulator() {
+        Random random = new Random(21);
+        FractionAccumulator sum = new FractionAccumulator();
+        for (int k = 0; k < 100; k++) {
+            sum.reset();
+            Fraction expected = Fraction.ZERO;
+            for (int i = 0; i < 50; i++) {
+                Fraction f = f(random.nextInt(201) - 100, 1 + random.nextInt(12));
+                expected = expected.add(f);
+                sum.add(f);
+            }
+            Assert.assertEquals("Summe", expected, sum.toFraction());
+        }
+        //Hauptnenner laeuft ueber, gekuerzte Summe nicht
+        sum.reset().add(f(1, Long.MAX_VALUE / 3)).add(f(1, 3)).add(f(-1, Long.MAX_VALUE / 3));
+        Assert.assertEquals("Summe nach Kürzen", f(1, 3), sum.toFraction());
+    }
+
+    @Test
+    public void simplex_dualStart() {
+        SimplexSolver s = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(4)),
+                r(fs(f(1), f(3)), Type.GE, f(6))
+
+        ), SolveType.MIN, f(2), f(3)));
+
+        Assert.assertTrue("dual: isDualStart", s.isDualStart());
+        Assert.assertFalse("dual (Ausgangstableau): isValidSolution", s.isValidSolution());
+        Assert.assertArrayEquals("dual: getBaseVars", ints(2, 3), s.getBaseVars());
+        Assert.assertArrayEquals("dual: solve", fs(f(3), f(1), f(9)), s.solve());
+        Assert.assertTrue("dual (Lösung): isValidSolution", s.isValidSolution());
+        Assert.assertEquals("dual: getIterationCount", 2, s.getIterationCount());
+
+        //Minimierung mit nichtnegativen Kosten startet mit dem dualen Simplex
+        int dualStarts = 0;
+        for (LinearProgram program : randomPrograms(23, 100)) {
+            Fraction[] costs = new Fraction[program.getObjectiveTerm().length];
+            for (int j = 0; j < costs.length; j++) {
+                costs[j] = f(Math.abs(program.getObjectiveTerm()[j].getNumerator()));
+            }
+            LinearProgram dual = new LinearProgram(program.getRestrictions(), SolveType.MIN,
+                    costs);
+            SimplexSolver solver = new SimplexSolver(dual);
+            dualStarts += solver.isDualStart() ? 1 : 0;
+            assertOptimum("dual: Orakel", dual, optimum(dual), solver.solve());
+        }
+        Assert.assertTrue("dual: isDualStart", dualStarts > 0);
+    }
+
+    @Test
+    public void simplex_dualStart_infeasible() {
+        //x1 + x2 >= 5 ist mit x1 <= 2 und x2 <= 2 nicht erfuellbar
+        SimplexSolver s = new SimplexSolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(5)),
+                r(fs(f(1), f(0)), Type.LE, f(2)),
+                r(fs(f(0), f(1)), Type.LE, f(2))
+
+        ), SolveType.MIN, f(1), f(1)));
+
+        Assert.assertTrue("dual (unzulässig): isDualStart", s.isDualStart());
+        Assert.assertNull("dual (unzulässig): solve", s.solve());
+        Assert.assertEquals("dual (unzulässig): getStatus", SolverStatus.INFEASIBLE,
+                s.getStatus());
+    }
+
+    @Test
+    public void presolver() {
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(1), f(1), f(1), f(1)), Type.LE, f(10)),
+                r(fs(f(2), f(2), f(2), f(2)), Type.LE, f(30)),
+                r(fs(f(0), f(0), f(1), f(0)), Type.EQ, f(2)),
+                r(fs(f(2), f(0), f(0), f(0)), Type.GE, f(2)),
+                r(fs(f(0), f(0), f(0), f(0)), Type.LE, f(5))
+        ), SolveType.MAX, f(3), f(2), f(1), f(-1));
+
+        Presolver p = new Presolver(lp);
+        Assert.assertFalse("presolve: isUnsolvable", p.isUnsolvable());
+        Assert.assertEquals("presolve: Unbekannte", 2,
+                p.getReducedProgram().getObjectiveTerm().length);
+        Assert.assertArrayEquals("presolve: solve", fs(f(8), f(0), f(2), f(0), f(26)),
+                p.solve());
+        Assert.assertArrayEquals("presolve: SimplexSolver", new SimplexSolver(lp).solve(),
+                p.solve());
+
+        Presolver infeasible = new Presolver(new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.GE, f(5)),
+                r(fs(f(1), f(0)), Type.GE, f(5)),
+                r(fs(f(1), f(0)), Type.LE, f(3))
+        ), SolveType.MAX, f(1), f(1)));
+        Assert.assertTrue("presolve (unzulässig): isUnsolvable", infeasible.isUnsolvable());
+        Assert.assertNull("presolve (unzulässig): solve", infeasible.solve());
+
+        for (LinearProgram program : randomPrograms(29, 100)) {
+            assertOptimum("presolve: Orakel", program, optimum(program),
+                    new Presolver(program).solve());
+        }
+    }
+
+    @Test
+    public void presolver_unbounded() {
+        //x2 lockert beide Restriktionen und verbessert die Zielfunktion ohne obere Schranke
+        Presolver p = new Presolver(new LinearProgram(rs(
+                r(fs(f(1), f(-1)), Type.LE, f(2)),
+                r(fs(f(1), f(1)), Type.GE, f(1))
+        ), SolveType.MAX, f(1), f(1)));
+        Assert.assertTrue("presolve (unbeschränkt): isUnsolvable", p.isUnsolvable());
+        Assert.assertNull("presolve (unbeschränkt): getReducedProgram", p.getReducedProgram());
+        Assert.assertNull("presolve (unbeschränkt): solve", p.solve());
+    }
+
+    @Test
+    public void scaler() {
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(1000), f(3000), f(0)), Type.LE, f(9000)),
+                r(fs(f(1, 100), f(0), f(1, 50)), Type.LE, f(1, 10)),
+                r(fs(f(0), f(64), f(1, 8)), Type.GE, f(1))
+        ), SolveType.MAX, f(2), f(1, 1000), f(300)).withBounds(null, fs(null, null, f(4)));
+
+        Scaler scaler = new Scaler(lp);
+        Assert.assertNotEquals("scaler: Zeilenfaktor", 0, scaler.getRowExponent(0));
+        Assert.assertNotEquals("scaler: Spaltenfaktor", 0, scaler.getColumnExponent(1));
+        Assert.assertArrayEquals("scaler: solve", new SimplexSolver(lp).solve(), scaler.solve());
+        Assert.assertArrayEquals("scaler: solveRevised", new RevisedSimplexSolver(
+                lp.withBounds(null, null)).solve(), new Scaler(lp.withBounds(null, null))
+                .solveRevised(), 1e-9);
+
+        Scaler integer = new Scaler(lp.withIntegerVariables(1));
+        Assert.assertEquals("scaler: ganzzahlig", 0, integer.getColumnExponent(1));
+        Assert.assertArrayEquals("scaler: ganzzahlig solve", new SimplexSolver(lp).solve(),
+                integer.solve());
+
+        for (LinearProgram program : randomPrograms(37, 100)) {
+            BigFraction[] optimum = optimum(program);
+            Scaler scaled = new Scaler(program);
+            assertOptimum("scaler: Orakel", program, optimum, scaled.solve());
+            assertOptimum("scaler: Orakel (revidiert)", program, optimum, scaled.solveRevised());
+        }
+    }
+
+    @Test
+    public void scaler_unbounded() {
+        //x2 = 2^20 * x1 waechst ohne Grenze; die Skalierung gleicht die Spalten an, ohne daran
+        //etwas zu aendern
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(1024), f(-1, 1024)), Type.EQ, f(0))
+        ), SolveType.MAX, f(1), f(1));
+        Scaler scaler = new Scaler(lp);
+        Assert.assertTrue("scaler (unbeschränkt): Spaltenfaktor x1",
+                scaler.getColumnExponent(0) < 0);
+        Assert.assertTrue("scaler (unbeschränkt): Spaltenfaktor x2",
+                scaler.getColumnExponent(1) > 0);
+        Assert.assertNull("scaler (unbeschränkt): solve", scaler.solve());
+        Assert.assertNull("scaler (unbeschränkt): solveRevised", scaler.solveRevised());
+    }
+
+    @Test
+    public void simplex_bounds() {
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(1), f(1)), Type.LE, f(4)),
+                r(fs(f(1), f(3)), Type.LE, f(6))
+        ), SolveType.MAX, f(3), f(2)).withBounds(null, fs(f(3), null));
+
+        for (TableauType type : TableauType.values()) {
+            SimplexSolver s = new SimplexSolver(lp, type);
+            Assert.assertArrayEquals("bounds (" + type + "): solve", fs(f(3), f(1), f(11)),
+                    s.solve());
+            Assert.assertEquals("bounds (" + type + "): Zeilen", 3, s.getTable().length);
+        }
+
+        LinearProgram shifted = lp.withBounds(fs(f(1), f(1)), fs(f(2), f(5)));
+        Assert.assertArrayEquals("bounds (unten): solve", fs(f(2), f(4, 3), f(26, 3)),
+                new SimplexSolver(shifted).solve());
+        Assert.assertNull("bounds (unzulässig): solve",
+                new SimplexSolver(lp.withBounds(fs(f(5), f(0)), null)).solve());
+
+        //Schranken x <= 2 bzw. x >= 1 im Wechsel, fuer das Orakel als Restriktionen
+        for (LinearProgram program : randomPrograms(31, 100)) {
+            int n = program.getObjectiveTerm().length;
+            Fraction[] lower = new Fraction[n];
+            Fraction[] upper = new Fraction[n];
+            List<Restriction> rows = new ArrayList<>(Arrays.asList(program.getRestrictions()));
+            for (int j = 0; j < n; j++) {
+                lower[j] = f(j % 2);
+                upper[j] = j % 2 == 0 ? f(2) : null;
+                Fraction[] unit = new Fraction[n];
+                Arrays.fill(unit, f(0));
+                unit[j] = f(1);
+                rows.add(r(unit, j % 2 == 0 ? Type.LE : Type.GE, f(2 - j % 2)));
+            }
+            LinearProgram boundRows = new LinearProgram(rows.toArray(new Restriction[0]),
+                    program.getSolveType(), program.getObjectiveTerm());
+            assertOptimum("bounds: Orakel", boundRows, optimum(boundRows),
+                    new SimplexSolver(program.withBounds(lower, upper)).solve());
+        }
+    }
 
+    @Test
+    public void simplex_bounds_unboundedRow() {
+        //ohne Schranken unbeschraenkt; mit 1 <= x1 und x2 <= 3 ist (5, 3) optimal
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(1), f(-1)), Type.LE, f(2))
+        ), SolveType.MAX, f(1), f(1));
+        Assert.assertNull("bounds (unbeschränkt): solve", new SimplexSolver(lp).solve());
+
+        LinearProgram bounded = lp.withBounds(fs(f(1), f(0)), fs(null, f(3)));
+        for (TableauType type : TableauType.values()) {
+            Assert.assertArrayEquals("bounds (" + type + "): solve", fs(f(5), f(3), f(8)),
+                    new SimplexSolver(bounded, type).solve(new BlandRule()));
+        }
+        Assert.assertArrayEquals("bounds (presolve): solve", fs(f(5), f(3), f(8)),
+                new Presolver(bounded).solve());
+    }
+
+    @Test
+    public void branchAndBound() {
+        LinearProgram lp = new LinearProgram(rs(
+                r(fs(f(5), f(7), f(4), f(3)), Type.LE, f(14))
+        ), SolveType.MAX, f(8), f(11), f(6), f(4))
+                .withBounds(null, fs(f(1), f(1), f(1), f(1)))
+                .withIntegerVariables(0, 1, 2, 3);
+
+        Assert.assertEquals("bnb: Relaxation", f(22), new SimplexSolver(lp).solve()[4]);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BranchAndBoundSolver solver = new BranchAndBoundSolver(lp, pool);
+            List<BranchAndBoundSolver.Progress> reports = new ArrayList<>();
+            solver.setProgressListener(p -> {
+                synchronized (reports) {
+                    reports.add(p);
+                }
+            }, 1);
+            Assert.assertArrayEquals("bnb: solve", fs(f(0), f(1), f(1), f(1), f(21)),
+                    solver.solve());
+            //die Wurzel meldet vor dem Verzweigen, ihre Kinder tragen den Wert 22 als Schranke
+            BranchAndBoundSolver.Progress first = reports.get(0);
+            Assert.assertEquals("bnb (Wurzel): Knoten", 1, first.getNodeCount());
+            Assert.assertNull("bnb (Wurzel): Lösung", first.getIncumbent());
+            Assert.assertEquals("bnb (Wurzel): Schranke", f(22), first.getBound());
+            BranchAndBoundSolver.Progress last = reports.get(reports.size() - 1);
+            Assert.assertTrue("bnb: Knoten", last.getNodeCount() > 1);
+            Assert.assertEquals("bnb: Lösung", f(21), last.getIncumbent());
+            Assert.assertEquals("bnb: Abstand", 0, last.getGap(), 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void branchAndBound_random() {
+        Random random = new Random(37);
+        for (int k = 0; k < 40; k++) {
+            Restriction[] restrictions = new Restriction[3];
+            for (int i = 0; i < restrictions.length; i++) {
+                Fraction[] term = new Fraction[3];
+                for (int j = 0; j < 3; j++) {
+                    term[j] = f(random.nextInt(9) - 3, 1 + random.nextInt(2));
+                }
+                restrictions[i] = r(term, random.nextInt(3) == 0 ? Type.GE : Type.LE,
+                        f(random.nextInt(12)));
+            }
+            Fraction[] objective = fs(f(random.nextInt(11) - 5), f(random.nextInt(11) - 5),
+                    f(random.nextInt(11) - 5));
+            SolveType solveType = random.nextBoolean() ? SolveType.MAX : SolveType.MIN;
+            LinearProgram lp = new LinearProgram(restrictions, solveType, objective)
+                    .withBounds(null, fs(f(4), f(4), f(4))).withIntegerVariables(0, 1, 2);
+
+            //alle ganzzahligen Punkte durchprobieren
+            Fraction expected = null;
+            for (int x = 0; x < 125; x++) {
+                Fraction[] point = fs(f(x % 5), f(x / 5 % 5), f(x / 25));
+                boolean feasible = true;
+                for (Restriction restriction : restrictions) {
+                    Fraction lhs = f(0);
+                    for (int j = 0; j < 3; j++) {
+                        lhs = lhs.add(restriction.getTerm()[j].multiplyBy(point[j]));
+                    }
+                    int cmp = lhs.compareTo(restriction.getRightSide());
+                    feasible &= restriction.getType() == Type.LE ? cmp <= 0 : cmp >= 0;
+                }
+                Fraction value = f(0);
+                for (int j = 0; j < 3; j++) {
+                    value = value.add(objective[j].multiplyBy(point[j]));
+                }
+                if (feasible && (expected == null || (solveType == SolveType.MAX
+                        ? value.compareTo(expected) > 0 : value.compareTo(expected) < 0))) {
+                    expected = value;
+                }
+            }
+            Fraction[] result = new BranchAndBoundSolver(lp).solve();
+            if (expected == null) {
+                Assert.assertNull("bnb: unlösbar", result);
+            } else {
+                Assert.assertEquals("bnb: z", expected, result[3]);
+            }
+        }
+    }
+
+    @Test
+    public void reader_mps() throws Exception {
+        String mps = String.join("\n",
+                "* Beispiel mit Schranke und negativer rechter Seite",
+                "NAME          EXAMPLE",
+                "OBJSENSE",
+                "    MAX",
+                "ROWS",
+                " N  COST",
+                " L  LIM1",
+                " L  LIM2",
+                " G  LIM3",
+                "COLUMNS",
+                "    X         COST         5.0   LIM1         6.0",
+                "    X         LIM2         1     LIM3        -1",
+                "    Y         COST         4     LIM1         4",
+                "    Y         LIM2         2     LIM3        -1",
+                "RHS",
+                "    RHS       LIM1         24    LIM2         6",
+                "    RHS       LIM3        -10",
+                "BOUNDS",
+                " UP BND       X            3",
+                "ENDATA");
+        LinearProgram lp = LinearProgramReader.readMps(
+                new BufferedReader(new StringReader(mps)), TableauType.SPARSE);
+        Assert.assertEquals("mps: Unbekannte", 2, lp.getObjectiveTerm().length);
+        Assert.assertEquals("mps: Typ", Type.LE, lp.getRestrictions()[2].getType());
+        Assert.assertArrayEquals("mps: solve", fs(f(3), f(3, 2), f(21)),
+                new SimplexSolver(lp).solve());
+
+        try {
+            LinearProgramReader.readMps(new BufferedReader(new StringReader(
+                    mps.replace("COLUMNS", "RANGES"))), TableauType.SPARSE);
+            Assert.fail("mps: RANGES");
+        } catch (ParseException e) {
+            Assert.assertEquals("mps: Zeilennummer", 10, e.getErrorOffset());
+        }
+    }
+
+    @Test
+    public void reader_lp() throws Exception {
+        String text = String.join("\n",
+                "\\ Beispiel mit ganzzahligen Unbekannten",
+                "Maximize",
+                " obj: 5 x + 4 y",
+                "Subject To",
+                " c1: 6 x + 4 y",
+                "     <= 24",
+                " c2: x + 2y <= 6 c3: -x - y >= -10",
+                "Bounds",
+                " 0 <= y <= 10",
+                "General",
+                " x y",
+                "End");
+        LinearProgram lp = LinearProgramReader.readLp(
+                new BufferedReader(new StringReader(text)), TableauType.SPARSE);
+        Assert.assertEquals("lp: Restriktionen", 3, lp.getRestrictions().length);
+        Assert.assertEquals("lp: obere Schranke", f(10), lp.getUpperBound(1));
+        Assert.assertArrayEquals("lp: solve", fs(f(4), f(0), f(20)),
+                new BranchAndBoundSolver(lp).solve());
+    }
 }
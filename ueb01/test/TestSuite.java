@@ -7,7 +7,7 @@ import org.junit.runners.Suite;
  * @author kar
  */
 @Suite.SuiteClasses({ 
-    BeispielTest.class // hier ggfs. weitere Testklassen durch Kommata getrennt angeben
+    BeispielTest.class, ExampleTests.class // hier ggfs. weitere Testklassen durch Kommata getrennt angeben
     })
 
 /* Tests über eine Test-Suite ausführen */